@@ -2,10 +2,18 @@ package com.tip;
 
 import java.math.BigInteger;
 import java.util.Iterator;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.concurrent.ThreadLocalRandom;
 import com.tip.functional.Fibonacci;
+import com.tip.functional.HaltonSequence;
 import com.tip.functional.InfiniteIterator;
+import com.tip.functional.InfiniteLongIterator;
+import com.tip.functional.NumericKernels;
+import com.tip.functional.PrimeSieve;
 import com.tip.functional.Range;
+import com.tip.functional.SobolSequence;
 import static com.tip.functional.Iterators.*;
 
 public class Mathx {
@@ -31,8 +39,39 @@ public class Mathx {
         return generate(Mathx::randInt);
     }
 
+    /**
+     * randDoubles()의 다차원 저불일치 버전입니다. 매끄러운 함수의 적분처럼 점이 고르게 퍼질수록 좋은 계산에 씁니다.
+     *
+     * @param dimensions 차원 수. {@link SobolSequence#MAX_DIMENSIONS}까지 쓸 수 있습니다.
+     */
+    public static SobolSequence sobol(int dimensions) {
+        return new SobolSequence(dimensions);
+    }
+
+    /**
+     * @return Owen 방식으로 섞은 Sobol 수열. 부를 때마다 다르게 섞이므로 여러 번 반복해 어림값의 오차를 구할 수 있습니다.
+     */
+    public static SobolSequence scrambledSobol(int dimensions) {
+        return SobolSequence.scrambled(dimensions);
+    }
+
+    public static HaltonSequence halton(int dimensions) {
+        return new HaltonSequence(dimensions);
+    }
+
+    public static HaltonSequence scrambledHalton(int dimensions) {
+        return HaltonSequence.scrambled(dimensions);
+    }
+
+    /**
+     * Range는 원소를 하나씩 boxing하지 않고 등차수열의 합 공식으로 더합니다.
+     */
     public static <T extends Number> double sum(Iterable<T> numbers) {
-        return reduce(numbers, (x, y) -> x.doubleValue() + y.doubleValue(), 0D);
+        if (numbers instanceof Range) {
+            Range range = (Range) numbers;
+            return (double) range.size() * ((double) range.min() + range.max()) / 2;
+        }
+        return parallelSum(numbers, Number::doubleValue);
     }
 
     public static <T extends Number> double sum(Iterator<T> numbers) {
@@ -54,8 +93,150 @@ public class Mathx {
         return reduce(numbers, (x, y) -> x.doubleValue() * y.doubleValue(), 1D);
     }
 
-    public static long product(Range range) {
-        return reduce(range, Math::multiplyExact, 1L);
+    /**
+     * 배열의 합을 {@link NumericKernels}의 묶음 커널로 계산합니다. 크기가 크게 다른 값들을 더한다면 compensatedSum을 쓰세요.
+     */
+    public static double sum(double[] numbers) {
+        return NumericKernels.sum(numbers, 0, numbers.length);
+    }
+
+    public static double compensatedSum(double[] numbers) {
+        return NumericKernels.compensatedSum(numbers, 0, numbers.length);
+    }
+
+    public static long sum(long[] numbers) {
+        return NumericKernels.sum(numbers, 0, numbers.length);
+    }
+
+    public static double product(double[] numbers) {
+        return NumericKernels.product(numbers, 0, numbers.length);
+    }
+
+    public static double min(double[] numbers) {
+        return NumericKernels.min(numbers, 0, numbers.length);
+    }
+
+    public static double max(double[] numbers) {
+        return NumericKernels.max(numbers, 0, numbers.length);
+    }
+
+    /**
+     * Range에 속한 모든 정수의 곱을 오버플로 없이 정확하게 계산합니다.
+     * 결과가 long에 들어간다는 것이 보장되면 long으로 바로 곱하고, 그렇지 않으면 구간을 반씩 나누어(binary splitting)
+     * 비슷한 크기의 BigInteger끼리 곱하도록 하고 큰 구간은 ForkJoinPool에서 병렬로 계산합니다.
+     *
+     * @param range 곱할 정수들의 범위
+     * @return range에 속한 모든 정수의 곱
+     */
+    public static BigInteger product(Range range) {
+        final long min = range.min();
+        final long max = range.max();
+        if (min <= 0 && 0 <= max) {
+            return BigInteger.ZERO;
+        }
+        if (min == Long.MIN_VALUE) {
+            // -Long.MIN_VALUE는 long으로 표현할 수 없으므로 따로 곱합니다.
+            BigInteger first = BigInteger.valueOf(Long.MIN_VALUE);
+            return min == max ? first : first.multiply(product(Range.closed(min + 1, max)));
+        }
+        // 0을 포함하지 않으므로 모든 원소의 부호가 같습니다. 절댓값의 곱을 구한 뒤 부호를 붙입니다.
+        final boolean negative = max < 0 && (range.size() & 1L) == 1L;
+        final long low = max < 0 ? -max : min;
+        final long high = max < 0 ? -min : max;
+        final BigInteger magnitude = fitsInLong(low, high)
+                ? BigInteger.valueOf(longProduct(low, high))
+                : ForkJoinPool.commonPool().invoke(new RangeProductTask(low, high))
+                        .shiftLeft(twosInFactors(low, high));
+        return negative ? magnitude.negate() : magnitude;
+    }
+
+    // [low, high] 구간의 곱이 long에 들어가는지 원소 개수와 최댓값의 비트 수로 보수적으로 판단합니다.
+    private static boolean fitsInLong(long low, long high) {
+        final long bits = Long.SIZE - Long.numberOfLeadingZeros(high);
+        final long size = high - low + 1;
+        return size <= Long.SIZE - 1 && size * bits <= Long.SIZE - 1;
+    }
+
+    // [low, high] 구간 원소들을 소인수분해했을 때 나오는 2의 개수입니다. (Legendre 공식)
+    private static int twosInFactors(long low, long high) {
+        long twos = 0;
+        for (int k = 1; k < Long.SIZE - 1; k++) {
+            twos += (high >> k) - ((low - 1) >> k);
+        }
+        return Math.toIntExact(twos);
+    }
+
+    private static long longProduct(long low, long high) {
+        long result = 1L;
+        for (long x = low; x <= high; x++) {
+            result *= x;
+        }
+        return result;
+    }
+
+    /**
+     * 양의 정수 구간 [low, high]의 곱을 binary splitting으로 계산하는 ForkJoin 작업입니다.
+     * 구간을 반으로 나누어 양쪽 결과의 크기를 비슷하게 유지하기 때문에 BigInteger의 Karatsuba/Toom-Cook 곱셈이 효과를 냅니다.
+     * 각 원소의 2의 거듭제곱 인수는 빼고 곱하므로 결과에 {@link #twosInFactors(long, long)}만큼 shift해야 합니다.
+     */
+    private static final class RangeProductTask extends RecursiveTask<BigInteger> {
+        private static final long PARALLEL_THRESHOLD = 1L << 12;
+        private static final int LEAF_SIZE = 256;
+
+        private final long low;
+        private final long high;
+
+        RangeProductTask(long low, long high) {
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            return high - low + 1 <= PARALLEL_THRESHOLD ? sequential(low, high) : parallel();
+        }
+
+        private BigInteger parallel() {
+            final long middle = low + (high - low) / 2;
+            RangeProductTask left = new RangeProductTask(low, middle);
+            left.fork();
+            BigInteger right = new RangeProductTask(middle + 1, high).compute();
+            return left.join().multiply(right);
+        }
+
+        private static BigInteger sequential(long low, long high) {
+            if (high - low + 1 <= LEAF_SIZE) {
+                return leaf(low, high);
+            }
+            final long middle = low + (high - low) / 2;
+            return sequential(low, middle).multiply(sequential(middle + 1, high));
+        }
+
+        // 작은 구간은 long에 들어가는 만큼 모아 곱한 조각들로 만든 뒤, 그 조각들을 다시 균형 있게 곱합니다.
+        private static BigInteger leaf(long low, long high) {
+            long[] parts = new long[(int) (high - low + 1)];
+            int count = 0;
+            long acc = 1L;
+            for (long i = 0; i < parts.length; i++) {
+                final long x = (low + i) >>> Long.numberOfTrailingZeros(low + i);
+                // acc가 1이면 비울 것이 없으므로, 조각은 원소 하나당 많아야 하나씩 생겨 parts에 모두 들어갑니다.
+                if (acc != 1L && Long.numberOfLeadingZeros(acc) + Long.numberOfLeadingZeros(x) <= Long.SIZE) {
+                    parts[count++] = acc;
+                    acc = 1L;
+                }
+                acc *= x;
+            }
+            parts[count++] = acc;
+            return multiplyBalanced(parts, 0, count);
+        }
+
+        private static BigInteger multiplyBalanced(long[] parts, int from, int to) {
+            if (to - from == 1) {
+                return BigInteger.valueOf(parts[from]);
+            }
+            final int middle = (from + to) >>> 1;
+            return multiplyBalanced(parts, from, middle).multiply(multiplyBalanced(parts, middle, to));
+        }
     }
 
     public static long gcd(long x, long y) {
@@ -85,6 +266,49 @@ public class Mathx {
         return generate(() -> randEnumUniformlyDistributed(enumType));
     }
 
+    /**
+     * 층화 추출(stratified sampling)한 이산 균등 분포입니다. origin부터 boundInclusive까지의 값이 한 묶음 안에 꼭 한 번씩
+     * 마구잡이 순서로 나옵니다. 묶음마다 각 값의 비율이 정확히 같으므로 값에 따라 결과가 갈리는 실험에서 층 사이의 편차가 사라집니다.
+     *
+     * @throws IllegalArgumentException origin이 boundInclusive보다 큰 경우 발생
+     */
+    public static InfiniteIterator<Integer> stratifiedDiscreteUniformDistribution(int origin, int boundInclusive) {
+        if (origin > boundInclusive) {
+            throw new IllegalArgumentException("Out of range with " + origin + ", " + boundInclusive);
+        }
+        int[] strata = new int[Math.toIntExact((long) boundInclusive - origin + 1)];
+        for (int i = 0; i < strata.length; i++) {
+            strata[i] = origin + i;
+        }
+        return new InfiniteIterator<Integer>() {
+            private int position = strata.length;
+
+            @Override
+            public Integer next() {
+                if (position == strata.length) {
+                    shuffle(strata);
+                    position = 0;
+                }
+                return strata[position++];
+            }
+        };
+    }
+
+    public static <T extends Enum<T>> InfiniteIterator<Integer> stratifiedDiscreteUniformDistribution(
+            Class<T> enumType) {
+        return stratifiedDiscreteUniformDistribution(0, enumType.getEnumConstants().length - 1);
+    }
+
+    private static void shuffle(int[] values) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+
     public static double randDoubleNormallyDistributed(double mean, double standardDeviation) {
         return ThreadLocalRandom.current().nextGaussian() * standardDeviation + mean;
     }
@@ -94,6 +318,62 @@ public class Mathx {
         return generate(() -> randDoubleNormallyDistributed(mean, standardDeviation));
     }
 
+    /**
+     * 정규 분포 난수로 배열을 채웁니다. 표준 정규 난수를 먼저 채운 뒤 평균과 표준 편차에 맞추는 아핀 변환을 묶음 커널로 한 번에 합니다.
+     *
+     * @param target 채울 배열
+     * @return target
+     */
+    public static double[] normalDistribution(double[] target, double mean, double standardDeviation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < target.length; i++) {
+            target[i] = random.nextGaussian();
+        }
+        NumericKernels.affine(target, target, 0, target.length, standardDeviation, mean);
+        return target;
+    }
+
+    /**
+     * 대조 변량(antithetic variates) 정규 분포입니다. 표준 정규 값 z를 뽑아 mean + z * sd와 mean - z * sd를 차례로 내보냅니다.
+     * 짝을 이룬 두 값은 음의 상관을 가지므로 단조 함수의 평균을 어림잡을 때 같은 개수의 독립 표본보다 분산이 작습니다.
+     */
+    public static InfiniteIterator<Double> antitheticNormalDistribution(double mean, double standardDeviation) {
+        return new InfiniteIterator<Double>() {
+            private double pending = Double.NaN;
+
+            @Override
+            public Double next() {
+                if (!Double.isNaN(pending)) {
+                    double z = pending;
+                    pending = Double.NaN;
+                    return mean - z * standardDeviation;
+                }
+                pending = ThreadLocalRandom.current().nextGaussian();
+                return mean + pending * standardDeviation;
+            }
+        };
+    }
+
+    /**
+     * 대조 변량 균등 분포입니다. [0, 1)의 값 u를 뽑아 u와 1 - u를 차례로 내보냅니다.
+     */
+    public static InfiniteIterator<Double> antitheticRandDoubles() {
+        return new InfiniteIterator<Double>() {
+            private double pending = Double.NaN;
+
+            @Override
+            public Double next() {
+                if (!Double.isNaN(pending)) {
+                    double u = pending;
+                    pending = Double.NaN;
+                    return 1 - u;
+                }
+                pending = randDouble();
+                return pending;
+            }
+        };
+    }
+
     // Bernoulli distribition
     public static InfiniteIterator<Integer> binaryDistribution(double probability) {
         if (probability < 0 || probability > 1)
@@ -101,6 +381,28 @@ public class Mathx {
         return generate(() -> randDouble() <= probability ? 1 : 0);
     }
 
+    /**
+     * @return 2부터 시작하는 모든 소수를 차례로 내보내는 InfiniteLongIterator. 구간 단위 체로 거르므로 메모리가 일정합니다.
+     */
+    public static InfiniteLongIterator primes() {
+        return PrimeSieve.primes();
+    }
+
+    /**
+     * @return range 안의 소수를 차례로 내보내는 Iterator. range의 시작점부터 바로 거르므로 앞쪽 소수를 만들지 않습니다.
+     */
+    public static PrimitiveIterator.OfLong primes(Range range) {
+        return PrimeSieve.primes(range);
+    }
+
+    /**
+     * @return range 안의 소수 개수. 큰 범위는 여러 스레드가 나누어 거릅니다.
+     * @see PrimeSieve#parallelForEach(Range, java.util.function.LongConsumer)
+     */
+    public static long primeCount(Range range) {
+        return PrimeSieve.count(range);
+    }
+
     public static InfiniteIterator<Integer> fibonacci() {
         return new Fibonacci();
     }
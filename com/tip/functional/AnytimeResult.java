@@ -0,0 +1,64 @@
+package com.tip.functional;
+
+/**
+ * {@link Budget}을 건 종단 연산의 결과입니다. 예산이 다해 멈췄으면 그때까지 소비한 원소로 만든 부분 결과를 담습니다.
+ *
+ * @param <R> 결과의 타입
+ */
+public final class AnytimeResult<R> {
+    /**
+     * 연산이 멈춘 까닭입니다.
+     */
+    public enum StopReason {
+        EXHAUSTED, // Iterator의 원소를 모두 소비함
+        STOP_CONDITION, // 멈춤 조건이 참이 됨
+        WALL_CLOCK, // 벽시계 시간 예산이 다함
+        CPU_TIME, // CPU 시간 예산이 다함
+        CANCELLED, // CancellationToken이 취소됨
+        INTERRUPTED // 스레드가 인터럽트됨
+    }
+
+    private final R value;
+    private final long consumed;
+    private final StopReason stopReason;
+    private final long elapsedNanos;
+
+    AnytimeResult(R value, long consumed, StopReason stopReason, long elapsedNanos) {
+        this.value = value;
+        this.consumed = consumed;
+        this.stopReason = stopReason;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public R value() {
+        return value;
+    }
+
+    /**
+     * @return 결과를 만드는 데 소비한 원소 수
+     */
+    public long consumed() {
+        return consumed;
+    }
+
+    public StopReason stopReason() {
+        return stopReason;
+    }
+
+    /**
+     * @return 예산이 다하기 전에 Iterator가 끝났거나 멈춤 조건이 참이 되었으면 true
+     */
+    public boolean isComplete() {
+        return stopReason == StopReason.EXHAUSTED || stopReason == StopReason.STOP_CONDITION;
+    }
+
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "AnytimeResult{value=" + value + ", consumed=" + consumed + ", stopReason=" + stopReason
+                + ", elapsedNanos=" + elapsedNanos + "}";
+    }
+}
@@ -0,0 +1,38 @@
+package com.tip.functional;
+
+/**
+ * {@link BitWriter}로 쓴 비트를 높은 자리부터 차례로 읽는 도구입니다.
+ */
+final class BitReader {
+    private final long[] words;
+    private long position;
+
+    BitReader(long[] words, long position) {
+        this.words = words;
+        this.position = position;
+    }
+
+    /**
+     * @param bits 1부터 64 사이의 비트 수
+     * @return 읽은 비트들을 낮은 자리에 담은 값
+     */
+    long read(int bits) {
+        int word = (int) (position >>> 6);
+        int used = (int) (position & 63);
+        int free = 64 - used;
+        long value;
+        if (bits <= free) {
+            value = (words[word] << used) >>> (64 - bits);
+        } else {
+            value = (words[word] << used) >>> (64 - bits) | words[word + 1] >>> (64 - (bits - free));
+        }
+        position += bits;
+        return value;
+    }
+
+    boolean readBit() {
+        boolean bit = (words[(int) (position >>> 6)] << (position & 63)) < 0;
+        position++;
+        return bit;
+    }
+}
@@ -0,0 +1,54 @@
+package com.tip.functional;
+
+import java.util.Arrays;
+
+/**
+ * long 배열에 비트를 높은 자리부터 차례로 채워 쓰는 도구입니다.
+ */
+final class BitWriter {
+    private long[] words = new long[64];
+    private long position;
+
+    /**
+     * value의 낮은 bits개 비트를 씁니다.
+     *
+     * @param bits 1부터 64 사이의 비트 수
+     */
+    void write(long value, int bits) {
+        int word = (int) (position >>> 6);
+        int used = (int) (position & 63);
+        if (word + 1 >= words.length) {
+            words = Arrays.copyOf(words, words.length * 2);
+        }
+        if (bits < 64) {
+            value &= (1L << bits) - 1;
+        }
+        int free = 64 - used;
+        if (bits <= free) {
+            words[word] |= value << (free - bits);
+        } else {
+            words[word] |= value >>> (bits - free);
+            words[word + 1] |= value << (64 - (bits - free));
+        }
+        position += bits;
+    }
+
+    void writeBit(boolean bit) {
+        if (bit) {
+            write(1, 1);
+        } else {
+            position++;
+            if ((position >>> 6) + 1 >= words.length) {
+                words = Arrays.copyOf(words, words.length * 2);
+            }
+        }
+    }
+
+    long position() {
+        return position;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(words, (int) ((position + 63) >>> 6));
+    }
+}
@@ -0,0 +1,76 @@
+package com.tip.functional;
+
+/**
+ * long 키의 소속 여부를 고정된 크기의 비트 배열로 어림잡는 Bloom filter입니다.
+ * 넣은 키에 대해서는 언제나 true를 반환하고, 넣지 않은 키에 대해서는 설정한 확률(false positive rate) 정도로 true를 잘못 반환합니다.
+ * 메모리는 생성할 때 정해지고 키를 아무리 많이 넣어도 늘어나지 않습니다.
+ */
+public final class BloomFilter {
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions 넣을 것으로 예상하는 키의 개수
+     * @param falsePositiveRate  expectedInsertions개를 넣었을 때 허용할 false positive 확률 (0과 1 사이)
+     * @throws IllegalArgumentException expectedInsertions가 0 이하이거나 falsePositiveRate가 (0, 1) 범위를 벗어난 경우 발생
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Out of range with " + expectedInsertions);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("Out of range with " + falsePositiveRate);
+        }
+        // 최적 비트 수 m = -n ln p / (ln 2)^2, 최적 해시 개수 k = m / n * ln 2
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bits = new long[Math.toIntExact(Math.max(1, (optimalBits + Long.SIZE - 1) / Long.SIZE))];
+        this.bitCount = (long) bits.length * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+    }
+
+    /**
+     * 키를 넣습니다.
+     *
+     * @param key 넣을 키
+     * @return 새로 켜진 비트가 있으면(처음 보는 키임이 확실하면) true, 모든 비트가 이미 켜져 있었으면 false
+     */
+    public boolean put(long key) {
+        long hash = Hashing.mix64(key);
+        // 두 해시를 섞어 k개의 해시를 만듭니다. (Kirsch-Mitzenmacher double hashing)
+        long h1 = hash;
+        long h2 = Hashing.mix64(hash ^ 0x9e3779b97f4a7c15L) | 1L;
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            if ((bits[word] & mask) == 0) {
+                bits[word] |= mask;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    public boolean mightContain(long key) {
+        long hash = Hashing.mix64(key);
+        long h1 = hash;
+        long h2 = Hashing.mix64(hash ^ 0x9e3779b97f4a7c15L) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return 비트 배열의 크기(비트 수)
+     */
+    public long bitSize() {
+        return bitCount;
+    }
+}
@@ -0,0 +1,180 @@
+package com.tip.functional;
+
+import com.tip.functional.customexception.IllegalNullArgumentException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 붓스트랩(bootstrap) 재표본으로 평균이 아닌 통계량(중앙값, 비율 등)의 표준 오차와 신뢰 구간을 어림잡습니다.
+ * 재표본은 ForkJoinPool에서 병렬로 만들며, 작업을 나눌 때마다 SplittableRandom을 split하여 작업마다 독립된 난수 흐름을 씁니다.
+ * 작업을 나누는 모양은 재표본 개수로만 정해지므로 seed가 같으면 스레드 수와 상관없이 같은 결과가 나옵니다.
+ * 재표본은 값을 복사하지 않고 뽑힌 번호만 작업마다 하나씩 둔 int 배열에 담아 {@link IndexedStatistic}에 넘깁니다.
+ *
+ * <pre>{@code
+ * double[] effects = Iterators.toDoubleArray(limit(medicineEffects, 10_000));
+ * BootstrapResult result = Bootstrap.resample(effects.length, Bootstrap.median(effects), 2000);
+ * ConfidenceInterval interval = result.bcaInterval(0.95);
+ * }</pre>
+ */
+public final class Bootstrap {
+    public static final int DEFAULT_RESAMPLES = 2000;
+    private static final int LEAF_RESAMPLES = 32;
+
+    private Bootstrap() {}
+
+    /**
+     * 평균의 붓스트랩 결과를 {@link #DEFAULT_RESAMPLES}번의 재표본으로 구합니다.
+     */
+    public static BootstrapResult resample(double[] samples) {
+        nullCheck(samples, "double[] samples");
+        return resample(samples.length, mean(samples), DEFAULT_RESAMPLES);
+    }
+
+    public static BootstrapResult resample(int sampleSize, IndexedStatistic statistic, int resamples) {
+        return resample(sampleSize, statistic, resamples, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * 표본 번호를 중복을 허락하여 sampleSize개씩 resamples번 뽑고, 재표본마다 통계량을 계산합니다.
+     * 통계량은 여러 스레드에서 동시에 불리므로 스레드에 안전해야 합니다.
+     *
+     * @param sampleSize 표본 크기
+     * @param statistic  통계량
+     * @param resamples  재표본 개수
+     * @param seed       난수 seed. 같은 seed는 같은 결과를 만듭니다.
+     * @return 붓스트랩 결과
+     * @throws IllegalArgumentException sampleSize가 2보다 작거나 resamples가 1보다 작은 경우 발생
+     */
+    public static BootstrapResult resample(int sampleSize, IndexedStatistic statistic, int resamples, long seed) {
+        nullCheck(statistic, "IndexedStatistic statistic");
+        if (sampleSize < 2) {
+            throw new IllegalArgumentException("Out of range with " + sampleSize);
+        }
+        if (resamples < 1) {
+            throw new IllegalArgumentException("Out of range with " + resamples);
+        }
+        int[] identity = new int[sampleSize];
+        for (int i = 0; i < sampleSize; i++) {
+            identity[i] = i;
+        }
+        double estimate = statistic.evaluate(identity, sampleSize);
+        double[] replicates = new double[resamples];
+        ForkJoinPool.commonPool().invoke(
+                new ResampleTask(statistic, sampleSize, replicates, 0, resamples, new SplittableRandom(seed)));
+        Arrays.sort(replicates);
+        return new BootstrapResult(estimate, replicates, sampleSize, statistic);
+    }
+
+    /**
+     * @return 표본 평균을 계산하는 통계량
+     */
+    public static IndexedStatistic mean(double[] samples) {
+        nullCheck(samples, "double[] samples");
+        return (indices, length) -> {
+            double sum = 0;
+            for (int i = 0; i < length; i++) {
+                sum += samples[indices[i]];
+            }
+            return sum / length;
+        };
+    }
+
+    /**
+     * @return 표본 중앙값을 계산하는 통계량
+     */
+    public static IndexedStatistic median(double[] samples) {
+        return quantile(samples, 0.5);
+    }
+
+    /**
+     * 뽑힌 값을 스레드마다 하나씩 둔 작업 배열에 모아 정렬한 뒤 선형 보간으로 분위수를 구하는 통계량을 만듭니다.
+     *
+     * @param fraction 0과 1 사이의 비율
+     * @return 표본 분위수를 계산하는 통계량
+     * @throws IllegalArgumentException fraction이 [0, 1] 범위를 벗어난 경우 발생
+     */
+    public static IndexedStatistic quantile(double[] samples, double fraction) {
+        nullCheck(samples, "double[] samples");
+        if (!(fraction >= 0 && fraction <= 1)) {
+            throw new IllegalArgumentException("Out of range with " + fraction);
+        }
+        ThreadLocal<double[]> scratch = ThreadLocal.withInitial(() -> new double[samples.length]);
+        return (indices, length) -> {
+            double[] values = scratch.get();
+            for (int i = 0; i < length; i++) {
+                values[i] = samples[indices[i]];
+            }
+            Arrays.sort(values, 0, length);
+            return BootstrapResult.interpolate(values, length, fraction);
+        };
+    }
+
+    /**
+     * 같은 시행에서 얻은 두 값의 합의 비율(예: 성공 횟수 / 시행 횟수)을 계산하는 통계량을 만듭니다.
+     *
+     * @return sum(numerators) / sum(denominators)를 계산하는 통계량
+     * @throws IllegalArgumentException 두 배열의 길이가 다른 경우 발생
+     */
+    public static IndexedStatistic ratio(double[] numerators, double[] denominators) {
+        nullCheck(numerators, "double[] numerators");
+        nullCheck(denominators, "double[] denominators");
+        if (numerators.length != denominators.length) {
+            throw new IllegalArgumentException("Out of range with " + numerators.length + ", " + denominators.length);
+        }
+        return (indices, length) -> {
+            double numerator = 0;
+            double denominator = 0;
+            for (int i = 0; i < length; i++) {
+                numerator += numerators[indices[i]];
+                denominator += denominators[indices[i]];
+            }
+            return numerator / denominator;
+        };
+    }
+
+    private static void nullCheck(Object object, String name) {
+        if (object == null) {
+            throw new IllegalNullArgumentException("Bootstrap: " + name + " 값이 null로 들어올 수 없습니다.");
+        }
+    }
+
+    private static final class ResampleTask extends RecursiveAction {
+        private final IndexedStatistic statistic;
+        private final int sampleSize;
+        private final double[] replicates;
+        private final int from;
+        private final int to;
+        private final SplittableRandom random;
+
+        ResampleTask(IndexedStatistic statistic, int sampleSize, double[] replicates, int from, int to,
+                     SplittableRandom random) {
+            this.statistic = statistic;
+            this.sampleSize = sampleSize;
+            this.replicates = replicates;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_RESAMPLES) {
+                int middle = (from + to) >>> 1;
+                SplittableRandom split = random.split();
+                invokeAll(new ResampleTask(statistic, sampleSize, replicates, from, middle, random),
+                        new ResampleTask(statistic, sampleSize, replicates, middle, to, split));
+                return;
+            }
+            int[] indices = new int[sampleSize];
+            for (int b = from; b < to; b++) {
+                for (int i = 0; i < sampleSize; i++) {
+                    indices[i] = random.nextInt(sampleSize);
+                }
+                replicates[b] = statistic.evaluate(indices, sampleSize);
+            }
+        }
+    }
+}
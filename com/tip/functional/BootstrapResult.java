@@ -0,0 +1,241 @@
+package com.tip.functional;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * {@link Bootstrap}의 결과입니다. 원래 표본의 통계량과 정렬된 재표본 통계량들을 담고 있으며
+ * 백분위수(percentile) 구간과 BCa(bias-corrected and accelerated) 구간을 계산합니다.
+ * BCa 구간에 필요한 가속 상수는 처음 쓸 때 잭나이프로 한 번만 계산합니다.
+ */
+public final class BootstrapResult {
+    static final int MAX_JACKKNIFE_GROUPS = 1000;
+    private static final int LEAF_GROUPS = 16;
+
+    private final double estimate;
+    private final double[] replicates;
+    private final int sampleSize;
+    private final IndexedStatistic statistic;
+    private double acceleration = Double.NaN;
+
+    BootstrapResult(double estimate, double[] sortedReplicates, int sampleSize, IndexedStatistic statistic) {
+        this.estimate = estimate;
+        this.replicates = sortedReplicates;
+        this.sampleSize = sampleSize;
+        this.statistic = statistic;
+    }
+
+    /**
+     * @return 원래 표본의 통계량
+     */
+    public double estimate() {
+        return estimate;
+    }
+
+    public int resamples() {
+        return replicates.length;
+    }
+
+    /**
+     * @return 정렬된 재표본 통계량들의 복사본
+     */
+    public double[] replicates() {
+        return replicates.clone();
+    }
+
+    /**
+     * @return 재표본 통계량들의 표준 편차
+     */
+    public double standardError() {
+        if (replicates.length < 2) {
+            return 0;
+        }
+        double mean = mean();
+        double sumOfSquares = 0;
+        for (double replicate : replicates) {
+            sumOfSquares += (replicate - mean) * (replicate - mean);
+        }
+        return Math.sqrt(sumOfSquares / (replicates.length - 1));
+    }
+
+    /**
+     * @return 재표본 통계량 평균 - 원래 표본의 통계량
+     */
+    public double bias() {
+        return mean() - estimate;
+    }
+
+    /**
+     * @param level 신뢰 수준 (0.95는 95% 신뢰 구간)
+     * @return 재표본 통계량의 (1 - level) / 2, (1 + level) / 2 분위수로 만든 구간
+     * @throws IllegalArgumentException level이 (0, 1) 범위를 벗어난 경우 발생
+     */
+    public ConfidenceInterval percentileInterval(double level) {
+        checkLevel(level);
+        double alpha = (1 - level) / 2;
+        return new ConfidenceInterval(interpolate(replicates, replicates.length, alpha),
+                interpolate(replicates, replicates.length, 1 - alpha), level);
+    }
+
+    /**
+     * 재표본 분포의 치우침(bias)과 표준 오차가 통계량 값에 따라 변하는 정도(가속 상수)를 보정한 BCa 구간을 계산합니다.
+     * 가속 상수는 잭나이프로 구하며, 표본이 {@value #MAX_JACKKNIFE_GROUPS}개보다 많으면 연속된 표본을 묶음으로 하나씩 빼는
+     * 묶음 잭나이프를 씁니다.
+     *
+     * @param level 신뢰 수준 (0.95는 95% 신뢰 구간)
+     * @return BCa 구간
+     * @throws IllegalArgumentException level이 (0, 1) 범위를 벗어난 경우 발생
+     */
+    public ConfidenceInterval bcaInterval(double level) {
+        checkLevel(level);
+        int below = 0;
+        int equal = 0;
+        for (double replicate : replicates) {
+            if (replicate < estimate) {
+                below++;
+            } else if (replicate == estimate) {
+                equal++;
+            }
+        }
+        // 모든 재표본이 한쪽에 몰리면 z0가 무한대가 되므로 비율을 [1 / 2B, 1 - 1 / 2B]로 자릅니다.
+        double half = 0.5 / replicates.length;
+        double proportion = Math.max(half, Math.min(1 - half, (below + equal / 2.0) / replicates.length));
+        double z0 = inverseNormalCdf(proportion);
+        double a = acceleration();
+        double alpha = (1 - level) / 2;
+        return new ConfidenceInterval(interpolate(replicates, replicates.length, adjust(z0, a, alpha)),
+                interpolate(replicates, replicates.length, adjust(z0, a, 1 - alpha)), level);
+    }
+
+    @Override
+    public String toString() {
+        return "BootstrapResult{estimate=" + estimate + ", standardError=" + standardError() + ", resamples="
+                + replicates.length + "}";
+    }
+
+    private double mean() {
+        double sum = 0;
+        for (double replicate : replicates) {
+            sum += replicate;
+        }
+        return sum / replicates.length;
+    }
+
+    private static double adjust(double z0, double acceleration, double alpha) {
+        double z = z0 + inverseNormalCdf(alpha);
+        return normalCdf(z0 + z / (1 - acceleration * z));
+    }
+
+    private synchronized double acceleration() {
+        if (Double.isNaN(acceleration)) {
+            int groups = Math.min(sampleSize, MAX_JACKKNIFE_GROUPS);
+            double[] jackknife = new double[groups];
+            ForkJoinPool.commonPool().invoke(new JackknifeTask(jackknife, 0, groups));
+            double mean = 0;
+            for (double value : jackknife) {
+                mean += value;
+            }
+            mean /= groups;
+            double squares = 0;
+            double cubes = 0;
+            for (double value : jackknife) {
+                double deviation = mean - value;
+                squares += deviation * deviation;
+                cubes += deviation * deviation * deviation;
+            }
+            acceleration = squares == 0 ? 0 : cubes / (6 * Math.pow(squares, 1.5));
+        }
+        return acceleration;
+    }
+
+    private static void checkLevel(double level) {
+        if (!(level > 0 && level < 1)) {
+            throw new IllegalArgumentException("Out of range with " + level);
+        }
+    }
+
+    // 정렬된 values의 앞쪽 length개에서 fraction 분위수를 선형 보간으로 구합니다.
+    static double interpolate(double[] values, int length, double fraction) {
+        double position = (length - 1) * fraction;
+        int lower = (int) Math.floor(position);
+        if (lower >= length - 1) {
+            return values[length - 1];
+        }
+        return values[lower] + (position - lower) * (values[lower + 1] - values[lower]);
+    }
+
+    // erfc의 Chebyshev 근사로 표준 정규 누적 분포를 구합니다. 상대 오차는 1.2e-7 이내입니다.
+    static double normalCdf(double x) {
+        double z = Math.abs(x) / Math.sqrt(2);
+        double t = 1 / (1 + 0.5 * z);
+        double erfc = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? 1 - erfc / 2 : erfc / 2;
+    }
+
+    // Acklam의 유리 함수 근사로 표준 정규 분포의 분위수를 구합니다. 상대 오차는 1.15e-9 이내입니다.
+    static double inverseNormalCdf(double p) {
+        final double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        final double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                6.680131188771972e+01, -1.328068155288572e+01};
+        final double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        final double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                3.754408661907416e+00};
+        final double low = 0.02425;
+        if (p <= 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (p >= 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (p < low || p > 1 - low) {
+            double q = Math.sqrt(-2 * Math.log(p < low ? p : 1 - p));
+            double x = (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+            return p < low ? x : -x;
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+
+    // 묶음 k를 뺀 나머지 표본 번호로 통계량을 계산합니다. 작업마다 번호 배열을 하나만 씁니다.
+    private final class JackknifeTask extends RecursiveAction {
+        private final double[] jackknife;
+        private final int from;
+        private final int to;
+
+        JackknifeTask(double[] jackknife, int from, int to) {
+            this.jackknife = jackknife;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_GROUPS) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new JackknifeTask(jackknife, from, middle), new JackknifeTask(jackknife, middle, to));
+                return;
+            }
+            int groups = jackknife.length;
+            int[] indices = new int[sampleSize];
+            for (int group = from; group < to; group++) {
+                int start = (int) ((long) group * sampleSize / groups);
+                int end = (int) ((long) (group + 1) * sampleSize / groups);
+                int length = 0;
+                for (int i = 0; i < sampleSize; i++) {
+                    if (i < start || i >= end) {
+                        indices[length++] = i;
+                    }
+                }
+                jackknife[group] = statistic.evaluate(indices, length);
+            }
+        }
+    }
+}
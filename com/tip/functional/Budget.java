@@ -0,0 +1,177 @@
+package com.tip.functional;
+
+import com.tip.functional.customexception.IllegalNullArgumentException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+
+/**
+ * 끝없는 순열을 소비하는 종단 연산에 거는 예산입니다. 벽시계 시간, 스레드 CPU 시간, {@link CancellationToken} 가운데
+ * 하나라도 다하면 연산은 그때까지의 결과를 돌려줍니다. 스레드가 인터럽트되어도 멈춥니다.
+ * 시계를 읽는 비용을 줄이려고 원소 {@link #checkInterval()}개마다 한 번만 확인하므로 예산을 그만큼 넘길 수 있습니다.
+ * 불변 객체이므로 여러 연산에 같은 예산을 걸 수 있으며, 시간은 연산을 시작할 때부터 잽니다.
+ *
+ * <pre>{@code
+ * AnytimeResult<Double> estimate = Iterators.mean(Mathx.normalDistribution(50, 30), Budget.wallClock(Duration.ofMillis(50)));
+ * }</pre>
+ */
+public final class Budget {
+    public static final int DEFAULT_CHECK_INTERVAL = 1024;
+    private static final long UNLIMITED = Long.MAX_VALUE;
+
+    private final long wallClockNanos;
+    private final long cpuTimeNanos;
+    private final CancellationToken token;
+    private final int checkInterval;
+
+    private Budget(long wallClockNanos, long cpuTimeNanos, CancellationToken token, int checkInterval) {
+        this.wallClockNanos = wallClockNanos;
+        this.cpuTimeNanos = cpuTimeNanos;
+        this.token = token;
+        this.checkInterval = checkInterval;
+    }
+
+    /**
+     * @return 인터럽트로만 멈추는 예산
+     */
+    public static Budget unlimited() {
+        return new Budget(UNLIMITED, UNLIMITED, null, DEFAULT_CHECK_INTERVAL);
+    }
+
+    /**
+     * @throws IllegalArgumentException duration이 음수인 경우 발생
+     */
+    public static Budget wallClock(Duration duration) {
+        return unlimited().withWallClock(duration);
+    }
+
+    /**
+     * 연산을 돌리는 스레드가 쓴 CPU 시간으로 재는 예산입니다. 다른 일에 밀려 기다린 시간은 세지 않습니다.
+     * JVM의 스레드 CPU 시간 측정이 꺼져 있으면 켭니다.
+     *
+     * @throws IllegalArgumentException      duration이 음수인 경우 발생
+     * @throws UnsupportedOperationException JVM이 스레드 CPU 시간을 잴 수 없거나 꺼진 측정을 켤 수 없는 경우 발생
+     */
+    public static Budget cpuTime(Duration duration) {
+        return unlimited().withCpuTime(duration);
+    }
+
+    public static Budget cancellable(CancellationToken token) {
+        return unlimited().withToken(token);
+    }
+
+    public Budget withWallClock(Duration duration) {
+        return new Budget(nanos(duration, "Duration duration"), cpuTimeNanos, token, checkInterval);
+    }
+
+    public Budget withCpuTime(Duration duration) {
+        long nanos = nanos(duration, "Duration duration");
+        cpuTimeThreads();
+        return new Budget(wallClockNanos, nanos, token, checkInterval);
+    }
+
+    public Budget withToken(CancellationToken token) {
+        if (token == null) {
+            throw new IllegalNullArgumentException("Budget: CancellationToken token 값이 null로 들어올 수 없습니다.");
+        }
+        return new Budget(wallClockNanos, cpuTimeNanos, token, checkInterval);
+    }
+
+    /**
+     * @param checkInterval 예산을 확인하는 원소 간격. 원소 하나가 비쌀수록 작게 잡습니다.
+     * @throws IllegalArgumentException checkInterval이 1보다 작은 경우 발생
+     */
+    public Budget checkEvery(int checkInterval) {
+        if (checkInterval < 1) {
+            throw new IllegalArgumentException("Out of range with " + checkInterval);
+        }
+        return new Budget(wallClockNanos, cpuTimeNanos, token, checkInterval);
+    }
+
+    public int checkInterval() {
+        return checkInterval;
+    }
+
+    /**
+     * 예산을 지금부터 재기 시작합니다.
+     */
+    Meter start() {
+        return new Meter(this);
+    }
+
+    // 측정을 지원해도 꺼져 있으면 getCurrentThreadCpuTime()이 -1을 돌려주어 예산이 다하지 않으므로, 꺼져 있으면 켭니다.
+    private static ThreadMXBean cpuTimeThreads() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!threads.isCurrentThreadCpuTimeSupported()) {
+            throw new UnsupportedOperationException("Budget: 이 JVM은 스레드 CPU 시간을 잴 수 없습니다.");
+        }
+        if (!threads.isThreadCpuTimeEnabled()) {
+            try {
+                threads.setThreadCpuTimeEnabled(true);
+            } catch (SecurityException e) {
+                throw new UnsupportedOperationException("Budget: 꺼져 있는 스레드 CPU 시간 측정을 켤 수 없습니다.", e);
+            }
+        }
+        return threads;
+    }
+
+    private static long nanos(Duration duration, String name) {
+        if (duration == null) {
+            throw new IllegalNullArgumentException("Budget: " + name + " 값이 null로 들어올 수 없습니다.");
+        }
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("Out of range with " + duration);
+        }
+        return duration.compareTo(Duration.ofNanos(UNLIMITED)) >= 0 ? UNLIMITED : duration.toNanos();
+    }
+
+    /**
+     * 한 번의 연산에서 예산이 얼마나 남았는지 재는 계측기입니다. 연산을 돌리는 스레드에서만 씁니다.
+     */
+    static final class Meter {
+        private final Budget budget;
+        private final long startNanos;
+        private final ThreadMXBean threads;
+        private final long startCpuNanos;
+
+        private Meter(Budget budget) {
+            this.budget = budget;
+            this.startNanos = System.nanoTime();
+            this.threads = budget.cpuTimeNanos == UNLIMITED ? null : cpuTimeThreads();
+            this.startCpuNanos = threads == null ? 0 : threads.getCurrentThreadCpuTime();
+        }
+
+        /**
+         * @return 예산이 다했으면 그 까닭, 남았으면 null
+         */
+        AnytimeResult.StopReason exceeded() {
+            if (Thread.currentThread().isInterrupted()) {
+                return AnytimeResult.StopReason.INTERRUPTED;
+            }
+            if (budget.token != null && budget.token.isCancelled()) {
+                return AnytimeResult.StopReason.CANCELLED;
+            }
+            if (budget.wallClockNanos != UNLIMITED && System.nanoTime() - startNanos >= budget.wallClockNanos) {
+                return AnytimeResult.StopReason.WALL_CLOCK;
+            }
+            if (threads != null && cpuTime() - startCpuNanos >= budget.cpuTimeNanos) {
+                return AnytimeResult.StopReason.CPU_TIME;
+            }
+            return null;
+        }
+
+        // 연산 도중 누가 측정을 끄면 -1이 나오므로 다시 켜고 읽습니다. 켜는 동안 쓴 CPU 시간도 그대로 셉니다.
+        private long cpuTime() {
+            long nanos = threads.getCurrentThreadCpuTime();
+            return nanos != -1 ? nanos : cpuTimeThreads().getCurrentThreadCpuTime();
+        }
+
+        int checkInterval() {
+            return budget.checkInterval;
+        }
+
+        long elapsedNanos() {
+            return System.nanoTime() - startNanos;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.tip.functional;
+
+/**
+ * {@link ResultCache}가 돌려주는 시행 결과입니다. 계수와 합계에 더해 분산을 담으므로 표준 오차도 구할 수 있습니다.
+ * 같은 설정과 seed, 시행 횟수라면 캐시에서 읽었는지, 이어서 계산했는지, 처음부터 계산했는지와 상관없이 같은 값입니다.
+ */
+public final class CachedResult {
+    private final long count;
+    private final double sum;
+    private final double sumOfSquaredDeviations;
+    private final long computedTrials;
+
+    CachedResult(long count, double sum, double sumOfSquaredDeviations, long computedTrials) {
+        this.count = count;
+        this.sum = sum;
+        this.sumOfSquaredDeviations = sumOfSquaredDeviations;
+        this.computedTrials = computedTrials;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double sum() {
+        return sum;
+    }
+
+    /**
+     * @return 평균. 시행하지 않았으면 NaN을 반환합니다.
+     */
+    public double mean() {
+        return count > 0 ? sum / count : Double.NaN;
+    }
+
+    /**
+     * @return 표본 분산. 시행이 2번보다 적으면 NaN을 반환합니다.
+     */
+    public double variance() {
+        return count > 1 ? sumOfSquaredDeviations / (count - 1) : Double.NaN;
+    }
+
+    /**
+     * @return 평균의 표준 오차. 시행이 2번보다 적으면 NaN을 반환합니다.
+     */
+    public double standardError() {
+        return Math.sqrt(variance() / count);
+    }
+
+    /**
+     * @return 이번 호출에서 실제로 계산한 시행 횟수. 모두 캐시에서 읽었으면 0입니다.
+     */
+    public long computedTrials() {
+        return computedTrials;
+    }
+
+    public ExperimentsSnapshot snapshot() {
+        return new ExperimentsSnapshot(count, sum);
+    }
+
+    @Override
+    public String toString() {
+        return "CachedResult{count=" + count + ", mean=" + mean() + ", standardError=" + standardError()
+                + ", computedTrials=" + computedTrials + "}";
+    }
+}
@@ -0,0 +1,16 @@
+package com.tip.functional;
+
+/**
+ * 다른 스레드에서 {@link Budget}을 건 연산을 멈추게 하는 표시입니다. 한 번 취소하면 되돌릴 수 없습니다.
+ */
+public final class CancellationToken {
+    private volatile boolean cancelled;
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,34 @@
+package com.tip.functional;
+
+/**
+ * Neumaier 보정 합(compensated summation)을 누적하는 클래스입니다.
+ * 더할 때마다 잃어버린 하위 비트를 compensation에 따로 모아 두기 때문에
+ * 크기가 크게 다른 double 값들을 더해도 순차 합보다 오차가 훨씬 작습니다.
+ * 두 누적값을 {@link #add(CompensatedSum)}로 합칠 수 있어서 병렬로 나눈 구간의 합을 짝지어(pairwise) 합치는 데 씁니다.
+ */
+public final class CompensatedSum {
+    private double sum;
+    private double compensation;
+
+    public CompensatedSum add(double value) {
+        double t = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - t) + value;
+        } else {
+            compensation += (value - t) + sum;
+        }
+        sum = t;
+        return this;
+    }
+
+    public CompensatedSum add(CompensatedSum other) {
+        add(other.sum);
+        compensation += other.compensation;
+        return this;
+    }
+
+    public double value() {
+        // 무한대나 NaN이 더해지면 보정값이 NaN이 되므로 sum을 그대로 돌려줍니다.
+        return Double.isFinite(sum) ? sum + compensation : sum;
+    }
+}
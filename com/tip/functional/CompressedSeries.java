@@ -0,0 +1,388 @@
+package com.tip.functional;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Gorilla 방식으로 압축한 double 또는 long 수열입니다.
+ * long(시각 등)은 이웃한 차이의 차이(delta-of-delta)를, double은 앞 값과의 XOR에서 앞뒤의 0을 뺀 가운데 비트만 가변 길이 부호로 씁니다.
+ * 간격이 일정한 시각은 값 하나에 1비트, 천천히 변하는 센서 값은 보통 몇 비트에서 스무 비트 남짓으로 줄어듭니다.
+ * 값은 {@link #DEFAULT_BLOCK_SIZE}개씩 블록으로 나누어 블록마다 첫 값을 그대로 쓰고, 블록이 시작하는 비트 위치를 색인으로 두어
+ * {@link #doubles(long)}처럼 중간부터 읽을 때 그 블록 하나만 풀면 됩니다.
+ */
+public final class CompressedSeries {
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+    private static final int FORMAT = 1;
+
+    private final boolean doubles;
+    private final long count;
+    private final int blockSize;
+    private final long[] blockOffsets;
+    private final long[] words;
+
+    private CompressedSeries(boolean doubles, long count, int blockSize, long[] blockOffsets, long[] words) {
+        this.doubles = doubles;
+        this.count = count;
+        this.blockSize = blockSize;
+        this.blockOffsets = blockOffsets;
+        this.words = words;
+    }
+
+    public static DoubleEncoder doubleEncoder() {
+        return new DoubleEncoder(DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param blockSize 블록 하나의 값 개수. 작을수록 중간부터 읽기가 빠르고 클수록 압축률이 조금 좋아집니다.
+     * @throws IllegalArgumentException blockSize가 1보다 작은 경우 발생
+     */
+    public static DoubleEncoder doubleEncoder(int blockSize) {
+        return new DoubleEncoder(checkBlockSize(blockSize));
+    }
+
+    public static LongEncoder longEncoder() {
+        return new LongEncoder(DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @throws IllegalArgumentException blockSize가 1보다 작은 경우 발생
+     */
+    public static LongEncoder longEncoder(int blockSize) {
+        return new LongEncoder(checkBlockSize(blockSize));
+    }
+
+    /**
+     * @return 값의 개수
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * @return 압축된 비트열이 차지하는 바이트 수
+     */
+    public long compressedBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    public boolean isDoubleSeries() {
+        return doubles;
+    }
+
+    public PrimitiveIterator.OfDouble doubles() {
+        return doubles(0);
+    }
+
+    /**
+     * @param fromIndex 처음 읽을 값의 번호
+     * @return fromIndex번째 값부터 차례로 푸는 Iterator
+     * @throws IllegalStateException     long 수열인 경우 발생
+     * @throws IndexOutOfBoundsException fromIndex가 [0, size()] 범위를 벗어난 경우 발생
+     */
+    public PrimitiveIterator.OfDouble doubles(long fromIndex) {
+        if (!doubles) {
+            throw new IllegalStateException("doubles: long 수열입니다.");
+        }
+        DoubleDecoder decoder = new DoubleDecoder(seek(fromIndex), fromIndex - fromIndex % blockSize);
+        decoder.skip(fromIndex % blockSize);
+        return decoder;
+    }
+
+    public PrimitiveIterator.OfLong longs() {
+        return longs(0);
+    }
+
+    /**
+     * @param fromIndex 처음 읽을 값의 번호
+     * @return fromIndex번째 값부터 차례로 푸는 Iterator
+     * @throws IllegalStateException     double 수열인 경우 발생
+     * @throws IndexOutOfBoundsException fromIndex가 [0, size()] 범위를 벗어난 경우 발생
+     */
+    public PrimitiveIterator.OfLong longs(long fromIndex) {
+        if (doubles) {
+            throw new IllegalStateException("longs: double 수열입니다.");
+        }
+        LongDecoder decoder = new LongDecoder(seek(fromIndex), fromIndex - fromIndex % blockSize);
+        decoder.skip(fromIndex % blockSize);
+        return decoder;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeByte(FORMAT);
+        out.writeBoolean(doubles);
+        out.writeLong(count);
+        out.writeInt(blockSize);
+        out.writeInt(blockOffsets.length);
+        for (long offset : blockOffsets) {
+            out.writeLong(offset);
+        }
+        out.writeInt(words.length);
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    /**
+     * @throws IOException 읽기에 실패했거나 알 수 없는 형식인 경우 발생
+     */
+    public static CompressedSeries readFrom(DataInput in) throws IOException {
+        int format = in.readByte();
+        if (format != FORMAT) {
+            throw new IOException("CompressedSeries: 알 수 없는 형식 " + format);
+        }
+        boolean doubles = in.readBoolean();
+        long count = in.readLong();
+        int blockSize = in.readInt();
+        long[] blockOffsets = new long[in.readInt()];
+        for (int i = 0; i < blockOffsets.length; i++) {
+            blockOffsets[i] = in.readLong();
+        }
+        long[] words = new long[in.readInt()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = in.readLong();
+        }
+        return new CompressedSeries(doubles, count, blockSize, blockOffsets, words);
+    }
+
+    private BitReader seek(long fromIndex) {
+        if (fromIndex < 0 || fromIndex > count) {
+            throw new IndexOutOfBoundsException("Out of range with " + fromIndex);
+        }
+        int block = (int) (fromIndex / blockSize);
+        return new BitReader(words, block < blockOffsets.length ? blockOffsets[block] : 0);
+    }
+
+    private static int checkBlockSize(int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Out of range with " + blockSize);
+        }
+        return blockSize;
+    }
+
+    // 블록이 시작할 때마다 비트 위치를 색인에 남깁니다.
+    private static final class Blocks {
+        final BitWriter writer = new BitWriter();
+        final int blockSize;
+        long[] blockOffsets = new long[16];
+        int blocks;
+        long count;
+
+        Blocks(int blockSize) {
+            this.blockSize = blockSize;
+        }
+
+        // 블록의 첫 값이면 true를 반환합니다.
+        boolean startValue() {
+            if (count % blockSize != 0) {
+                return false;
+            }
+            if (blocks == blockOffsets.length) {
+                blockOffsets = Arrays.copyOf(blockOffsets, blocks * 2);
+            }
+            blockOffsets[blocks++] = writer.position();
+            return true;
+        }
+
+        CompressedSeries finish(boolean doubles) {
+            return new CompressedSeries(doubles, count, blockSize, Arrays.copyOf(blockOffsets, blocks),
+                    writer.toArray());
+        }
+    }
+
+    /**
+     * double 값을 앞 값과의 XOR로 압축합니다. XOR이 0이면 1비트, 앞의 0과 뒤의 0이 앞 값의 구간 안에 들면 그 구간만,
+     * 아니면 앞의 0 개수(5비트)와 가운데 비트 길이(6비트)를 쓴 뒤 가운데 비트를 씁니다.
+     */
+    public static final class DoubleEncoder {
+        private final Blocks blocks;
+        private long previous;
+        private int previousLeading;
+        private int previousTrailing;
+
+        private DoubleEncoder(int blockSize) {
+            blocks = new Blocks(blockSize);
+        }
+
+        public DoubleEncoder add(double value) {
+            long bits = Double.doubleToRawLongBits(value);
+            BitWriter writer = blocks.writer;
+            if (blocks.startValue()) {
+                writer.write(bits, 64);
+                previousLeading = Integer.MAX_VALUE;
+                previousTrailing = 0;
+            } else {
+                long xor = bits ^ previous;
+                if (xor == 0) {
+                    writer.writeBit(false);
+                } else {
+                    writer.writeBit(true);
+                    int leading = Math.min(31, Long.numberOfLeadingZeros(xor));
+                    int trailing = Long.numberOfTrailingZeros(xor);
+                    if (leading >= previousLeading && trailing >= previousTrailing) {
+                        writer.writeBit(false);
+                        writer.write(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+                    } else {
+                        int meaningful = 64 - leading - trailing;
+                        writer.writeBit(true);
+                        writer.write(leading, 5);
+                        writer.write(meaningful - 1, 6);
+                        writer.write(xor >>> trailing, meaningful);
+                        previousLeading = leading;
+                        previousTrailing = trailing;
+                    }
+                }
+            }
+            previous = bits;
+            blocks.count++;
+            return this;
+        }
+
+        public CompressedSeries finish() {
+            return blocks.finish(true);
+        }
+    }
+
+    /**
+     * long 값을 차이의 차이로 압축합니다. 0이면 1비트, [-63, 64]는 2 + 7비트, [-255, 256]은 3 + 9비트,
+     * [-2047, 2048]은 4 + 12비트, 그 밖은 4 + 64비트를 씁니다.
+     */
+    public static final class LongEncoder {
+        private final Blocks blocks;
+        private long previous;
+        private long previousDelta;
+
+        private LongEncoder(int blockSize) {
+            blocks = new Blocks(blockSize);
+        }
+
+        public LongEncoder add(long value) {
+            BitWriter writer = blocks.writer;
+            if (blocks.startValue()) {
+                writer.write(value, 64);
+                previousDelta = 0;
+            } else {
+                long delta = value - previous;
+                long deltaOfDelta = delta - previousDelta;
+                if (deltaOfDelta == 0) {
+                    writer.writeBit(false);
+                } else if (deltaOfDelta >= -63 && deltaOfDelta <= 64) {
+                    writer.write(0b10, 2);
+                    writer.write(deltaOfDelta + 63, 7);
+                } else if (deltaOfDelta >= -255 && deltaOfDelta <= 256) {
+                    writer.write(0b110, 3);
+                    writer.write(deltaOfDelta + 255, 9);
+                } else if (deltaOfDelta >= -2047 && deltaOfDelta <= 2048) {
+                    writer.write(0b1110, 4);
+                    writer.write(deltaOfDelta + 2047, 12);
+                } else {
+                    writer.write(0b1111, 4);
+                    writer.write(deltaOfDelta, 64);
+                }
+                previousDelta = delta;
+            }
+            previous = value;
+            blocks.count++;
+            return this;
+        }
+
+        public CompressedSeries finish() {
+            return blocks.finish(false);
+        }
+    }
+
+    private final class DoubleDecoder implements PrimitiveIterator.OfDouble {
+        private final BitReader reader;
+        private long index;
+        private long previous;
+        private int leading;
+        private int trailing;
+
+        DoubleDecoder(BitReader reader, long index) {
+            this.reader = reader;
+            this.index = index;
+        }
+
+        void skip(long values) {
+            for (long i = 0; i < values; i++) {
+                nextDouble();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < count;
+        }
+
+        @Override
+        public double nextDouble() {
+            if (index >= count) {
+                throw new NoSuchElementException("CompressedSeries: 더 이상 값이 없습니다.");
+            }
+            if (index++ % blockSize == 0) {
+                previous = reader.read(64);
+            } else if (reader.readBit()) {
+                if (reader.readBit()) {
+                    leading = (int) reader.read(5);
+                    int meaningful = (int) reader.read(6) + 1;
+                    trailing = 64 - leading - meaningful;
+                }
+                previous ^= reader.read(64 - leading - trailing) << trailing;
+            }
+            return Double.longBitsToDouble(previous);
+        }
+    }
+
+    private final class LongDecoder implements PrimitiveIterator.OfLong {
+        private final BitReader reader;
+        private long index;
+        private long previous;
+        private long previousDelta;
+
+        LongDecoder(BitReader reader, long index) {
+            this.reader = reader;
+            this.index = index;
+        }
+
+        void skip(long values) {
+            for (long i = 0; i < values; i++) {
+                nextLong();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < count;
+        }
+
+        @Override
+        public long nextLong() {
+            if (index >= count) {
+                throw new NoSuchElementException("CompressedSeries: 더 이상 값이 없습니다.");
+            }
+            if (index++ % blockSize == 0) {
+                previous = reader.read(64);
+                previousDelta = 0;
+                return previous;
+            }
+            long deltaOfDelta;
+            if (!reader.readBit()) {
+                deltaOfDelta = 0;
+            } else if (!reader.readBit()) {
+                deltaOfDelta = reader.read(7) - 63;
+            } else if (!reader.readBit()) {
+                deltaOfDelta = reader.read(9) - 255;
+            } else if (!reader.readBit()) {
+                deltaOfDelta = reader.read(12) - 2047;
+            } else {
+                deltaOfDelta = reader.read(64);
+            }
+            previousDelta += deltaOfDelta;
+            previous += previousDelta;
+            return previous;
+        }
+    }
+}
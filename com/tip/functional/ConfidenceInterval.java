@@ -0,0 +1,40 @@
+package com.tip.functional;
+
+/**
+ * 신뢰 구간을 담는 불변 객체입니다.
+ */
+public final class ConfidenceInterval {
+    private final double lower;
+    private final double upper;
+    private final double level;
+
+    ConfidenceInterval(double lower, double upper, double level) {
+        this.lower = lower;
+        this.upper = upper;
+        this.level = level;
+    }
+
+    public double lower() {
+        return lower;
+    }
+
+    public double upper() {
+        return upper;
+    }
+
+    /**
+     * @return 신뢰 수준 (0.95는 95% 신뢰 구간)
+     */
+    public double level() {
+        return level;
+    }
+
+    public boolean contains(double value) {
+        return lower <= value && value <= upper;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfidenceInterval{" + level * 100 + "%: [" + lower + ", " + upper + "]}";
+    }
+}
@@ -0,0 +1,74 @@
+package com.tip.functional;
+
+/**
+ * {@link MonteCarloCoordinator}가 worker들의 구간 결과를 합친 결과입니다.
+ * 구간들은 언제나 번호 순서로 합치므로, 어느 worker가 어떤 구간을 계산했든 같은 seed와 시행 횟수라면 같은 값입니다.
+ */
+public final class DistributedResult {
+    private final long count;
+    private final double sum;
+    private final double sumOfSquaredDeviations;
+    private final int shards;
+    private final int reassignedShards;
+
+    DistributedResult(long count, double sum, double sumOfSquaredDeviations, int shards, int reassignedShards) {
+        this.count = count;
+        this.sum = sum;
+        this.sumOfSquaredDeviations = sumOfSquaredDeviations;
+        this.shards = shards;
+        this.reassignedShards = reassignedShards;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double sum() {
+        return sum;
+    }
+
+    /**
+     * @return 평균. 시행하지 않았으면 NaN을 반환합니다.
+     */
+    public double mean() {
+        return count > 0 ? sum / count : Double.NaN;
+    }
+
+    /**
+     * @return 표본 분산. 시행이 2번보다 적으면 NaN을 반환합니다.
+     */
+    public double variance() {
+        return count > 1 ? sumOfSquaredDeviations / (count - 1) : Double.NaN;
+    }
+
+    /**
+     * @return 평균의 표준 오차. 시행이 2번보다 적으면 NaN을 반환합니다.
+     */
+    public double standardError() {
+        return Math.sqrt(variance() / count);
+    }
+
+    /**
+     * @return 시행을 나눈 구간(shard) 개수
+     */
+    public int shards() {
+        return shards;
+    }
+
+    /**
+     * @return worker가 실패하여 다른 worker에 다시 맡긴 횟수
+     */
+    public int reassignedShards() {
+        return reassignedShards;
+    }
+
+    public ExperimentsSnapshot snapshot() {
+        return new ExperimentsSnapshot(count, sum);
+    }
+
+    @Override
+    public String toString() {
+        return "DistributedResult{count=" + count + ", mean=" + mean() + ", standardError=" + standardError()
+                + ", shards=" + shards + ", reassignedShards=" + reassignedShards + "}";
+    }
+}
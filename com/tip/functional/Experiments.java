@@ -6,13 +6,59 @@ public class Experiments<T extends Number> implements Iterator<T> {
     private final Iterator<T> internalIterator; // 내부 반복자
     private final String herbAvailabilities; // 이름
     private final String distributionDescription; // 분포 설명
-    private int count = 0; // 계수
+    private final KllSketch sketch; // 분위수 스케치, 없으면 null
+    private final StripedAccumulator concurrent; // 동시 기록용 누적기, 단일 스레드 모드이면 null
+    private long count = 0; // 계수
     private double sum = 0; // 합계
 
     public Experiments(Iterator<T> internalIterator, String herbAvailabilities, String distributionDescription) {
+        this(internalIterator, herbAvailabilities, distributionDescription, null, null);
+    }
+
+    /**
+     * 계수와 합계에 더해 분위수 스케치({@link KllSketch})도 함께 기록하는 Experiments를 만듭니다.
+     * 스케치는 quantileAccuracy로 정해지는 고정된 메모리만 쓰므로 표본을 저장하지 않고도 중앙값이나 꼬리 백분위수를 구할 수 있습니다.
+     *
+     * @param quantileAccuracy 스케치의 정확도(k). 순위 오차는 대략 1.7 / quantileAccuracy입니다.
+     */
+    public Experiments(Iterator<T> internalIterator, String herbAvailabilities, String distributionDescription,
+                       int quantileAccuracy) {
+        this(internalIterator, herbAvailabilities, distributionDescription, new KllSketch(quantileAccuracy), null);
+    }
+
+    private Experiments(Iterator<T> internalIterator, String herbAvailabilities, String distributionDescription,
+                        KllSketch sketch, StripedAccumulator concurrent) {
         this.internalIterator = internalIterator;
         this.herbAvailabilities = herbAvailabilities;
         this.distributionDescription = distributionDescription;
+        this.sketch = sketch;
+        this.concurrent = concurrent;
+    }
+
+    /**
+     * 여러 스레드가 한 기록에 동시에 값을 보낼 수 있는 Experiments를 만듭니다.
+     * 스레드마다 따로 계수와 합계를 누적하고 읽을 때 합치므로 락 없이 기록할 수 있습니다.
+     * next()를 여러 스레드에서 부르려면 internalIterator도 스레드에 안전해야 합니다.
+     * 그렇지 않으면 각 스레드가 {@link #record(double)}로 값을 직접 보내세요.
+     */
+    public static <T extends Number> Experiments<T> concurrent(Iterator<T> internalIterator,
+                                                              String herbAvailabilities,
+                                                              String distributionDescription) {
+        return new Experiments<>(internalIterator, herbAvailabilities, distributionDescription, null,
+                new StripedAccumulator(0));
+    }
+
+    /**
+     * 분위수 스케치도 함께 기록하는 동시 기록용 Experiments를 만듭니다. 스케치는 스레드마다 따로 두고 읽을 때 합칩니다.
+     *
+     * @param quantileAccuracy 스케치의 정확도(k)
+     */
+    public static <T extends Number> Experiments<T> concurrent(Iterator<T> internalIterator,
+                                                              String herbAvailabilities,
+                                                              String distributionDescription,
+                                                              int quantileAccuracy) {
+        return new Experiments<>(internalIterator, herbAvailabilities, distributionDescription, null,
+                new StripedAccumulator(KllSketch.checkAccuracy(quantileAccuracy)));
     }
 
     @Override
@@ -25,18 +71,92 @@ public class Experiments<T extends Number> implements Iterator<T> {
     public T next() {
         // 반복자가 제공하는 값의 계수와 합계를 추적하려고 합니다.
         T value = internalIterator.next();
-        count++;
-        sum += value.doubleValue();
+        record(value.doubleValue());
         return value;
     }
 
+    /**
+     * 내부 반복자를 거치지 않고 값을 하나 기록합니다.
+     *
+     * @param value 기록할 값
+     */
+    public void record(double value) {
+        if (concurrent != null) {
+            concurrent.add(value);
+            return;
+        }
+        count++;
+        sum += value;
+        if (sketch != null) {
+            sketch.update(value);
+        }
+    }
+
+    /**
+     * @return 지금까지 기록한 계수와 합계. 동시 기록 모드에서도 계수와 합계는 같은 표본들에 대한 값입니다.
+     */
+    public ExperimentsSnapshot snapshot() {
+        return concurrent != null ? concurrent.snapshot() : new ExperimentsSnapshot(count, sum);
+    }
+
+    boolean isConcurrent() {
+        return concurrent != null;
+    }
+
+    boolean hasQuantiles() {
+        return sketch != null || (concurrent != null && concurrent.hasSketch());
+    }
+
+    /**
+     * @param fraction 0과 1 사이의 비율 (0.5는 중앙값, 0.99는 99 백분위수)
+     * @return 지금까지 지나간 값들의 분위수 어림값
+     * @throws IllegalStateException 분위수 스케치 없이 만든 Experiments인 경우 발생
+     */
+    public double quantile(double fraction) {
+        return quantileSketch().quantile(fraction);
+    }
+
+    /**
+     * @param value 기준 값
+     * @return 지금까지 지나간 값들 가운데 value 이하인 값의 비율 어림값
+     * @throws IllegalStateException 분위수 스케치 없이 만든 Experiments인 경우 발생
+     */
+    public double cdf(double value) {
+        return quantileSketch().cdf(value);
+    }
+
+    /**
+     * 다른 스레드나 프로세스의 스케치와 합칠 수 있도록 분위수 스케치를 반환합니다.
+     * 동시 기록 모드에서는 스레드별 스케치를 합친 복사본을 반환합니다.
+     *
+     * @return 분위수 스케치
+     * @throws IllegalStateException 분위수 스케치 없이 만든 Experiments인 경우 발생
+     */
+    public KllSketch quantileSketch() {
+        if (sketch != null) {
+            return sketch;
+        }
+        if (concurrent != null && concurrent.hasSketch()) {
+            return concurrent.mergedSketch();
+        }
+        throw new IllegalStateException(herbAvailabilities + ": 분위수 스케치 없이 만든 Experiments입니다.");
+    }
+
     public void report() {
         // 분포 설명과 처리된 요소의 계수, 평균값을 출력하는 간단한 보고 메서드입니다.
+        ExperimentsSnapshot snapshot = snapshot();
         System.out.println(herbAvailabilities + " - " + distributionDescription);
-        System.out.println("계수: " + count);
-        System.out.println("합계: " + sum);
-        if (count > 0) {
-            System.out.println("평균: " + (sum / count));
+        System.out.println("계수: " + snapshot.count());
+        System.out.println("합계: " + snapshot.sum());
+        if (snapshot.count() > 0) {
+            System.out.println("평균: " + snapshot.mean());
+        }
+        if (hasQuantiles()) {
+            KllSketch quantiles = quantileSketch();
+            if (quantiles.count() > 0) {
+                System.out.println("중앙값: " + quantiles.quantile(0.5));
+                System.out.println("99 백분위수: " + quantiles.quantile(0.99));
+            }
         }
     }
 
@@ -0,0 +1,35 @@
+package com.tip.functional;
+
+/**
+ * 한 시점의 Experiments 계수와 합계를 담는 불변 객체입니다.
+ * 계수와 합계는 언제나 같은 표본들에 대한 값이므로 평균을 바로 구할 수 있습니다.
+ */
+public final class ExperimentsSnapshot {
+    private final long count;
+    private final double sum;
+
+    ExperimentsSnapshot(long count, double sum) {
+        this.count = count;
+        this.sum = sum;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double sum() {
+        return sum;
+    }
+
+    /**
+     * @return 평균. 표본이 없으면 NaN을 반환합니다.
+     */
+    public double mean() {
+        return count > 0 ? sum / count : Double.NaN;
+    }
+
+    @Override
+    public String toString() {
+        return "ExperimentsSnapshot{count=" + count + ", sum=" + sum + ", mean=" + mean() + "}";
+    }
+}
@@ -0,0 +1,149 @@
+package com.tip.functional;
+
+import com.tip.functional.customexception.IllegalNullArgumentException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 파일의 [start, end) 바이트 구간입니다. 큰 파일을 여러 스레드가 나누어 읽을 때 구간마다
+ * {@link Iterators#readDoubles(FileRegion)} 같은 원본(source)을 하나씩 만들어 씁니다.
+ * 텍스트 구간은 줄 경계에서, 바이너리 구간은 값 크기의 배수에서 나뉘므로 값 하나가 두 구간에 걸치지 않습니다.
+ */
+public final class FileRegion {
+    private static final int PROBE_SIZE = 1 << 16;
+
+    private final Path path;
+    private final long start;
+    private final long end;
+
+    FileRegion(Path path, long start, long end) {
+        this.path = path;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @return 파일 전체를 가리키는 구간
+     * @throws UncheckedIOException 파일 크기를 읽지 못한 경우 발생
+     */
+    public static FileRegion of(Path path) {
+        nullCheck(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new FileRegion(path, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 텍스트 파일을 크기가 비슷한 구간 parts개로 나눕니다. 나누는 자리는 그 뒤의 첫 줄바꿈 다음으로 옮깁니다.
+     * 줄이 아주 길면 빈 구간이 생길 수 있습니다.
+     *
+     * @throws IllegalArgumentException parts가 1보다 작은 경우 발생
+     * @throws UncheckedIOException     파일을 읽지 못한 경우 발생
+     */
+    public static List<FileRegion> textRegions(Path path, int parts) {
+        nullCheck(path);
+        checkParts(parts);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] bounds = new long[parts + 1];
+            bounds[parts] = size;
+            ByteBuffer probe = ByteBuffer.allocate(PROBE_SIZE);
+            for (int k = 1; k < parts; k++) {
+                bounds[k] = Math.max(bounds[k - 1], lineStartAfter(channel, size * k / parts, size, probe));
+            }
+            return regions(path, bounds);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 바이너리 파일을 크기가 비슷한 구간 parts개로 나눕니다. 나누는 자리는 elementBytes의 배수이며,
+     * 파일 끝에 값 하나가 되지 않는 바이트가 남으면 버립니다.
+     *
+     * @throws IllegalArgumentException parts나 elementBytes가 1보다 작은 경우 발생
+     * @throws UncheckedIOException     파일 크기를 읽지 못한 경우 발생
+     */
+    public static List<FileRegion> binaryRegions(Path path, int parts, int elementBytes) {
+        nullCheck(path);
+        checkParts(parts);
+        if (elementBytes < 1) {
+            throw new IllegalArgumentException("Out of range with " + elementBytes);
+        }
+        long elements = of(path).end / elementBytes;
+        long[] bounds = new long[parts + 1];
+        for (int k = 0; k <= parts; k++) {
+            bounds[k] = elements * k / parts * elementBytes;
+        }
+        return regions(path, bounds);
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public long start() {
+        return start;
+    }
+
+    public long end() {
+        return end;
+    }
+
+    public long size() {
+        return end - start;
+    }
+
+    @Override
+    public String toString() {
+        return "FileRegion{" + path + " [" + start + ", " + end + ")}";
+    }
+
+    private static List<FileRegion> regions(Path path, long[] bounds) {
+        List<FileRegion> regions = new ArrayList<>(bounds.length - 1);
+        for (int k = 0; k + 1 < bounds.length; k++) {
+            regions.add(new FileRegion(path, bounds[k], bounds[k + 1]));
+        }
+        return regions;
+    }
+
+    // position 바로 앞이 줄바꿈이면 position이 곧 줄의 시작입니다. 아니면 다음 줄바꿈을 찾아 그 다음 자리를 반환합니다.
+    private static long lineStartAfter(FileChannel channel, long position, long size, ByteBuffer probe)
+            throws IOException {
+        long cursor = Math.max(0, position - 1);
+        while (cursor < size) {
+            probe.clear();
+            int read = channel.read(probe, cursor);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return cursor + i + 1;
+                }
+            }
+            cursor += read;
+        }
+        return size;
+    }
+
+    private static void checkParts(int parts) {
+        if (parts < 1) {
+            throw new IllegalArgumentException("Out of range with " + parts);
+        }
+    }
+
+    private static void nullCheck(Path path) {
+        if (path == null) {
+            throw new IllegalNullArgumentException("FileRegion: Path path 값이 null로 들어올 수 없습니다.");
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.tip.functional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * key별로 값의 계수, 합계, 평균, 분산을 한 번에 모아 두는 그룹 집계 클래스입니다.
+ * key가 enum이거나 작은 음이 아닌 int이면 key를 그대로 배열 인덱스로 써서 primitive 배열에 누적하고,
+ * 그 밖의 key는 해시 맵으로 인덱스를 찾아 같은 방식으로 누적합니다.
+ * 분산은 Welford 방식으로 갱신하므로 값을 저장하지 않고 한 번의 순회로 구할 수 있습니다.
+ *
+ * @param <K> 그룹을 나누는 key의 타입
+ */
+public final class GroupedStatistics<K> {
+    /**
+     * {@link #byInt()}가 배열 인덱스로 바로 쓰는 int key의 상한(exclusive)입니다.
+     */
+    public static final int DEFAULT_DENSE_INT_LIMIT = 1 << 16;
+
+    private final K[] enumConstants;
+    private final int denseIntLimit;
+    private final Accumulators dense;
+    private final Map<K, Integer> sparseSlots = new LinkedHashMap<>();
+    private final Accumulators sparse = new Accumulators(8);
+
+    private GroupedStatistics(K[] enumConstants, int denseIntLimit, int denseCapacity) {
+        this.enumConstants = enumConstants;
+        this.denseIntLimit = denseIntLimit;
+        this.dense = new Accumulators(denseCapacity);
+    }
+
+    /**
+     * enum 상수의 ordinal을 배열 인덱스로 쓰는 그룹 집계를 만듭니다.
+     *
+     * @param enumType key로 쓸 enum 타입
+     * @param <K>      enum 타입
+     * @return 비어 있는 그룹 집계
+     */
+    public static <K extends Enum<K>> GroupedStatistics<K> byEnum(Class<K> enumType) {
+        K[] constants = enumType.getEnumConstants();
+        return new GroupedStatistics<>(constants, 0, Math.max(1, constants.length));
+    }
+
+    /**
+     * 0 이상 {@link #DEFAULT_DENSE_INT_LIMIT} 미만의 int key는 배열 인덱스로 쓰고, 나머지 key는 해시 맵으로 찾는 그룹 집계를 만듭니다.
+     *
+     * @return 비어 있는 그룹 집계
+     */
+    public static GroupedStatistics<Integer> byInt() {
+        return new GroupedStatistics<>(null, DEFAULT_DENSE_INT_LIMIT, 16);
+    }
+
+    /**
+     * 모든 key를 해시 맵으로 찾는 그룹 집계를 만듭니다.
+     *
+     * @param <K> key의 타입
+     * @return 비어 있는 그룹 집계
+     */
+    public static <K> GroupedStatistics<K> byHash() {
+        return new GroupedStatistics<>(null, 0, 1);
+    }
+
+    /**
+     * key 그룹에 값을 하나 더합니다.
+     *
+     * @param key   값이 속한 그룹의 key
+     * @param value 더할 값
+     */
+    public void add(K key, double value) {
+        if (enumConstants != null) {
+            dense.add(((Enum<?>) key).ordinal(), value);
+        } else if (denseIntLimit > 0 && isDense((Integer) key)) {
+            dense.add((Integer) key, value);
+        } else {
+            sparse.add(sparseSlots.computeIfAbsent(key, k -> sparseSlots.size()), value);
+        }
+    }
+
+    /**
+     * int key 그룹에 값을 하나 더합니다. key를 boxing하지 않고 배열 인덱스로 바로 씁니다.
+     *
+     * @param key   값이 속한 그룹의 key
+     * @param value 더할 값
+     * @throws UnsupportedOperationException {@link #byInt()}로 만든 그룹 집계가 아닌 경우 발생
+     */
+    @SuppressWarnings("unchecked")
+    public void addInt(int key, double value) {
+        if (denseIntLimit == 0) {
+            throw new UnsupportedOperationException("addInt: int key 그룹 집계에서만 쓸 수 있습니다.");
+        }
+        if (isDense(key)) {
+            dense.add(key, value);
+        } else {
+            add((K) Integer.valueOf(key), value);
+        }
+    }
+
+    private boolean isDense(int key) {
+        return 0 <= key && key < denseIntLimit;
+    }
+
+    /**
+     * @return 값이 하나 이상 들어온 그룹의 key 목록. 배열로 모은 key가 먼저, 해시 맵으로 모은 key는 처음 나온 순서대로 뒤에 옵니다.
+     */
+    @SuppressWarnings("unchecked")
+    public List<K> keys() {
+        List<K> keys = new ArrayList<>();
+        for (int slot = 0; slot < dense.capacity(); slot++) {
+            if (dense.counts[slot] > 0) {
+                keys.add(enumConstants != null ? enumConstants[slot] : (K) Integer.valueOf(slot));
+            }
+        }
+        keys.addAll(sparseSlots.keySet());
+        return keys;
+    }
+
+    public long count(K key) {
+        int slot = slotOf(key);
+        return slot < 0 ? 0 : accumulatorsOf(key).counts[slot];
+    }
+
+    public double sum(K key) {
+        int slot = slotOf(key);
+        return slot < 0 ? 0 : accumulatorsOf(key).sums[slot];
+    }
+
+    /**
+     * @return key 그룹의 평균. 값이 없으면 NaN을 반환합니다.
+     */
+    public double mean(K key) {
+        return count(key) > 0 ? accumulatorsOf(key).means[slotOf(key)] : Double.NaN;
+    }
+
+    /**
+     * @return key 그룹의 표본 분산(n - 1로 나눔). 값이 두 개보다 적으면 NaN을 반환합니다.
+     */
+    public double variance(K key) {
+        long count = count(key);
+        return count > 1 ? accumulatorsOf(key).sumsOfSquaredDeviations[slotOf(key)] / (count - 1) : Double.NaN;
+    }
+
+    public void report() {
+        // 그룹마다 계수, 합계, 평균, 분산을 출력하는 간단한 보고 메서드입니다.
+        for (K key : keys()) {
+            System.out.println(key);
+            System.out.println("계수: " + count(key));
+            System.out.println("합계: " + sum(key));
+            System.out.println("평균: " + mean(key));
+            if (count(key) > 1) {
+                System.out.println("분산: " + variance(key));
+            }
+            System.out.println();
+        }
+    }
+
+    private int slotOf(K key) {
+        if (enumConstants != null) {
+            return ((Enum<?>) key).ordinal();
+        }
+        if (denseIntLimit > 0 && isDense((Integer) key)) {
+            return (Integer) key < dense.capacity() ? (Integer) key : -1;
+        }
+        Integer slot = sparseSlots.get(key);
+        return slot == null ? -1 : slot;
+    }
+
+    private Accumulators accumulatorsOf(K key) {
+        return enumConstants != null || (denseIntLimit > 0 && isDense((Integer) key)) ? dense : sparse;
+    }
+
+    /**
+     * 그룹별 누적값을 slot 번호로 찾는 primitive 배열 묶음입니다.
+     */
+    private static final class Accumulators {
+        private long[] counts;
+        private double[] sums;
+        private double[] means;
+        private double[] sumsOfSquaredDeviations;
+
+        Accumulators(int capacity) {
+            counts = new long[capacity];
+            sums = new double[capacity];
+            means = new double[capacity];
+            sumsOfSquaredDeviations = new double[capacity];
+        }
+
+        int capacity() {
+            return counts.length;
+        }
+
+        void add(int slot, double value) {
+            if (slot >= counts.length) {
+                grow(slot + 1);
+            }
+            long count = ++counts[slot];
+            sums[slot] += value;
+            double delta = value - means[slot];
+            means[slot] += delta / count;
+            sumsOfSquaredDeviations[slot] += delta * (value - means[slot]);
+        }
+
+        private void grow(int minCapacity) {
+            int capacity = Math.max(minCapacity, counts.length << 1);
+            counts = Arrays.copyOf(counts, capacity);
+            sums = Arrays.copyOf(sums, capacity);
+            means = Arrays.copyOf(means, capacity);
+            sumsOfSquaredDeviations = Arrays.copyOf(sumsOfSquaredDeviations, capacity);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.tip.functional;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Halton 수열입니다. d번째 차원은 d번째 소수를 밑으로 한 근역수(radical inverse)로 점 번호의 자릿수를 소수점 아래로 뒤집어 씁니다.
+ * 차원 수에 제한이 없지만 밑이 큰 차원끼리는 점이 한동안 대각선에 몰리므로, 차원이 많으면 섞기(scramble)를 켜는 편이 좋습니다.
+ * 섞기를 켜면 차원마다 0을 제외한 자릿수를 마구잡이로 바꾸는 순열을 적용합니다.
+ */
+public final class HaltonSequence implements LowDiscrepancySequence {
+    private final int dimensions;
+    private final int[] bases;
+    private final int[][] permutations;
+    private long index;
+
+    /**
+     * @param dimensions 차원 수
+     * @throws IllegalArgumentException dimensions가 1보다 작은 경우 발생
+     */
+    public HaltonSequence(int dimensions) {
+        this(dimensions, false, 0);
+    }
+
+    /**
+     * 주어진 seed로 자릿수를 섞은 Halton 수열을 만듭니다. seed가 같으면 같은 수열이 나옵니다.
+     *
+     * @param dimensions 차원 수
+     * @param seed       섞기에 쓸 seed
+     * @throws IllegalArgumentException dimensions가 1보다 작은 경우 발생
+     */
+    public HaltonSequence(int dimensions, long seed) {
+        this(dimensions, true, seed);
+    }
+
+    private HaltonSequence(int dimensions, boolean scrambled, long seed) {
+        if (dimensions < 1) {
+            throw new IllegalArgumentException("Out of range with " + dimensions);
+        }
+        this.dimensions = dimensions;
+        this.bases = firstPrimes(dimensions);
+        this.permutations = scrambled ? digitPermutations(bases, new SplittableRandom(seed)) : null;
+    }
+
+    /**
+     * @return ThreadLocalRandom에서 뽑은 seed로 섞은 Halton 수열
+     */
+    public static HaltonSequence scrambled(int dimensions) {
+        return new HaltonSequence(dimensions, ThreadLocalRandom.current().nextLong());
+    }
+
+    private static int[] firstPrimes(int count) {
+        int[] primes = new int[count];
+        int found = 0;
+        for (int candidate = 2; found < count; candidate++) {
+            boolean prime = true;
+            for (int i = 0; i < found && primes[i] * primes[i] <= candidate; i++) {
+                if (candidate % primes[i] == 0) {
+                    prime = false;
+                    break;
+                }
+            }
+            if (prime) {
+                primes[found++] = candidate;
+            }
+        }
+        return primes;
+    }
+
+    // 0은 0으로 두어야 점 번호 뒤쪽의 끝없는 0 자릿수가 값을 바꾸지 않습니다.
+    private static int[][] digitPermutations(int[] bases, SplittableRandom random) {
+        int[][] permutations = new int[bases.length][];
+        for (int d = 0; d < bases.length; d++) {
+            int[] permutation = new int[bases[d]];
+            for (int digit = 0; digit < permutation.length; digit++) {
+                permutation[digit] = digit;
+            }
+            for (int i = permutation.length - 1; i > 1; i--) {
+                int j = 1 + random.nextInt(i);
+                int digit = permutation[i];
+                permutation[i] = permutation[j];
+                permutation[j] = digit;
+            }
+            permutations[d] = permutation;
+        }
+        return permutations;
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public long index() {
+        return index;
+    }
+
+    @Override
+    public void next(double[] point) {
+        write(point, 0);
+        index++;
+    }
+
+    @Override
+    public void fill(double[] points, int count) {
+        if (count < 0 || points.length / dimensions < count) {
+            throw new IllegalArgumentException("Out of range with " + count);
+        }
+        for (int i = 0; i < count; i++) {
+            write(points, i * dimensions);
+            index++;
+        }
+    }
+
+    /**
+     * 점은 번호만으로 바로 구할 수 있으므로 건너뛰기는 번호를 옮기는 것으로 끝납니다.
+     */
+    @Override
+    public void skip(long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Out of range with " + count);
+        }
+        index += count;
+    }
+
+    private void write(double[] points, int offset) {
+        for (int d = 0; d < dimensions; d++) {
+            points[offset + d] = radicalInverse(d);
+        }
+    }
+
+    private double radicalInverse(int dimension) {
+        int base = bases[dimension];
+        int[] permutation = permutations == null ? null : permutations[dimension];
+        double inverseBase = 1.0 / base;
+        double factor = inverseBase;
+        double value = 0;
+        for (long n = index; n > 0; n /= base) {
+            int digit = (int) (n % base);
+            value += (permutation == null ? digit : permutation[digit]) * factor;
+            factor *= inverseBase;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,19 @@
+package com.tip.functional;
+
+final class Hashing {
+    private Hashing() {
+    }
+
+    /**
+     * MurmurHash3의 64비트 finalizer로 long 값의 비트를 고르게 섞습니다.
+     * 연속된 정수처럼 하위 비트만 다른 키도 해시 테이블과 Bloom filter에 고르게 흩어지게 합니다.
+     */
+    static long mix64(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
@@ -0,0 +1,16 @@
+package com.tip.functional;
+
+/**
+ * 표본을 복사하지 않고 표본의 번호들로 통계량을 계산하는 함수입니다.
+ * {@link Bootstrap}은 재표본을 배열로 복사하지 않고 뽑힌 번호만 indices에 담아 넘깁니다.
+ * 같은 번호가 여러 번 들어 있을 수 있고, 잭나이프 계산에서는 length가 표본 크기보다 작습니다.
+ */
+@FunctionalInterface
+public interface IndexedStatistic {
+    /**
+     * @param indices 표본 번호들. 앞에서부터 length개만 씁니다.
+     * @param length  쓸 번호의 개수
+     * @return 통계량
+     */
+    double evaluate(int[] indices, int length);
+}
@@ -0,0 +1,10 @@
+package com.tip.functional;
+
+import java.util.PrimitiveIterator;
+
+/**
+ * long 값을 boxing 없이 {@link #nextLong()}으로 꺼낼 수 있는 InfiniteIterator입니다.
+ * next()는 nextLong()의 값을 Long으로 감싸 반환하므로 기존 Iterators 연산에도 그대로 넘길 수 있습니다.
+ */
+public interface InfiniteLongIterator extends InfiniteIterator<Long>, PrimitiveIterator.OfLong {
+}
@@ -1,17 +1,31 @@
 package com.tip.functional;
 
 import com.tip.functional.customexception.IllegalNullArgumentException;
+import com.tip.functional.customexception.InvalidWindowSizeException;
 import com.tip.functional.customexception.IteratorMaxSizeNegativeException;
 import com.tip.functional.customexception.UnsupportedInfiniteIteratorException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
 import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.function.UnaryOperator;
 
 public class Iterators {
@@ -97,6 +111,314 @@ public class Iterators {
         return result;
     }
 
+    /**
+     * 예산 안에서 Iterator를 축소(reduce)합니다. InfiniteIterator도 받으며, 예산이 다하면 그때까지의 결과를 돌려줍니다.
+     * 예산은 원소 {@link Budget#checkInterval()}개마다 확인합니다.
+     *
+     * @param budget 벽시계 시간, CPU 시간, 취소 표시 가운데 하나라도 다하면 멈추는 예산
+     * @return 축소 결과와 소비한 원소 수, 멈춘 까닭
+     * @throws IllegalNullArgumentException es, biFunction, init 또는 budget이 null인 경우 발생
+     * @see AnytimeResult
+     */
+    public static <E, R> AnytimeResult<R> reduce(Iterator<E> es, BiFunction<R, E, R> biFunction, R init,
+                                                 Budget budget) {
+        return reduce(es, biFunction, init, result -> false, budget);
+    }
+
+    /**
+     * 예산 안에서 stopCondition이 참이 될 때까지 Iterator를 축소(reduce)합니다.
+     * {@link #reduce(InfiniteIterator, BiFunction, Object, Predicate)}와 달리 조건이 끝내 참이 되지 않아도 예산이 다하면 멈춥니다.
+     *
+     * @throws IllegalNullArgumentException es, biFunction, init, stopCondition 또는 budget이 null인 경우 발생
+     */
+    public static <E, R> AnytimeResult<R> reduce(Iterator<E> es, BiFunction<R, E, R> biFunction, R init,
+                                                 Predicate<R> stopCondition, Budget budget) {
+        nullCheckValidation("reduce", es, "Iterator<E> es", biFunction, "BiFunction<R, E, R> biFunction", init,
+                "R init");
+        nullCheckValidation("reduce", stopCondition, "Predicate<R> stopCondition", budget, "Budget budget");
+        Budget.Meter meter = budget.start();
+        R result = init;
+        long consumed = 0;
+        int untilCheck = meter.checkInterval();
+        AnytimeResult.StopReason reason = meter.exceeded();
+        while (reason == null) {
+            if (!es.hasNext()) {
+                reason = AnytimeResult.StopReason.EXHAUSTED;
+                break;
+            }
+            result = biFunction.apply(result, es.next());
+            consumed++;
+            if (stopCondition.test(result)) {
+                reason = AnytimeResult.StopReason.STOP_CONDITION;
+            } else if (--untilCheck == 0) {
+                untilCheck = meter.checkInterval();
+                reason = meter.exceeded();
+            }
+        }
+        return new AnytimeResult<>(result, consumed, reason, meter.elapsedNanos());
+    }
+
+    /**
+     * 예산 안에서 Iterator 값들의 평균을 어림잡습니다. "50ms 안의 가장 좋은 어림값"처럼 지연 시간이 정해진 곳에 씁니다.
+     * 합계는 boxing 없이 double로 누적하며, 원소를 하나도 소비하지 못했으면 평균은 NaN입니다.
+     *
+     * @throws IllegalNullArgumentException iterator나 budget이 null인 경우 발생
+     */
+    public static <T extends Number> AnytimeResult<Double> mean(Iterator<T> iterator, Budget budget) {
+        nullCheckValidation("mean", iterator, "Iterator<T> iterator", budget, "Budget budget");
+        PrimitiveIterator.OfDouble doubles = iterator instanceof PrimitiveIterator.OfDouble
+                ? (PrimitiveIterator.OfDouble) iterator : null;
+        Budget.Meter meter = budget.start();
+        double sum = 0;
+        long consumed = 0;
+        int untilCheck = meter.checkInterval();
+        AnytimeResult.StopReason reason = meter.exceeded();
+        while (reason == null) {
+            if (!iterator.hasNext()) {
+                reason = AnytimeResult.StopReason.EXHAUSTED;
+                break;
+            }
+            sum += doubles != null ? doubles.nextDouble() : iterator.next().doubleValue();
+            consumed++;
+            if (--untilCheck == 0) {
+                untilCheck = meter.checkInterval();
+                reason = meter.exceeded();
+            }
+        }
+        return new AnytimeResult<>(consumed > 0 ? sum / consumed : Double.NaN, consumed, reason,
+                meter.elapsedNanos());
+    }
+
+    /**
+     * Iterable을 여러 구간으로 나누어 ForkJoinPool에서 병렬로 축소(reduce)합니다.
+     * 각 구간은 identity에서 시작하여 accumulator로 순차적으로 축소하고, 구간들의 결과는 combiner로 합칩니다.
+     * Range와 RandomAccess List만 인덱스로 나눌 수 있으며, 그 밖의 Iterable은 순차 reduce로 처리합니다.
+     * 순차 reduce와 같은 결과를 얻으려면 combiner는 결합 법칙을 만족하고 identity는 combiner의 항등원이어야 합니다.
+     *
+     * @param <E>         Iterable의 요소 타입
+     * @param <R>         reduce 결과의 타입
+     * @param es          Iterable의 요소들
+     * @param identity    각 구간의 초기 값이자 combiner의 항등원
+     * @param accumulator 구간의 축소된 결과와 현재 요소를 받아 새로운 결과를 생성하는 함수
+     * @param combiner    두 구간의 결과를 합치는 함수
+     * @return Iterable의 모든 요소를 처리한 최종 결과값
+     * @throws IllegalNullArgumentException es, identity, accumulator 또는 combiner가 null인 경우 발생
+     */
+    public static <E, R> R parallelReduce(Iterable<E> es, R identity, BiFunction<R, E, R> accumulator,
+                                          BinaryOperator<R> combiner) {
+        nullCheckValidation("parallelReduce", es, "Iterable<E> es", identity, "R identity", accumulator,
+                "BiFunction<R, E, R> accumulator", combiner, "BinaryOperator<R> combiner");
+        LongFunction<E> elementAt = indexer(es);
+        if (elementAt == null) {
+            return reduce(es, accumulator, identity);
+        }
+        long size = sizeOf(es);
+        long leafSize = leafSize(size);
+        ReduceTask<E, R> task = new ReduceTask<>(elementAt, 0, size, leafSize, identity, accumulator, combiner);
+        return size <= leafSize ? task.compute() : ForkJoinPool.commonPool().invoke(task);
+    }
+
+    /**
+     * Iterable의 각 요소를 double로 바꾸어 Neumaier 보정 합으로 더합니다.
+     * Range와 RandomAccess List는 구간으로 나누어 병렬로 더하고, 구간 합은 보정값과 함께 짝지어(pairwise) 합치므로
+     * 병렬 합도 순차 합만큼 정확합니다.
+     *
+     * @param <E>    Iterable의 요소 타입
+     * @param es     Iterable의 요소들
+     * @param mapper 각 요소를 double로 바꾸는 함수
+     * @return 모든 요소의 합
+     * @throws IllegalNullArgumentException es 또는 mapper가 null인 경우 발생
+     */
+    public static <E> double parallelSum(Iterable<E> es, ToDoubleFunction<E> mapper) {
+        nullCheckValidation("parallelSum", es, "Iterable<E> es", mapper, "ToDoubleFunction<E> mapper");
+        LongFunction<E> elementAt = indexer(es);
+        if (elementAt == null) {
+            CompensatedSum sum = new CompensatedSum();
+            for (E e : es) {
+                sum.add(mapper.applyAsDouble(e));
+            }
+            return sum.value();
+        }
+        long size = sizeOf(es);
+        long leafSize = leafSize(size);
+        SumTask<E> task = new SumTask<>(elementAt, 0, size, leafSize, mapper);
+        return (size <= leafSize ? task.compute() : ForkJoinPool.commonPool().invoke(task)).value();
+    }
+
+    private static final int MIN_LEAF_SIZE = 1 << 12;
+
+    //private으로 선언해서 nullcheck 불필요. 인덱스로 나눌 수 없는 Iterable이면 null을 반환합니다.
+    @SuppressWarnings("unchecked")
+    private static <E> LongFunction<E> indexer(Iterable<E> es) {
+        if (es instanceof Range) {
+            long min = ((Range) es).min();
+            return index -> (E) Long.valueOf(min + index);
+        }
+        if (es instanceof List && es instanceof RandomAccess) {
+            List<E> list = (List<E>) es;
+            return index -> list.get((int) index);
+        }
+        return null;
+    }
+
+    private static long sizeOf(Iterable<?> es) {
+        return es instanceof Range ? ((Range) es).size() : ((List<?>) es).size();
+    }
+
+    // 작업 개수가 병렬 수준의 몇 배 정도가 되도록 구간 크기를 정합니다.
+    // 전체가 구간 하나에 들어가면 풀에 넘기는 비용이 더 크므로 호출한 스레드에서 바로 처리합니다.
+    private static long leafSize(long size) {
+        return Math.max(MIN_LEAF_SIZE, size / (ForkJoinPool.getCommonPoolParallelism() * 8L));
+    }
+
+    private static final class ReduceTask<E, R> extends RecursiveTask<R> {
+        private final LongFunction<E> elementAt;
+        private final long from;
+        private final long to;
+        private final long leafSize;
+        private final R identity;
+        private final BiFunction<R, E, R> accumulator;
+        private final BinaryOperator<R> combiner;
+
+        ReduceTask(LongFunction<E> elementAt, long from, long to, long leafSize, R identity,
+                   BiFunction<R, E, R> accumulator, BinaryOperator<R> combiner) {
+            this.elementAt = elementAt;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+            this.identity = identity;
+            this.accumulator = accumulator;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= leafSize) {
+                R result = identity;
+                for (long i = from; i < to; i++) {
+                    result = accumulator.apply(result, elementAt.apply(i));
+                }
+                return result;
+            }
+            long middle = from + (to - from) / 2;
+            ReduceTask<E, R> left = new ReduceTask<>(elementAt, from, middle, leafSize, identity, accumulator, combiner);
+            left.fork();
+            R right = new ReduceTask<>(elementAt, middle, to, leafSize, identity, accumulator, combiner).compute();
+            return combiner.apply(left.join(), right);
+        }
+    }
+
+    private static final class SumTask<E> extends RecursiveTask<CompensatedSum> {
+        private final LongFunction<E> elementAt;
+        private final long from;
+        private final long to;
+        private final long leafSize;
+        private final ToDoubleFunction<E> mapper;
+
+        SumTask(LongFunction<E> elementAt, long from, long to, long leafSize, ToDoubleFunction<E> mapper) {
+            this.elementAt = elementAt;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+            this.mapper = mapper;
+        }
+
+        @Override
+        protected CompensatedSum compute() {
+            if (to - from <= leafSize) {
+                CompensatedSum sum = new CompensatedSum();
+                for (long i = from; i < to; i++) {
+                    sum.add(mapper.applyAsDouble(elementAt.apply(i)));
+                }
+                return sum;
+            }
+            long middle = from + (to - from) / 2;
+            SumTask<E> left = new SumTask<>(elementAt, from, middle, leafSize, mapper);
+            left.fork();
+            CompensatedSum right = new SumTask<>(elementAt, middle, to, leafSize, mapper).compute();
+            return left.join().add(right);
+        }
+    }
+
+    /**
+     * Iterator의 요소를 enum key로 묶어 그룹별 계수, 합계, 평균, 분산을 한 번의 순회로 구합니다.
+     * key의 ordinal을 배열 인덱스로 쓰기 때문에 요소 하나당 배열 인덱싱 한 번으로 누적합니다.
+     *
+     * @param <T>      Iterator의 요소 타입
+     * @param <K>      key로 쓸 enum 타입
+     * @param iterator 그룹으로 묶을 요소들을 포함하고 있는 Iterator
+     * @param enumType key로 쓸 enum 타입
+     * @param key      요소가 속한 그룹의 key를 구하는 함수
+     * @param value    요소에서 집계할 값을 구하는 함수
+     * @return 그룹별 집계 결과
+     * @throws IllegalNullArgumentException         iterator, enumType, key 또는 value가 null인 경우 발생
+     * @throws UnsupportedInfiniteIteratorException 무한 반복자(InfiniteIterator)가 입력으로 제공되는 경우 발생
+     */
+    public static <T, K extends Enum<K>> GroupedStatistics<K> groupBy(Iterator<T> iterator, Class<K> enumType,
+                                                                     Function<? super T, K> key,
+                                                                     ToDoubleFunction<? super T> value) {
+        nullCheckValidation("groupBy", iterator, "Iterator<T> iterator", enumType, "Class<K> enumType", key,
+                "Function<? super T, K> key", value, "ToDoubleFunction<? super T> value");
+        finiteCheckValidation("groupBy", iterator);
+        GroupedStatistics<K> statistics = GroupedStatistics.byEnum(enumType);
+        while (iterator.hasNext()) {
+            T e = iterator.next();
+            statistics.add(key.apply(e), value.applyAsDouble(e));
+        }
+        return statistics;
+    }
+
+    /**
+     * Iterator의 요소를 int key로 묶어 그룹별 계수, 합계, 평균, 분산을 한 번의 순회로 구합니다.
+     * 0 이상의 작은 key는 boxing 없이 배열 인덱스로 바로 쓰고, 음수나 큰 key는 해시 맵으로 찾습니다.
+     *
+     * @param <T>      Iterator의 요소 타입
+     * @param iterator 그룹으로 묶을 요소들을 포함하고 있는 Iterator
+     * @param key      요소가 속한 그룹의 int key를 구하는 함수
+     * @param value    요소에서 집계할 값을 구하는 함수
+     * @return 그룹별 집계 결과
+     * @throws IllegalNullArgumentException         iterator, key 또는 value가 null인 경우 발생
+     * @throws UnsupportedInfiniteIteratorException 무한 반복자(InfiniteIterator)가 입력으로 제공되는 경우 발생
+     */
+    public static <T> GroupedStatistics<Integer> groupByInt(Iterator<T> iterator, ToIntFunction<? super T> key,
+                                                            ToDoubleFunction<? super T> value) {
+        nullCheckValidation("groupByInt", iterator, "Iterator<T> iterator", key, "ToIntFunction<? super T> key",
+                value, "ToDoubleFunction<? super T> value");
+        finiteCheckValidation("groupByInt", iterator);
+        GroupedStatistics<Integer> statistics = GroupedStatistics.byInt();
+        while (iterator.hasNext()) {
+            T e = iterator.next();
+            statistics.addInt(key.applyAsInt(e), value.applyAsDouble(e));
+        }
+        return statistics;
+    }
+
+    /**
+     * Iterator의 요소를 key로 묶어 그룹별 계수, 합계, 평균, 분산을 한 번의 순회로 구합니다.
+     * key는 해시 맵으로 찾고 누적값은 primitive 배열에 모읍니다.
+     *
+     * @param <T>      Iterator의 요소 타입
+     * @param <K>      key의 타입
+     * @param iterator 그룹으로 묶을 요소들을 포함하고 있는 Iterator
+     * @param key      요소가 속한 그룹의 key를 구하는 함수
+     * @param value    요소에서 집계할 값을 구하는 함수
+     * @return 그룹별 집계 결과
+     * @throws IllegalNullArgumentException         iterator, key 또는 value가 null인 경우 발생
+     * @throws UnsupportedInfiniteIteratorException 무한 반복자(InfiniteIterator)가 입력으로 제공되는 경우 발생
+     */
+    public static <T, K> GroupedStatistics<K> groupBy(Iterator<T> iterator, Function<? super T, K> key,
+                                                      ToDoubleFunction<? super T> value) {
+        nullCheckValidation("groupBy", iterator, "Iterator<T> iterator", key, "Function<? super T, K> key", value,
+                "ToDoubleFunction<? super T> value");
+        finiteCheckValidation("groupBy", iterator);
+        GroupedStatistics<K> statistics = GroupedStatistics.byHash();
+        while (iterator.hasNext()) {
+            T e = iterator.next();
+            statistics.add(key.apply(e), value.applyAsDouble(e));
+        }
+        return statistics;
+    }
+
     /**
      * 두 Iterator 객체를 비교하여 동일한 요소와 순서를 가지고 있는지 확인합니다.
      *
@@ -238,6 +560,76 @@ public class Iterators {
         return null;
     }
 
+    /**
+     * Iterator에서 key가 처음 나온 요소만 남기고 중복을 제거한 Iterator를 반환합니다.
+     * 본 적 있는 key는 primitive long 배열 하나로 된 open addressing 해시 집합({@link LongHashSet})에 저장하므로 boxing하지 않습니다.
+     * 서로 다른 key의 개수만큼 메모리가 늘어나므로 InfiniteIterator에는
+     * {@link #distinct(Iterator, ToLongFunction, long, double)}를 쓰세요.
+     *
+     * @param iterator 중복을 제거할 요소들을 포함하고 있는 원본 Iterator
+     * @param key      요소의 중복 여부를 판단할 long key를 구하는 함수
+     * @param <T>      Iterator에 포함된 요소의 타입
+     * @return key가 처음 나온 요소만 포함하는 Iterator
+     * @throws IllegalNullArgumentException iterator 또는 key가 null인 경우 발생
+     */
+    public static <T> Iterator<T> distinct(Iterator<T> iterator, ToLongFunction<? super T> key) {
+        nullCheckValidation("distinct", iterator, "Iterator<T> iterator", key, "ToLongFunction<? super T> key");
+        LongHashSet seen = new LongHashSet();
+        return filter(iterator, e -> seen.add(key.applyAsLong(e)));
+    }
+
+    /**
+     * int key로 중복을 제거합니다. {@link #distinct(Iterator, ToLongFunction)}와 같습니다.
+     *
+     * @param iterator 중복을 제거할 요소들을 포함하고 있는 원본 Iterator
+     * @param key      요소의 중복 여부를 판단할 int key를 구하는 함수
+     * @param <T>      Iterator에 포함된 요소의 타입
+     * @return key가 처음 나온 요소만 포함하는 Iterator
+     * @throws IllegalNullArgumentException iterator 또는 key가 null인 경우 발생
+     */
+    public static <T> Iterator<T> distinctByInt(Iterator<T> iterator, ToIntFunction<? super T> key) {
+        nullCheckValidation("distinctByInt", iterator, "Iterator<T> iterator", key, "ToIntFunction<? super T> key");
+        return distinct(iterator, e -> key.applyAsInt(e));
+    }
+
+    /**
+     * double key로 중복을 제거합니다. key는 {@link Double#equals(Object)}와 같은 기준으로 비교합니다.
+     * (0.0과 -0.0은 서로 다르고, NaN은 NaN과 같습니다.)
+     *
+     * @param iterator 중복을 제거할 요소들을 포함하고 있는 원본 Iterator
+     * @param key      요소의 중복 여부를 판단할 double key를 구하는 함수
+     * @param <T>      Iterator에 포함된 요소의 타입
+     * @return key가 처음 나온 요소만 포함하는 Iterator
+     * @throws IllegalNullArgumentException iterator 또는 key가 null인 경우 발생
+     */
+    public static <T> Iterator<T> distinctByDouble(Iterator<T> iterator, ToDoubleFunction<? super T> key) {
+        nullCheckValidation("distinctByDouble", iterator, "Iterator<T> iterator", key,
+                "ToDoubleFunction<? super T> key");
+        return distinct(iterator, e -> Double.doubleToLongBits(key.applyAsDouble(e)));
+    }
+
+    /**
+     * 고정된 크기의 {@link BloomFilter}로 중복을 어림잡아 제거한 Iterator를 반환합니다.
+     * 메모리가 expectedInsertions와 falsePositiveRate로 정해지므로 InfiniteIterator에도 쓸 수 있습니다.
+     * 중복된 요소는 절대 반환하지 않지만, 처음 나온 요소를 falsePositiveRate 정도의 확률로 중복으로 잘못 판단하여 건너뛸 수 있습니다.
+     * 서로 다른 key가 expectedInsertions보다 많아지면 건너뛰는 비율이 점점 높아집니다.
+     *
+     * @param iterator           중복을 제거할 요소들을 포함하고 있는 원본 Iterator
+     * @param key                요소의 중복 여부를 판단할 long key를 구하는 함수
+     * @param expectedInsertions 예상하는 서로 다른 key의 개수
+     * @param falsePositiveRate  처음 나온 요소를 잘못 건너뛸 확률 (0과 1 사이)
+     * @param <T>                Iterator에 포함된 요소의 타입
+     * @return key가 처음 나온 것으로 판단된 요소만 포함하는 Iterator
+     * @throws IllegalNullArgumentException iterator 또는 key가 null인 경우 발생
+     * @throws IllegalArgumentException     expectedInsertions가 0 이하이거나 falsePositiveRate가 (0, 1) 범위를 벗어난 경우 발생
+     */
+    public static <T> Iterator<T> distinct(Iterator<T> iterator, ToLongFunction<? super T> key,
+                                           long expectedInsertions, double falsePositiveRate) {
+        nullCheckValidation("distinct", iterator, "Iterator<T> iterator", key, "ToLongFunction<? super T> key");
+        BloomFilter seen = new BloomFilter(expectedInsertions, falsePositiveRate);
+        return filter(iterator, e -> seen.put(key.applyAsLong(e)));
+    }
+
     /**
      * 초기 요소(seed)와 UnaryOperator를 사용하여 무한 Iterator를 생성합니다.
      * 이 Iterator는 'next' 메서드를 호출할 때마다 UnaryOperator를 현재 요소에 적용하여 다음 요소를 생성합니다.
@@ -323,6 +715,40 @@ public class Iterators {
         };
     }
 
+    /**
+     * Iterator의 요소를 그대로 반환하면서 next()가 불릴 때마다 meter에 하나씩 세는 Iterator를 반환합니다.
+     *
+     * @param <T>      Iterator에 포함된 요소의 타입
+     * @param iterator 계측할 원본 Iterator
+     * @param meter    지나간 요소의 개수를 셀 Meter
+     * @return 원본 Iterator의 요소를 그대로 반환하는 Iterator
+     * @throws IllegalNullArgumentException iterator 또는 meter가 null인 경우 발생
+     */
+    public static <T> Iterator<T> meter(Iterator<T> iterator, Meter meter) {
+        nullCheckValidation("meter", iterator, "Iterator<T> iterator", meter, "Meter meter");
+        if (iterator instanceof InfiniteIterator) {
+            return new InfiniteIterator<T>() {
+                @Override
+                public T next() {
+                    T value = iterator.next();
+                    meter.mark();
+                    return value;
+                }
+            };
+        }
+        return new Iterator<T>() {
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            public T next() {
+                T value = iterator.next();
+                meter.mark();
+                return value;
+            }
+        };
+    }
+
     /**
      * 두 Iterator의 각 요소를 결합하여 새로운 값을 생성하는 Iterator를 반환합니다.
      * 이 Iterator는 각각의 xIterator와 yIterator에서 요소를 하나씩 가져와서,
@@ -356,6 +782,355 @@ public class Iterators {
         };
     }
 
+    /**
+     * 여러 Iterator에서 요소를 하나씩 꺼내 인자 배열에 담고, function을 적용하여 새로운 값을 생성하는 Iterator를 반환합니다.
+     * zip을 겹쳐 쓰면 단계마다 중간 객체가 생기지만, zipN은 인자 배열 하나를 계속 재사용하므로 요소마다 새로 할당하지 않습니다.
+     * 배열은 다음 next() 호출에서 덮어쓰이므로 function은 배열을 보관하지 말아야 합니다.
+     *
+     * @param <R>       결과 Iterator의 요소 타입
+     * @param function  i번째 칸에 i번째 Iterator의 요소가 담긴 배열을 받아 새로운 요소를 생성하는 함수
+     * @param iterators 결합할 Iterator들
+     * @return 모든 Iterator의 요소를 결합하여 생성된 요소를 포함하는 Iterator. 가장 짧은 Iterator가 끝나면 끝납니다.
+     * @throws IllegalNullArgumentException function, iterators 또는 iterators의 요소가 null인 경우 발생
+     * @throws NoSuchElementException       Iterator 중 하나가 더 이상 요소를 가지고 있지 않을 때 발생
+     */
+    public static <R> Iterator<R> zipN(Function<Object[], R> function, Iterator<?>... iterators) {
+        nullCheckValidation("zipN", function, "Function<Object[], R> function");
+        iteratorsNullCheckValidation("zipN", iterators);
+        return new Iterator<R>() {
+            private final Object[] arguments = new Object[iterators.length];
+
+            public boolean hasNext() {
+                return hasAllNext(iterators);
+            }
+
+            public R next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("zipN");
+                }
+                for (int i = 0; i < iterators.length; i++) {
+                    arguments[i] = iterators[i].next();
+                }
+                return function.apply(arguments);
+            }
+        };
+    }
+
+    /**
+     * 여러 숫자 Iterator에서 요소를 하나씩 꺼내 double 배열에 담고, function을 적용하여 새로운 값을 생성하는 Iterator를 반환합니다.
+     * {@link #zipN(Function, Iterator[])}와 같지만 primitive double 배열 하나를 재사용합니다.
+     *
+     * @param <R>       결과 Iterator의 요소 타입
+     * @param function  i번째 칸에 i번째 Iterator의 값이 담긴 배열을 받아 새로운 요소를 생성하는 함수
+     * @param iterators 결합할 숫자 Iterator들
+     * @return 모든 Iterator의 값을 결합하여 생성된 요소를 포함하는 Iterator. 가장 짧은 Iterator가 끝나면 끝납니다.
+     * @throws IllegalNullArgumentException function, iterators 또는 iterators의 요소가 null인 경우 발생
+     * @throws NoSuchElementException       Iterator 중 하나가 더 이상 요소를 가지고 있지 않을 때 발생
+     */
+    @SafeVarargs
+    public static <R> Iterator<R> zipNDoubles(Function<double[], R> function,
+                                              Iterator<? extends Number>... iterators) {
+        nullCheckValidation("zipNDoubles", function, "Function<double[], R> function");
+        iteratorsNullCheckValidation("zipNDoubles", iterators);
+        return new Iterator<R>() {
+            private final double[] arguments = new double[iterators.length];
+
+            public boolean hasNext() {
+                return hasAllNext(iterators);
+            }
+
+            public R next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("zipNDoubles");
+                }
+                for (int i = 0; i < iterators.length; i++) {
+                    arguments[i] = iterators[i].next().doubleValue();
+                }
+                return function.apply(arguments);
+            }
+        };
+    }
+
+    private static boolean hasAllNext(Iterator<?>[] iterators) {
+        for (Iterator<?> iterator : iterators) {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 각각 comparator 순서로 정렬된 여러 Iterator를 하나의 정렬된 Iterator로 합칩니다. (k-way merge)
+     * 각 Iterator의 맨 앞 요소를 이진 힙에 두고 가장 작은 요소를 꺼낼 때마다 그 Iterator의 다음 요소로 바꿔 넣기 때문에
+     * Iterator가 k개일 때 요소 하나당 O(log k)에 처리하며 요소마다 새 객체를 할당하지 않습니다.
+     * 타임스탬프 순서로 들어오는 여러 센서 스트림을 시간 순서대로 합치는 데 쓸 수 있습니다.
+     * comparator가 같다고 판단한 요소들의 순서는 보장하지 않습니다.
+     *
+     * @param <T>        요소의 타입
+     * @param comparator 요소의 순서를 정하는 Comparator
+     * @param iterators  각각 정렬되어 있는 Iterator들
+     * @return 모든 Iterator의 요소를 comparator 순서로 반환하는 Iterator
+     * @throws IllegalNullArgumentException comparator, iterators 또는 iterators의 요소가 null인 경우 발생
+     * @throws NoSuchElementException       더 이상 요소가 없을 때 next()를 호출하면 발생
+     */
+    @SafeVarargs
+    public static <T> Iterator<T> merge(Comparator<? super T> comparator, Iterator<? extends T>... iterators) {
+        nullCheckValidation("merge", comparator, "Comparator<? super T> comparator");
+        iteratorsNullCheckValidation("merge", iterators);
+        return new Iterator<T>() {
+            // heap에는 아직 요소가 남은 Iterator의 번호가, heads에는 각 Iterator의 맨 앞 요소가 들어 있습니다.
+            private final Object[] heads = new Object[iterators.length];
+            private final int[] heap = new int[iterators.length];
+            private int size;
+
+            {
+                for (int i = 0; i < iterators.length; i++) {
+                    if (iterators[i].hasNext()) {
+                        heads[i] = iterators[i].next();
+                        heap[size++] = i;
+                    }
+                }
+                for (int i = size / 2 - 1; i >= 0; i--) {
+                    siftDown(i);
+                }
+            }
+
+            public boolean hasNext() {
+                return size > 0;
+            }
+
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (size == 0) {
+                    throw new NoSuchElementException("merge");
+                }
+                int top = heap[0];
+                T current = (T) heads[top];
+                if (iterators[top].hasNext()) {
+                    heads[top] = iterators[top].next();
+                } else {
+                    heads[top] = null;
+                    heap[0] = heap[--size];
+                }
+                siftDown(0);
+                return current;
+            }
+
+            @SuppressWarnings("unchecked")
+            private boolean less(int x, int y) {
+                return comparator.compare((T) heads[x], (T) heads[y]) < 0;
+            }
+
+            private void siftDown(int index) {
+                int moving = heap[index];
+                while (true) {
+                    int child = 2 * index + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                        child++;
+                    }
+                    if (!less(heap[child], moving)) {
+                        break;
+                    }
+                    heap[index] = heap[child];
+                    index = child;
+                }
+                heap[index] = moving;
+            }
+        };
+    }
+
+    /**
+     * Iterator의 값들을 size개씩 묶은 윈도를 slide개마다 밀면서 각 윈도의 통계를 반환하는 Iterator를 생성합니다.
+     * 윈도에 값이 들어오고 나갈 때마다 합계, 평균, 분산, 최솟값, 최댓값을 O(1)에 갱신하므로 윈도를 다시 훑지 않습니다.
+     * 첫 번째 통계는 size개의 값이 모였을 때 나오며, 원본 Iterator가 끝나면 다 차지 않은 윈도는 반환하지 않습니다.
+     *
+     * @param <T>      Iterator에 포함된 요소의 타입
+     * @param iterator 통계를 낼 값들을 포함하고 있는 원본 Iterator
+     * @param size     윈도에 담을 값의 개수
+     * @param slide    윈도를 한 번에 밀 값의 개수. size보다 크면 그 사이의 값은 어느 윈도에도 들어가지 않습니다.
+     * @return 윈도를 밀 때마다 그 윈도의 통계를 반환하는 Iterator
+     * @throws IllegalNullArgumentException iterator가 null인 경우 발생
+     * @throws InvalidWindowSizeException   size 또는 slide가 0 이하인 경우 발생
+     */
+    public static <T extends Number> Iterator<WindowStatistics> slidingWindow(Iterator<T> iterator, int size,
+                                                                              int slide) {
+        nullCheckValidation("slidingWindow", iterator, "Iterator<T> iterator");
+        if (size <= 0 || slide <= 0) {
+            throw new InvalidWindowSizeException(
+                    "slidingWindow: size와 slide는 양수여야 합니다. size: " + size + ", slide: " + slide);
+        }
+        return new Iterator<WindowStatistics>() {
+            private final SlidingAggregator window = new SlidingAggregator(size);
+            private int untilNextWindow = size;
+            private WindowStatistics next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && iterator.hasNext()) {
+                    if (window.size() == size) {
+                        window.removeOldest();
+                    }
+                    window.add(iterator.next().doubleValue(), 0L);
+                    if (--untilNextWindow == 0) {
+                        next = window.snapshot();
+                        untilNextWindow = slide;
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public WindowStatistics next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("slidingWindow");
+                }
+                WindowStatistics current = next;
+                next = null;
+                return current;
+            }
+        };
+    }
+
+    /**
+     * Iterator의 값들을 겹치지 않게 size개씩 묶은 윈도의 통계를 반환하는 Iterator를 생성합니다.
+     *
+     * @param <T>      Iterator에 포함된 요소의 타입
+     * @param iterator 통계를 낼 값들을 포함하고 있는 원본 Iterator
+     * @param size     윈도에 담을 값의 개수
+     * @return size개의 값마다 그 윈도의 통계를 반환하는 Iterator
+     * @throws IllegalNullArgumentException iterator가 null인 경우 발생
+     * @throws InvalidWindowSizeException   size가 0 이하인 경우 발생
+     */
+    public static <T extends Number> Iterator<WindowStatistics> tumblingWindow(Iterator<T> iterator, int size) {
+        return slidingWindow(iterator, size, size);
+    }
+
+    /**
+     * 최근 windowNanos 나노초 동안 들어온 값들의 통계를 slideNanos 나노초마다 반환하는 Iterator를 생성합니다.
+     * 각 값은 원본 Iterator에서 꺼낸 시각({@link System#nanoTime()})으로 기록됩니다.
+     *
+     * @param <T>         Iterator에 포함된 요소의 타입
+     * @param iterator    통계를 낼 값들을 포함하고 있는 원본 Iterator
+     * @param windowNanos 윈도의 길이(나노초)
+     * @param slideNanos  통계를 내는 간격(나노초)
+     * @return slideNanos마다 최근 windowNanos 동안의 통계를 반환하는 Iterator
+     * @throws IllegalNullArgumentException iterator가 null인 경우 발생
+     * @throws InvalidWindowSizeException   windowNanos 또는 slideNanos가 0 이하인 경우 발생
+     */
+    public static <T extends Number> Iterator<WindowStatistics> timeWindow(Iterator<T> iterator, long windowNanos,
+                                                                           long slideNanos) {
+        return timeWindow(iterator, windowNanos, slideNanos, System::nanoTime);
+    }
+
+    /**
+     * 주어진 clock으로 시각을 재면서 최근 windowNanos 동안 들어온 값들의 통계를 slideNanos마다 반환하는 Iterator를 생성합니다.
+     * 원본 Iterator가 끝나면 마지막 통계 이후에 들어온 값이 있을 경우 한 번 더 통계를 반환합니다.
+     *
+     * @param <T>         Iterator에 포함된 요소의 타입
+     * @param iterator    통계를 낼 값들을 포함하고 있는 원본 Iterator
+     * @param windowNanos 윈도의 길이(나노초)
+     * @param slideNanos  통계를 내는 간격(나노초)
+     * @param clock       나노초 단위의 현재 시각을 제공하는 함수
+     * @return slideNanos마다 최근 windowNanos 동안의 통계를 반환하는 Iterator
+     * @throws IllegalNullArgumentException iterator 또는 clock이 null인 경우 발생
+     * @throws InvalidWindowSizeException   windowNanos 또는 slideNanos가 0 이하인 경우 발생
+     */
+    public static <T extends Number> Iterator<WindowStatistics> timeWindow(Iterator<T> iterator, long windowNanos,
+                                                                           long slideNanos, LongSupplier clock) {
+        nullCheckValidation("timeWindow", iterator, "Iterator<T> iterator", clock, "LongSupplier clock");
+        if (windowNanos <= 0 || slideNanos <= 0) {
+            throw new InvalidWindowSizeException("timeWindow: windowNanos와 slideNanos는 양수여야 합니다. windowNanos: "
+                    + windowNanos + ", slideNanos: " + slideNanos);
+        }
+        return new Iterator<WindowStatistics>() {
+            private final SlidingAggregator window = new SlidingAggregator(16);
+            private boolean started;
+            private boolean pending;
+            private long nextWindowAt;
+            private WindowStatistics next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && iterator.hasNext()) {
+                    double value = iterator.next().doubleValue();
+                    long now = clock.getAsLong();
+                    if (!started) {
+                        started = true;
+                        nextWindowAt = now + slideNanos;
+                    }
+                    window.add(value, now);
+                    pending = true;
+                    while (now - window.oldestTimestamp() >= windowNanos) {
+                        window.removeOldest();
+                    }
+                    if (now - nextWindowAt >= 0) {
+                        emit();
+                        nextWindowAt = now - nextWindowAt >= slideNanos ? now + slideNanos : nextWindowAt + slideNanos;
+                    }
+                }
+                if (next == null && pending) {
+                    emit();
+                }
+                return next != null;
+            }
+
+            private void emit() {
+                next = window.snapshot();
+                pending = false;
+            }
+
+            @Override
+            public WindowStatistics next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("timeWindow");
+                }
+                WindowStatistics current = next;
+                next = null;
+                return current;
+            }
+        };
+    }
+
+    /**
+     * Iterator를 감싸서 값을 그대로 넘겨주면서, 지나간 값들 가운데 k개를 고르게 뽑아 두는 {@link ReservoirSample}을 반환합니다.
+     * 메모리는 k개의 double로 고정되므로 InfiniteIterator를 계속 흘려 보내면서도 언제든 {@link ReservoirSample#values()}로
+     * 지금까지의 표본을 꺼낼 수 있습니다.
+     *
+     * @param <T>      Iterator에 포함된 요소의 타입
+     * @param iterator 표본을 뽑을 값들을 포함하고 있는 원본 Iterator
+     * @param k        표본의 크기
+     * @return 원본 Iterator의 값을 그대로 반환하면서 표본을 뽑는 Iterator
+     * @throws IllegalNullArgumentException iterator가 null인 경우 발생
+     * @throws IllegalArgumentException     k가 0 이하인 경우 발생
+     */
+    public static <T extends Number> ReservoirSample<T> sample(Iterator<T> iterator, int k) {
+        nullCheckValidation("sample", iterator, "Iterator<T> iterator");
+        return new ReservoirSample<>(iterator, k);
+    }
+
+    /**
+     * Iterator를 감싸서 값을 그대로 넘겨주면서, 지나간 값들 가운데 k개를 가중치에 비례하는 확률로 뽑아 두는
+     * {@link WeightedReservoirSample}을 반환합니다.
+     *
+     * @param <T>      Iterator에 포함된 요소의 타입
+     * @param iterator 표본을 뽑을 값들을 포함하고 있는 원본 Iterator
+     * @param k        표본의 크기
+     * @param weight   각 요소의 가중치(0 이상)를 구하는 함수
+     * @return 원본 Iterator의 값을 그대로 반환하면서 표본을 뽑는 Iterator
+     * @throws IllegalNullArgumentException iterator 또는 weight가 null인 경우 발생
+     * @throws IllegalArgumentException     k가 0 이하인 경우 발생
+     */
+    public static <T extends Number> WeightedReservoirSample<T> weightedSample(Iterator<T> iterator, int k,
+                                                                              ToDoubleFunction<? super T> weight) {
+        nullCheckValidation("weightedSample", iterator, "Iterator<T> iterator", weight,
+                "ToDoubleFunction<? super T> weight");
+        return new WeightedReservoirSample<>(iterator, k, weight);
+    }
+
     /**
      * 주어진 Iterator에 포함된 요소의 총 개수를 반환합니다.
      * 이 메서드는 Iterator의 모든 요소를 순회하며 각 요소에 대해 카운트를 1씩 증가시킵니다.
@@ -410,6 +1185,181 @@ public class Iterators {
         return list;
     }
 
+    /**
+     * 숫자 텍스트 파일을 메모리 매핑으로 읽습니다. 쉼표, 세미콜론, 공백, 줄바꿈으로 나뉜 필드를 모두 읽고 수가 아닌 필드는 건너뜁니다.
+     *
+     * @param path 읽을 파일
+     * @return 파일의 수를 차례로 내보내는 Iterator
+     * @throws IllegalNullArgumentException path가 null인 경우 발생
+     * @throws java.io.UncheckedIOException 파일을 읽지 못한 경우 발생
+     */
+    public static PrimitiveIterator.OfDouble readDoubles(Path path) {
+        nullCheckValidation("readDoubles", path, "Path path");
+        return readDoubles(FileRegion.of(path));
+    }
+
+    /**
+     * CSV 파일의 한 열을 메모리 매핑으로 읽습니다. 그 열이 수가 아닌 줄(머리글 등)은 건너뜁니다.
+     *
+     * @param column 읽을 열 번호 (0부터)
+     */
+    public static PrimitiveIterator.OfDouble readDoubles(Path path, int column) {
+        nullCheckValidation("readDoubles", path, "Path path");
+        return readDoubles(FileRegion.of(path), column);
+    }
+
+    /**
+     * 파일 구간 하나를 읽습니다. {@link FileRegion#textRegions(Path, int)}로 나눈 구간들을 스레드마다 하나씩 읽으면
+     * 큰 파일을 병렬로 읽을 수 있습니다.
+     */
+    public static PrimitiveIterator.OfDouble readDoubles(FileRegion region) {
+        nullCheckValidation("readDoubles", region, "FileRegion region");
+        return new MappedTextSource(region, -1, MappedTextSource.WINDOW_BYTES);
+    }
+
+    /**
+     * @throws IllegalArgumentException column이 음수인 경우 발생
+     */
+    public static PrimitiveIterator.OfDouble readDoubles(FileRegion region, int column) {
+        nullCheckValidation("readDoubles", region, "FileRegion region");
+        if (column < 0) {
+            throw new IllegalArgumentException("Out of range with " + column);
+        }
+        return new MappedTextSource(region, column, MappedTextSource.WINDOW_BYTES);
+    }
+
+    /**
+     * little-endian double이 이어진 바이너리 파일을 메모리 매핑으로 읽습니다.
+     */
+    public static PrimitiveIterator.OfDouble readBinaryDoubles(Path path) {
+        nullCheckValidation("readBinaryDoubles", path, "Path path");
+        return readBinaryDoubles(FileRegion.of(path));
+    }
+
+    /**
+     * @see FileRegion#binaryRegions(Path, int, int)
+     */
+    public static PrimitiveIterator.OfDouble readBinaryDoubles(FileRegion region) {
+        nullCheckValidation("readBinaryDoubles", region, "FileRegion region");
+        return new MappedBinarySource.Doubles(region, MappedBinarySource.WINDOW_BYTES);
+    }
+
+    /**
+     * little-endian long이 이어진 바이너리 파일을 메모리 매핑으로 읽습니다.
+     */
+    public static PrimitiveIterator.OfLong readBinaryLongs(Path path) {
+        nullCheckValidation("readBinaryLongs", path, "Path path");
+        return readBinaryLongs(FileRegion.of(path));
+    }
+
+    public static PrimitiveIterator.OfLong readBinaryLongs(FileRegion region) {
+        nullCheckValidation("readBinaryLongs", region, "FileRegion region");
+        return new MappedBinarySource.Longs(region, MappedBinarySource.WINDOW_BYTES);
+    }
+
+    /**
+     * 유한 Iterator의 값을 Gorilla XOR 방식으로 압축합니다. 압축한 수열은 {@link CompressedSeries#doubles()}로 다시 읽습니다.
+     *
+     * @throws IllegalNullArgumentException         iterator가 null인 경우 발생
+     * @throws UnsupportedInfiniteIteratorException iterator가 InfiniteIterator인 경우 발생
+     */
+    public static <T extends Number> CompressedSeries compressDoubles(Iterator<T> iterator) {
+        nullCheckValidation("compressDoubles", iterator, "Iterator<T> iterator");
+        finiteCheckValidation("compressDoubles", iterator);
+        CompressedSeries.DoubleEncoder encoder = CompressedSeries.doubleEncoder();
+        while (iterator.hasNext()) {
+            encoder.add(iterator.next().doubleValue());
+        }
+        return encoder.finish();
+    }
+
+    /**
+     * 유한 Iterator의 값을 차이의 차이(delta-of-delta)로 압축합니다. 시각처럼 일정하게 늘어나는 정수에 알맞습니다.
+     *
+     * @throws IllegalNullArgumentException         iterator가 null인 경우 발생
+     * @throws UnsupportedInfiniteIteratorException iterator가 InfiniteIterator인 경우 발생
+     */
+    public static <T extends Number> CompressedSeries compressLongs(Iterator<T> iterator) {
+        nullCheckValidation("compressLongs", iterator, "Iterator<T> iterator");
+        finiteCheckValidation("compressLongs", iterator);
+        CompressedSeries.LongEncoder encoder = CompressedSeries.longEncoder();
+        while (iterator.hasNext()) {
+            encoder.add(iterator.next().longValue());
+        }
+        return encoder.finish();
+    }
+
+    /**
+     * 유한 Iterator의 값을 메모리 매핑한 고리 버퍼에 흘려 보냅니다. 다른 JVM은 {@link #readShared(Path)}로 같은 파일을 열어 값을 받습니다.
+     * 버퍼가 가득 차면 읽는 쪽이 비울 때까지 기다리고, 값을 다 보내면 흐름이 끝났음을 알립니다.
+     * iterator가 예외를 던지면 흐름이 끝나지 못했음을 알리고 예외를 그대로 던지므로, 읽는 쪽은 잘린 흐름을 다 받은 것으로 여기지 않습니다.
+     *
+     * @param path     고리 버퍼 파일
+     * @param capacity 고리 버퍼의 칸 수
+     * @return 보낸 값의 개수
+     * @throws IllegalNullArgumentException         iterator나 path가 null인 경우 발생
+     * @throws UnsupportedInfiniteIteratorException iterator가 InfiniteIterator인 경우 발생
+     * @see SharedRingBuffer
+     */
+    public static <T extends Number> long writeShared(Iterator<T> iterator, Path path, int capacity) {
+        nullCheckValidation("writeShared", iterator, "Iterator<T> iterator");
+        nullCheckValidation("writeShared", path, "Path path");
+        finiteCheckValidation("writeShared", iterator);
+        SharedRingBuffer.Writer writer = SharedRingBuffer.create(path, capacity);
+        try {
+            if (iterator instanceof PrimitiveIterator.OfDouble) {
+                PrimitiveIterator.OfDouble doubles = (PrimitiveIterator.OfDouble) iterator;
+                while (doubles.hasNext()) {
+                    writer.put(doubles.nextDouble());
+                }
+            } else {
+                while (iterator.hasNext()) {
+                    writer.put(iterator.next().doubleValue());
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            writer.abort();
+            throw e;
+        }
+        writer.close();
+        return writer.count();
+    }
+
+    /**
+     * 다른 JVM이 {@link #writeShared(Iterator, Path, int)}로 보내는 값을 받습니다.
+     * 파일이 아직 없으면 {@link SharedRingBuffer#DEFAULT_OPEN_TIMEOUT_MILLIS}만큼 기다리며,
+     * 반환한 Iterator는 보내는 쪽이 끝을 알리고 남은 값을 다 읽을 때까지 다음 값을 기다립니다.
+     *
+     * @throws IllegalNullArgumentException path가 null인 경우 발생
+     * @throws java.io.UncheckedIOException 기다려도 파일이 없거나 고리 버퍼 파일이 아닌 경우 발생
+     */
+    public static PrimitiveIterator.OfDouble readShared(Path path) {
+        nullCheckValidation("readShared", path, "Path path");
+        return SharedRingBuffer.open(path);
+    }
+
+    /**
+     * 수의 Iterator를 boxing 없는 double 배열로 모읍니다. {@link Bootstrap}처럼 표본을 여러 번 훑는 계산에 넘길 때 씁니다.
+     *
+     * @param iterator 모을 Iterator
+     * @return Iterator의 값을 순서대로 담은 배열
+     * @throws IllegalNullArgumentException         iterator가 null인 경우 발생
+     * @throws UnsupportedInfiniteIteratorException iterator가 InfiniteIterator인 경우 발생
+     */
+    public static <T extends Number> double[] toDoubleArray(Iterator<T> iterator) {
+        nullCheckValidation("toDoubleArray", iterator, "Iterator<T> iterator");
+        finiteCheckValidation("toDoubleArray", iterator);
+        double[] values = new double[16];
+        int size = 0;
+        while (iterator.hasNext()) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = iterator.next().doubleValue();
+        }
+        return Arrays.copyOf(values, size);
+    }
+
     public static <E> void print(Iterator<E> iterator, String separator,
                                  java.io.PrintStream printStream) {
         printStream.print(toString(iterator, separator));
@@ -437,6 +1387,26 @@ public class Iterators {
     }
 
 
+    private static void finiteCheckValidation(String methodName, Iterator<?> iterator) {
+        if (iterator instanceof InfiniteIterator) {
+            throw new UnsupportedInfiniteIteratorException(
+                    methodName + ": 무한 반복자는 이 연산에서 지원되지 않습니다. limit으로 개수를 정하세요.");
+        }
+    }
+
+    /**
+     * 가변 인자로 받은 Iterator 배열과 그 요소들이 null값인지 체크하고 IllegalNullArgumentException을 던져주는 메서드입니다.
+     *
+     * @param methodName 예외 메시지에 쓸 메서드 이름
+     * @param iterators  체크할 Iterator 배열
+     */
+    private static void iteratorsNullCheckValidation(String methodName, Iterator<?>... iterators) {
+        nullCheckValidation(methodName, iterators, "Iterator<?>... iterators");
+        for (int i = 0; i < iterators.length; i++) {
+            nullCheckValidation(methodName, iterators[i], "iterators[" + i + "]");
+        }
+    }
+
     /**
      * 파라미터가 null값인지 체크하고 IllegalNullArgumentException을 던져주는 메서드입니다.
      *
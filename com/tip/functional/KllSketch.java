@@ -0,0 +1,306 @@
+package com.tip.functional;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 값을 모두 저장하지 않고 분위수(quantile)와 누적 분포(CDF)를 어림잡는 KLL 스케치입니다.
+ * 값을 여러 층(level)의 버퍼에 담고, 버퍼가 차면 정렬한 뒤 하나 걸러 하나씩만 윗층으로 올립니다(compaction).
+ * h층의 값 하나는 원래 값 2^h개를 대표하므로 메모리는 약 3k개의 double로 고정되고, 순위(rank) 오차는 대략 1.7 / k입니다.
+ * 서로 다른 스레드나 프로세스에서 만든 스케치를 {@link #merge(KllSketch)}로 합칠 수 있고,
+ * {@link #writeTo(DataOutput)}와 {@link #readFrom(DataInput)}으로 주고받을 수 있습니다.
+ * 스레드에 안전하지 않으므로 스레드마다 스케치를 따로 두고 나중에 합치세요.
+ */
+public final class KllSketch {
+    public static final int DEFAULT_K = 200;
+    private static final int MIN_K = 8;
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_LEVEL_CAPACITY = 2;
+
+    private final int k;
+    private double[][] levels;
+    private int[] sizes;
+    private int[] capacities;
+    private int levelCount;
+    private int retained;
+    private int totalCapacity;
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    // 질의할 때마다 다시 정렬하지 않도록 정렬된 값과 누적 가중치를 값이 바뀔 때까지 보관합니다.
+    private double[] sortedValues;
+    private long[] cumulativeWeights;
+
+    public KllSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * @param k 정확도를 정하는 값. 클수록 정확하지만 메모리를 더 씁니다.
+     * @throws IllegalArgumentException k가 8보다 작은 경우 발생
+     */
+    public KllSketch(int k) {
+        this.k = checkAccuracy(k);
+        this.levels = new double[][] {new double[k]};
+        this.sizes = new int[1];
+        this.levelCount = 1;
+        updateCapacities();
+    }
+
+    static int checkAccuracy(int k) {
+        if (k < MIN_K) {
+            throw new IllegalArgumentException("Out of range with " + k);
+        }
+        return k;
+    }
+
+    /**
+     * 값을 하나 더합니다. NaN은 무시합니다.
+     *
+     * @param value 더할 값
+     */
+    public void update(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (count++ == 0) {
+            min = value;
+            max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        append(0, value);
+        compress();
+        sortedValues = null;
+    }
+
+    /**
+     * 다른 스케치의 값들을 이 스케치에 합칩니다. other는 바뀌지 않습니다.
+     *
+     * @param other 합칠 스케치
+     */
+    public void merge(KllSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        for (int level = 0; level < other.levelCount; level++) {
+            for (int i = 0; i < other.sizes[level]; i++) {
+                append(level, other.levels[level][i]);
+            }
+        }
+        min = count == 0 ? other.min : Math.min(min, other.min);
+        max = count == 0 ? other.max : Math.max(max, other.max);
+        count += other.count;
+        compress();
+        sortedValues = null;
+    }
+
+    /**
+     * @return 지금까지 더한 값의 개수
+     */
+    public long count() {
+        return count;
+    }
+
+    public double min() {
+        return min;
+    }
+
+    public double max() {
+        return max;
+    }
+
+    /**
+     * 주어진 비율에 해당하는 분위수를 어림잡습니다. 예를 들어 0.5는 중앙값, 0.99는 99 백분위수입니다.
+     *
+     * @param fraction 0과 1 사이의 비율
+     * @return 분위수의 어림값. 값이 하나도 없으면 NaN을 반환합니다.
+     * @throws IllegalArgumentException fraction이 [0, 1] 범위를 벗어난 경우 발생
+     */
+    public double quantile(double fraction) {
+        if (!(fraction >= 0 && fraction <= 1)) {
+            throw new IllegalArgumentException("Out of range with " + fraction);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (fraction == 0) {
+            return min;
+        }
+        if (fraction == 1) {
+            return max;
+        }
+        sort();
+        long rank = (long) Math.ceil(fraction * count);
+        int index = Arrays.binarySearch(cumulativeWeights, rank);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return sortedValues[Math.min(index, sortedValues.length - 1)];
+    }
+
+    /**
+     * 주어진 값 이하인 값의 비율(누적 분포 함수)을 어림잡습니다.
+     *
+     * @param value 기준 값
+     * @return value 이하인 값의 비율. 값이 하나도 없으면 NaN을 반환합니다.
+     */
+    public double cdf(double value) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        sort();
+        int index = upperBound(sortedValues, value);
+        return index == 0 ? 0 : (double) cumulativeWeights[index - 1] / count;
+    }
+
+    /**
+     * 스케치를 DataOutput에 씁니다.
+     *
+     * @param out 스케치를 쓸 곳
+     * @throws IOException 쓰기에 실패한 경우 발생
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(k);
+        out.writeLong(count);
+        out.writeDouble(min);
+        out.writeDouble(max);
+        out.writeInt(levelCount);
+        for (int level = 0; level < levelCount; level++) {
+            out.writeInt(sizes[level]);
+            for (int i = 0; i < sizes[level]; i++) {
+                out.writeDouble(levels[level][i]);
+            }
+        }
+    }
+
+    /**
+     * {@link #writeTo(DataOutput)}로 쓴 스케치를 읽습니다.
+     *
+     * @param in 스케치를 읽을 곳
+     * @return 읽은 스케치
+     * @throws IOException 읽기에 실패한 경우 발생
+     */
+    public static KllSketch readFrom(DataInput in) throws IOException {
+        KllSketch sketch = new KllSketch(in.readInt());
+        sketch.count = in.readLong();
+        sketch.min = in.readDouble();
+        sketch.max = in.readDouble();
+        int levelCount = in.readInt();
+        for (int level = 0; level < levelCount; level++) {
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                sketch.append(level, in.readDouble());
+            }
+        }
+        sketch.compress();
+        return sketch;
+    }
+
+    private void append(int level, double value) {
+        while (level >= levelCount) {
+            addLevel();
+        }
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], Math.max(MIN_LEVEL_CAPACITY, levels[level].length * 2));
+        }
+        levels[level][sizes[level]++] = value;
+        retained++;
+    }
+
+    private void addLevel() {
+        levels = Arrays.copyOf(levels, levelCount + 1);
+        sizes = Arrays.copyOf(sizes, levelCount + 1);
+        levels[levelCount] = new double[MIN_LEVEL_CAPACITY];
+        levelCount++;
+        updateCapacities();
+    }
+
+    // 위층일수록 용량이 크고 아래층으로 갈수록 2/3씩 줄어듭니다.
+    private void updateCapacities() {
+        capacities = new int[levelCount];
+        totalCapacity = 0;
+        for (int level = 0; level < levelCount; level++) {
+            int depth = levelCount - 1 - level;
+            capacities[level] = Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+            totalCapacity += capacities[level];
+        }
+    }
+
+    private void compress() {
+        while (retained > totalCapacity) {
+            for (int level = 0; level < levelCount; level++) {
+                if (sizes[level] >= capacities[level]) {
+                    compact(level);
+                    break;
+                }
+            }
+        }
+    }
+
+    // 층을 정렬하고 임의의 시작점에서 하나 걸러 하나씩 윗층으로 올립니다. 개수가 홀수이면 하나는 이 층에 남깁니다.
+    private void compact(int level) {
+        if (level + 1 >= levelCount) {
+            addLevel();
+        }
+        double[] buffer = levels[level];
+        int size = sizes[level];
+        Arrays.sort(buffer, 0, size);
+        int start = size % 2;
+        int offset = ThreadLocalRandom.current().nextBoolean() ? 1 : 0;
+        for (int i = start + offset; i < size; i += 2) {
+            append(level + 1, buffer[i]);
+        }
+        retained -= size - start;
+        sizes[level] = start;
+    }
+
+    private void sort() {
+        if (sortedValues != null) {
+            return;
+        }
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        double[][] sortedLevels = new double[levelCount][];
+        int[] positions = new int[levelCount];
+        for (int level = 0; level < levelCount; level++) {
+            sortedLevels[level] = Arrays.copyOf(levels[level], sizes[level]);
+            Arrays.sort(sortedLevels[level]);
+        }
+        // 층마다 정렬한 뒤 가장 작은 값을 골라 가며 합칩니다. 층의 개수는 log n 정도라 충분히 빠릅니다.
+        long cumulative = 0;
+        for (int i = 0; i < retained; i++) {
+            int best = -1;
+            for (int level = 0; level < levelCount; level++) {
+                if (positions[level] < sortedLevels[level].length && (best < 0
+                        || sortedLevels[level][positions[level]] < sortedLevels[best][positions[best]])) {
+                    best = level;
+                }
+            }
+            values[i] = sortedLevels[best][positions[best]++];
+            cumulative += 1L << best;
+            weights[i] = cumulative;
+        }
+        sortedValues = values;
+        cumulativeWeights = weights;
+    }
+
+    private static int upperBound(double[] values, double value) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,84 @@
+package com.tip.functional;
+
+/**
+ * long 키를 boxing 없이 저장하는 open addressing(linear probing) 해시 집합입니다.
+ * 키를 primitive 배열 하나에 담기 때문에 HashSet&lt;Long&gt;과 달리 원소마다 객체를 할당하지 않습니다.
+ * int 키는 long으로 넓혀서, double 키는 {@link Double#doubleToLongBits(double)}로 바꿔서 저장할 수 있습니다.
+ */
+public final class LongHashSet {
+    private static final long EMPTY = 0L;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] keys;
+    private int size;
+    // 0은 빈 칸 표시로 쓰므로 따로 기억합니다.
+    private boolean containsZero;
+
+    public LongHashSet() {
+        keys = new long[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * 키를 추가합니다.
+     *
+     * @param key 추가할 키
+     * @return 처음 추가된 키이면 true, 이미 있던 키이면 false
+     */
+    public boolean add(long key) {
+        if (key == EMPTY) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            return true;
+        }
+        int mask = keys.length - 1;
+        int index = (int) Hashing.mix64(key) & mask;
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        // 빈 칸이 절반 아래로 줄면 탐색 길이가 길어지므로 두 배로 늘립니다.
+        if (++size * 2 > keys.length) {
+            rehash();
+        }
+        return true;
+    }
+
+    public boolean contains(long key) {
+        if (key == EMPTY) {
+            return containsZero;
+        }
+        int mask = keys.length - 1;
+        int index = (int) Hashing.mix64(key) & mask;
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return containsZero ? size + 1 : size;
+    }
+
+    private void rehash() {
+        long[] old = keys;
+        keys = new long[old.length << 1];
+        int mask = keys.length - 1;
+        for (long key : old) {
+            if (key != EMPTY) {
+                int index = (int) Hashing.mix64(key) & mask;
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.tip.functional;
+
+/**
+ * 다차원 저불일치 수열(low-discrepancy sequence)입니다. 점들이 단위 초입방체 [0, 1)^d를 마구잡이 점보다 고르게 채우므로
+ * 매끄러운 함수의 적분을 어림잡을 때 오차가 O(1 / n)에 가깝게 줄어듭니다.
+ * {@link #next()}는 점마다 배열을 새로 만들고, {@link #next(double[])}와 {@link #fill(double[], int)}는 주어진 배열에 씁니다.
+ */
+public interface LowDiscrepancySequence extends InfiniteIterator<double[]> {
+    /**
+     * @return 점 하나의 차원 수
+     */
+    int dimensions();
+
+    /**
+     * @return 다음에 내보낼 점의 번호
+     */
+    long index();
+
+    /**
+     * 다음 점을 point에 씁니다.
+     *
+     * @param point dimensions() 이상의 길이를 가진 배열
+     */
+    void next(double[] point);
+
+    /**
+     * 다음 점 count개를 points에 차례로 씁니다. i번째 점의 d번째 좌표는 points[i * dimensions() + d]입니다.
+     *
+     * @param points count * dimensions() 이상의 길이를 가진 배열
+     * @param count  쓸 점의 개수
+     * @throws IllegalArgumentException count가 음수이거나 points가 짧은 경우 발생
+     */
+    void fill(double[] points, int count);
+
+    /**
+     * 점 count개를 만들지 않고 건너뜁니다. 여러 스레드가 수열의 서로 다른 구간을 나누어 쓸 때 씁니다.
+     *
+     * @param count 건너뛸 점의 개수
+     * @throws IllegalArgumentException count가 음수인 경우 발생
+     */
+    void skip(long count);
+
+    @Override
+    default double[] next() {
+        double[] point = new double[dimensions()];
+        next(point);
+        return point;
+    }
+}
@@ -0,0 +1,94 @@
+package com.tip.functional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * little-endian double 또는 long 값이 빈틈없이 이어진 바이너리 파일 구간을 FileChannel.map으로 읽는 원본입니다.
+ * 구간을 8바이트 배수 크기의 창으로 나누어 차례로 매핑하고 매핑한 버퍼에서 값을 바로 읽으므로 중간 복사가 없습니다.
+ * 구간 끝에 8바이트가 되지 않는 바이트가 남으면 버립니다.
+ */
+abstract class MappedBinarySource {
+    static final int WINDOW_BYTES = 1 << 27;
+
+    private final FileRegion region;
+    private final int windowBytes;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int position;
+    private int limit;
+
+    MappedBinarySource(FileRegion region, int windowBytes) {
+        this.region = region;
+        this.windowBytes = windowBytes - windowBytes % Long.BYTES;
+        this.windowStart = region.start();
+    }
+
+    public boolean hasNext() {
+        return position + Long.BYTES <= limit || mapNextWindow();
+    }
+
+    // 다음에 읽을 값의 창 안 위치를 반환하고 한 칸 넘어갑니다.
+    final int advance() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("readBinary: 더 이상 값이 없습니다.");
+        }
+        int current = position;
+        position += Long.BYTES;
+        return current;
+    }
+
+    final MappedByteBuffer window() {
+        return window;
+    }
+
+    private boolean mapNextWindow() {
+        if (window != null) {
+            windowStart += limit;
+        }
+        long remaining = (region.end() - windowStart) / Long.BYTES * Long.BYTES;
+        if (remaining <= 0) {
+            return false;
+        }
+        int size = (int) Math.min(windowBytes, remaining);
+        try (FileChannel channel = FileChannel.open(region.path(), StandardOpenOption.READ)) {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        window.order(ByteOrder.LITTLE_ENDIAN);
+        limit = size;
+        position = 0;
+        return true;
+    }
+
+    static final class Doubles extends MappedBinarySource implements PrimitiveIterator.OfDouble {
+        Doubles(FileRegion region, int windowBytes) {
+            super(region, windowBytes);
+        }
+
+        @Override
+        public double nextDouble() {
+            int at = advance();
+            return window().getDouble(at);
+        }
+    }
+
+    static final class Longs extends MappedBinarySource implements PrimitiveIterator.OfLong {
+        Longs(FileRegion region, int windowBytes) {
+            super(region, windowBytes);
+        }
+
+        @Override
+        public long nextLong() {
+            int at = advance();
+            return window().getLong(at);
+        }
+    }
+}
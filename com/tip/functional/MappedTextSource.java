@@ -0,0 +1,247 @@
+package com.tip.functional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * 숫자 텍스트(한 줄에 하나씩 또는 CSV) 파일 구간을 FileChannel.map으로 읽어 double로 바꾸는 원본입니다.
+ * 구간을 줄 단위로 끝나는 창(window)으로 나누어 차례로 매핑하고, 매핑한 바이트를 문자열로 만들지 않고 곧바로 수로 읽습니다.
+ * 유효 숫자가 15자리 이하이고 10의 지수가 22 이하인 흔한 수는 정확한 double 곱셈 한 번으로 바꾸고,
+ * 그 밖의 수(긴 소수, NaN, Infinity 등)만 Double.parseDouble로 넘깁니다. 수가 아닌 필드(머리글 등)는 건너뜁니다.
+ */
+final class MappedTextSource implements PrimitiveIterator.OfDouble {
+    static final int WINDOW_BYTES = 1 << 27;
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+    private static final long MAX_EXACT_MANTISSA = (1L << 53) - 1;
+
+    private final FileRegion region;
+    private final int column;
+    private final int windowBytes;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int position;
+    private int limit;
+    private int field;
+    private double pending;
+    private boolean ready;
+
+    /**
+     * @param column 읽을 CSV 열 번호(0부터). 음수이면 쉼표, 공백, 줄바꿈으로 나뉜 모든 필드를 읽습니다.
+     */
+    MappedTextSource(FileRegion region, int column, int windowBytes) {
+        this.region = region;
+        this.column = column;
+        this.windowBytes = windowBytes;
+        this.windowStart = region.start();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!ready) {
+            if (position >= limit && !mapNextWindow()) {
+                return false;
+            }
+            scan();
+        }
+        return true;
+    }
+
+    @Override
+    public double nextDouble() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("readDoubles: 더 이상 값이 없습니다.");
+        }
+        ready = false;
+        return pending;
+    }
+
+    // 창 안에서 다음 수 하나를 찾거나 창 끝에 이릅니다.
+    private void scan() {
+        while (position < limit) {
+            byte b = window.get(position);
+            if (b == '\n') {
+                field = 0;
+                position++;
+            } else if (b == ',' || b == ';') {
+                field++;
+                position++;
+            } else if (b == ' ' || b == '\t' || b == '\r') {
+                position++;
+                if (column < 0) {
+                    field = 0;
+                }
+            } else if (column >= 0 && field != column) {
+                skipField();
+            } else {
+                int end = parse(position);
+                if (end < 0) {
+                    end = tokenEnd(position);
+                    ready = parseSlowly(position, end);
+                } else {
+                    ready = true;
+                }
+                position = end;
+                if (ready) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void skipField() {
+        while (position < limit) {
+            byte b = window.get(position);
+            if (b == ',' || b == ';' || b == '\n') {
+                return;
+            }
+            position++;
+        }
+    }
+
+    private int tokenEnd(int from) {
+        int end = from;
+        while (end < limit) {
+            if (isDelimiter(window.get(end))) {
+                break;
+            }
+            end++;
+        }
+        return end;
+    }
+
+    private static boolean isDelimiter(byte b) {
+        return b == ',' || b == ';' || b == '\n' || b == ' ' || b == '\t' || b == '\r';
+    }
+
+    /**
+     * 흔한 꼴의 수를 읽어 pending에 담고 수가 끝난 자리를 반환합니다.
+     * 빠른 경로로 읽을 수 없는 필드이면 -1을 반환하며, 그때는 필드 전체를 parseSlowly로 다시 읽습니다.
+     */
+    private int parse(int from) {
+        int i = from;
+        boolean negative = false;
+        byte b = window.get(i);
+        if (b == '-' || b == '+') {
+            negative = b == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean seenDigit = false;
+        boolean seenPoint = false;
+        for (; i < limit; i++) {
+            b = window.get(i);
+            if (b >= '0' && b <= '9') {
+                seenDigit = true;
+                if (mantissa == 0 && b == '0') {
+                    if (seenPoint) {
+                        exponent--;
+                    }
+                    continue;
+                }
+                if (digits >= 18) {
+                    return -1;
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (seenPoint) {
+                    exponent--;
+                }
+            } else if (b == '.' && !seenPoint) {
+                seenPoint = true;
+            } else {
+                break;
+            }
+        }
+        if (!seenDigit) {
+            return -1;
+        }
+        if (i < limit && !isDelimiter(b)) {
+            if (b != 'e' && b != 'E') {
+                return -1;
+            }
+            i++;
+            boolean negativeExponent = false;
+            if (i < limit && (window.get(i) == '-' || window.get(i) == '+')) {
+                negativeExponent = window.get(i) == '-';
+                i++;
+            }
+            int exponentValue = 0;
+            int exponentDigits = 0;
+            for (; i < limit; i++) {
+                b = window.get(i);
+                if (isDelimiter(b)) {
+                    break;
+                }
+                if (b < '0' || b > '9' || exponentDigits > 6) {
+                    return -1;
+                }
+                exponentValue = exponentValue * 10 + (b - '0');
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                return -1;
+            }
+            exponent += negativeExponent ? -exponentValue : exponentValue;
+        }
+        // 가수와 10의 거듭제곱이 모두 double로 정확하면 곱셈이나 나눗셈 한 번의 결과가 올바르게 반올림된 값입니다.
+        double value;
+        if (mantissa == 0) {
+            value = 0;
+        } else if (mantissa <= MAX_EXACT_MANTISSA && exponent >= -22 && exponent <= 22) {
+            value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+        } else {
+            return -1;
+        }
+        pending = negative ? -value : value;
+        return i;
+    }
+
+    private boolean parseSlowly(int from, int to) {
+        byte[] bytes = new byte[to - from];
+        window.get(from, bytes);
+        try {
+            pending = Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // 다음 창을 매핑합니다. 창은 구간 끝이 아니면 마지막 줄바꿈 바로 뒤에서 끝나므로 수 하나가 두 창에 걸치지 않습니다.
+    private boolean mapNextWindow() {
+        if (window != null) {
+            windowStart += limit;
+        }
+        long remaining = region.end() - windowStart;
+        if (remaining <= 0) {
+            return false;
+        }
+        int size = (int) Math.min(windowBytes, remaining);
+        try (FileChannel channel = FileChannel.open(region.path(), StandardOpenOption.READ)) {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        limit = size;
+        if (size < remaining) {
+            while (limit > 0 && window.get(limit - 1) != '\n') {
+                limit--;
+            }
+            if (limit == 0) {
+                throw new IllegalStateException("readDoubles: " + windowBytes + "바이트보다 긴 줄이 있습니다.");
+            }
+        }
+        position = 0;
+        field = 0;
+        return true;
+    }
+}
@@ -0,0 +1,106 @@
+package com.tip.functional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * 창 크기는 패키지 안에서만 고를 수 있으므로, 128MB 창보다 훨씬 작은 파일로 창 경계를 시험하려고 이 패키지에 둡니다.
+ */
+public class MappedTextSourceTest {
+    private static final int SMALL_WINDOW = 64;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("작은 창 여러 개에 걸친 CSV도 모든 필드와 열 하나를 큰 창으로 읽은 것과 같게 읽음")
+    void given_csvAcrossManyWindows_when_read_then_sameAsSingleWindow() throws IOException {
+        //given
+        StringBuilder text = new StringBuilder("time,effect,quality\r\n");
+        for (int i = 0; i < 1000; i++) {
+            text.append(i).append(',').append(i * 0.25).append(',').append(i % 7 == 0 ? "" : -i).append("\r\n");
+        }
+        text.append("1000,250.0,-1000");
+        Path file = Files.write(directory.resolve("effects.csv"), text.toString().getBytes(StandardCharsets.US_ASCII));
+        FileRegion region = FileRegion.of(file);
+
+        //when
+        double[] fields = toArray(new MappedTextSource(region, -1, SMALL_WINDOW));
+        double[] effects = toArray(new MappedTextSource(region, 1, SMALL_WINDOW));
+        double[] qualities = toArray(new MappedTextSource(region, 2, SMALL_WINDOW));
+
+        //then
+        assertTrue(Files.size(file) > 100L * SMALL_WINDOW);
+        assertArrayEquals(toArray(new MappedTextSource(region, -1, MappedTextSource.WINDOW_BYTES)), fields);
+        assertEquals(1001 * 3 - 143, fields.length);
+        assertEquals(1001, effects.length);
+        for (int i = 0; i <= 1000; i++) {
+            assertEquals(i * 0.25, effects[i]);
+        }
+        assertArrayEquals(toArray(new MappedTextSource(region, 2, MappedTextSource.WINDOW_BYTES)), qualities);
+        assertEquals(1001 - 143, qualities.length);
+    }
+
+    @Test
+    @DisplayName("창보다 긴 줄이 있으면 예외를 던짐")
+    void given_lineLongerThanWindow_when_read_then_throw() throws IOException {
+        //given
+        StringBuilder text = new StringBuilder("1\n2\n");
+        for (int i = 0; i < SMALL_WINDOW; i++) {
+            text.append(i).append(',');
+        }
+        text.append("\n3\n");
+        Path file = Files.write(directory.resolve("wide.csv"), text.toString().getBytes(StandardCharsets.US_ASCII));
+        PrimitiveIterator.OfDouble values = new MappedTextSource(FileRegion.of(file), -1, SMALL_WINDOW);
+
+        //when
+        double first = values.nextDouble();
+        double second = values.nextDouble();
+
+        //then
+        assertEquals(1, first);
+        assertEquals(2, second);
+        assertThrows(IllegalStateException.class, values::hasNext);
+    }
+
+    @Test
+    @DisplayName("바이너리 창 크기는 8바이트 배수로 내려 값이 두 창에 걸치지 않음")
+    void given_binaryAcrossManyWindows_when_read_then_returnEveryValue() throws IOException {
+        //given
+        ByteBuffer buffer = ByteBuffer.allocate(1000 * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < 1000; i++) {
+            buffer.putDouble(i * 1.5);
+        }
+        Path file = Files.write(directory.resolve("doubles.bin"), buffer.array());
+
+        //when
+        double[] values = toArray(new MappedBinarySource.Doubles(FileRegion.of(file), SMALL_WINDOW + 5));
+
+        //then
+        assertEquals(1000, values.length);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(i * 1.5, values[i]);
+        }
+    }
+
+    private static double[] toArray(PrimitiveIterator.OfDouble iterator) {
+        List<Double> values = new ArrayList<>();
+        iterator.forEachRemaining((double value) -> values.add(value));
+        return values.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+}
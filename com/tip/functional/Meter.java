@@ -0,0 +1,29 @@
+package com.tip.functional;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 파이프라인을 지나간 요소의 개수를 세는 계측기입니다.
+ * {@link Iterators#meter(java.util.Iterator, Meter)}로 Iterator 사이에 끼워 넣으면 next()가 불릴 때마다 하나씩 셉니다.
+ * 개수는 LongAdder로 세므로 여러 스레드가 같은 Meter를 써도 서로 기다리지 않고, 다른 스레드에서 언제든 읽을 수 있습니다.
+ */
+public final class Meter {
+    private final LongAdder count = new LongAdder();
+    private final long startNanos = System.nanoTime();
+
+    public void mark() {
+        count.increment();
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * @return Meter를 만든 뒤로 1초당 지나간 요소의 평균 개수
+     */
+    public double ratePerSecond() {
+        long elapsed = System.nanoTime() - startNanos;
+        return elapsed > 0 ? count() * 1e9 / elapsed : 0;
+    }
+}
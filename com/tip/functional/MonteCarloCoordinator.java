@@ -0,0 +1,261 @@
+package com.tip.functional;
+
+import com.tip.functional.customexception.IllegalNullArgumentException;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 시행 예산을 구간(shard)으로 나누어 여러 {@link MonteCarloWorker}에 TCP로 맡기고 돌아온 결과를 합칩니다.
+ * 구간은 {@link ResultCache#BLOCK_TRIALS}개 시행 단위의 구간들을 묶은 것이며, 각 구간은 seed와 구간 번호로 정해지는
+ * 서로 다른 난수 흐름을 쓰므로 결과는 한 JVM에서 {@link ResultCache}로 계산한 것과 같습니다.
+ *
+ * <p>worker마다 연결을 하나씩 열고 스레드 하나가 구간을 하나씩 보내고 받습니다.
+ * 연결이 끊기거나 failureTimeoutMillis 동안 결과도 살아 있다는 신호도 오지 않은 worker는 실패한 것으로 보고,
+ * 그 worker가 맡고 있던 구간은 다른 worker에 다시 맡깁니다. 시행 자체가 예외를 던지면 어느 worker에서나 같을 것이므로 전체 실행을 실패시킵니다.
+ *
+ * <pre>{@code
+ * MonteCarloCoordinator coordinator = new MonteCarloCoordinator(List.of(
+ *         new InetSocketAddress("localhost", 9700), new InetSocketAddress("localhost", 9701)));
+ * DistributedResult effect = coordinator.run("potion", 42, 1_000_000_000L);
+ * }</pre>
+ */
+public final class MonteCarloCoordinator {
+    public static final int DEFAULT_FAILURE_TIMEOUT_MILLIS = 5000;
+    public static final int DEFAULT_SHARD_BLOCKS = 64;
+
+    private final List<InetSocketAddress> workers;
+    private final int failureTimeoutMillis;
+
+    public MonteCarloCoordinator(List<InetSocketAddress> workers) {
+        this(workers, DEFAULT_FAILURE_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param workers              worker 주소 목록
+     * @param failureTimeoutMillis 이 시간 동안 아무 응답이 없는 worker를 실패한 것으로 봅니다.
+     * @throws IllegalArgumentException worker가 없거나 failureTimeoutMillis가 heartbeat 간격의 두 배보다 짧은 경우 발생
+     */
+    public MonteCarloCoordinator(List<InetSocketAddress> workers, int failureTimeoutMillis) {
+        nullCheck(workers, "List<InetSocketAddress> workers");
+        if (workers.isEmpty()) {
+            throw new IllegalArgumentException("Out of range with " + workers.size());
+        }
+        if (failureTimeoutMillis < 2 * MonteCarloWorker.HEARTBEAT_MILLIS) {
+            throw new IllegalArgumentException("Out of range with " + failureTimeoutMillis);
+        }
+        this.workers = List.copyOf(workers);
+        this.failureTimeoutMillis = failureTimeoutMillis;
+    }
+
+    public DistributedResult run(String experiment, long seed, long trials) {
+        return run(experiment, seed, trials, DEFAULT_SHARD_BLOCKS);
+    }
+
+    /**
+     * worker들에 등록한 experiment를 trials번 시행합니다.
+     *
+     * @param experiment  worker에 등록한 시행 이름
+     * @param seed        난수 seed
+     * @param trials      시행 횟수
+     * @param shardBlocks 구간 하나에 담을 {@link ResultCache#BLOCK_TRIALS}개 시행 단위의 개수
+     * @return 합친 결과
+     * @throws IllegalArgumentException trials가 음수이거나 shardBlocks가 1보다 작은 경우 발생
+     * @throws IllegalStateException    모든 worker가 실패했거나 시행이 예외를 던진 경우 발생
+     */
+    public DistributedResult run(String experiment, long seed, long trials, int shardBlocks) {
+        nullCheck(experiment, "String experiment");
+        if (trials < 0) {
+            throw new IllegalArgumentException("Out of range with " + trials);
+        }
+        if (shardBlocks < 1) {
+            throw new IllegalArgumentException("Out of range with " + shardBlocks);
+        }
+        TrialBlocks blocks = new TrialBlocks(TrialBlocks.blockCount(trials));
+        int shards = (int) (((long) blocks.size() + shardBlocks - 1) / shardBlocks);
+        Job job = new Job(shards, workers.size());
+        List<Thread> threads = new ArrayList<>(workers.size());
+        List<Socket> sockets = new ArrayList<>(workers.size());
+        for (InetSocketAddress address : workers) {
+            Socket socket = new Socket();
+            sockets.add(socket);
+            Thread thread = new Thread(() -> drive(socket, address, job, blocks, experiment, seed, trials,
+                    shardBlocks), "monte-carlo-coordinator-" + address);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+        try {
+            job.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("coordinator가 중단되었습니다.");
+        } finally {
+            // 일이 끝났거나 실패했으면 아직 응답을 기다리는 연결도 닫아 스레드들을 끝냅니다.
+            job.fail(null);
+            for (Socket socket : sockets) {
+                closeQuietly(socket);
+            }
+            for (Thread thread : threads) {
+                joinQuietly(thread);
+            }
+        }
+        String error = job.error();
+        if (error != null) {
+            throw new IllegalStateException("MonteCarloCoordinator: " + error);
+        }
+        return new DistributedResult(blocks.count(), blocks.sum(), blocks.squaredDeviations(), shards,
+                job.reassigned());
+    }
+
+    // worker 하나를 맡는 스레드입니다. 구간을 하나씩 보내고 결과가 올 때까지 heartbeat를 받습니다.
+    private void drive(Socket socket, InetSocketAddress address, Job job, TrialBlocks blocks, String experiment,
+                       long seed, long trials, int shardBlocks) {
+        int shard = -1;
+        try {
+            socket.connect(address, failureTimeoutMillis);
+            socket.setSoTimeout(failureTimeoutMillis);
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            while ((shard = job.take()) >= 0) {
+                int from = shard * shardBlocks;
+                int to = (int) Math.min((long) from + shardBlocks, blocks.size());
+                out.writeByte(MonteCarloWorker.SHARD);
+                out.writeUTF(experiment);
+                out.writeLong(seed);
+                out.writeLong(trials);
+                out.writeInt(from);
+                out.writeInt(to);
+                out.flush();
+                byte type;
+                while ((type = in.readByte()) == MonteCarloWorker.HEARTBEAT) {
+                    // 읽을 때마다 failureTimeoutMillis가 다시 시작됩니다.
+                }
+                if (type == MonteCarloWorker.ERROR) {
+                    job.fail(address + ": " + in.readUTF());
+                    return;
+                }
+                if (type != MonteCarloWorker.RESULT) {
+                    throw new IOException("MonteCarloCoordinator: 알 수 없는 응답 " + type);
+                }
+                blocks.readFrom(in, from, to);
+                job.complete();
+                shard = -1;
+            }
+        } catch (IOException e) {
+            if (shard >= 0) {
+                job.requeue(shard);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeQuietly(socket);
+            job.workerDied();
+        }
+    }
+
+    // 남은 구간과 살아 있는 worker 수를 함께 지키는 작은 모니터입니다.
+    private static final class Job {
+        private final ArrayDeque<Integer> pending = new ArrayDeque<>();
+        private int outstanding;
+        private int alive;
+        private int reassigned;
+        private boolean finished;
+        private String error;
+
+        Job(int shards, int workers) {
+            for (int shard = 0; shard < shards; shard++) {
+                pending.add(shard);
+            }
+            outstanding = shards;
+            alive = workers;
+        }
+
+        // 맡을 구간 번호를 돌려줍니다. 더 맡을 구간이 없으면 -1을 돌려줍니다.
+        // 다른 worker가 맡은 구간이 남아 있으면 그 worker가 실패할 수도 있으므로 기다립니다.
+        synchronized int take() throws InterruptedException {
+            while (true) {
+                if (finished || outstanding == 0) {
+                    return -1;
+                }
+                Integer shard = pending.poll();
+                if (shard != null) {
+                    return shard;
+                }
+                wait();
+            }
+        }
+
+        synchronized void complete() {
+            outstanding--;
+            notifyAll();
+        }
+
+        synchronized void requeue(int shard) {
+            pending.addFirst(shard);
+            reassigned++;
+            notifyAll();
+        }
+
+        synchronized void workerDied() {
+            alive--;
+            if (alive == 0 && outstanding > 0 && !finished) {
+                fail("모든 worker가 실패했습니다.");
+            }
+            notifyAll();
+        }
+
+        // message가 null이면 오류 없이 끝낸 것으로 칩니다.
+        synchronized void fail(String message) {
+            if (!finished) {
+                finished = true;
+                error = outstanding > 0 ? message : null;
+            }
+            notifyAll();
+        }
+
+        synchronized void await() throws InterruptedException {
+            while (outstanding > 0 && !finished) {
+                wait();
+            }
+        }
+
+        synchronized String error() {
+            return error;
+        }
+
+        synchronized int reassigned() {
+            return reassigned;
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // 닫는 중의 실패는 무시합니다.
+        }
+    }
+
+    private static void joinQuietly(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void nullCheck(Object value, String name) {
+        if (value == null) {
+            throw new IllegalNullArgumentException("MonteCarloCoordinator: " + name + " 값이 null로 들어올 수 없습니다.");
+        }
+    }
+}
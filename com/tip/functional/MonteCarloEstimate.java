@@ -0,0 +1,76 @@
+package com.tip.functional;
+
+/**
+ * 분산 줄이기 기법({@link VarianceReduction})으로 어림잡은 평균과 그 정확도를 담는 불변 객체입니다.
+ * 같은 횟수만큼 함수를 평가한 평범한 독립 표본 평균의 분산도 함께 담아 두어 분산이 얼마나 줄었는지 알 수 있습니다.
+ */
+public final class MonteCarloEstimate {
+    private final double mean;
+    private final double variance;
+    private final double plainVariance;
+    private final long evaluations;
+
+    MonteCarloEstimate(double mean, double variance, double plainVariance, long evaluations) {
+        this.mean = mean;
+        this.variance = variance;
+        this.plainVariance = plainVariance;
+        this.evaluations = evaluations;
+    }
+
+    /**
+     * @return 어림잡은 평균
+     */
+    public double mean() {
+        return mean;
+    }
+
+    /**
+     * @return 어림값의 분산
+     */
+    public double variance() {
+        return variance;
+    }
+
+    public double standardError() {
+        return Math.sqrt(variance);
+    }
+
+    /**
+     * @return 같은 횟수로 평가한 독립 표본 평균의 분산 어림값
+     */
+    public double plainVariance() {
+        return plainVariance;
+    }
+
+    /**
+     * @return 함수를 평가한 횟수
+     */
+    public long evaluations() {
+        return evaluations;
+    }
+
+    /**
+     * 분산이 줄어든 비율입니다. 값이 4이면 같은 정확도를 얻는 데 독립 표본보다 4분의 1의 시행만 있으면 됩니다.
+     *
+     * @return plainVariance / variance. 둘 다 0이면 1을 반환합니다.
+     */
+    public double varianceReduction() {
+        if (variance == 0) {
+            return plainVariance == 0 ? 1 : Double.POSITIVE_INFINITY;
+        }
+        return plainVariance / variance;
+    }
+
+    public void report() {
+        System.out.println("평균: " + mean);
+        System.out.println("표준 오차: " + standardError());
+        System.out.println("평가 횟수: " + evaluations);
+        System.out.println("분산 감소: " + varianceReduction() + "배");
+    }
+
+    @Override
+    public String toString() {
+        return "MonteCarloEstimate{mean=" + mean + ", standardError=" + standardError() + ", evaluations="
+                + evaluations + ", varianceReduction=" + varianceReduction() + "}";
+    }
+}
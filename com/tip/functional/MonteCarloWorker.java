@@ -0,0 +1,188 @@
+package com.tip.functional;
+
+import com.tip.functional.customexception.IllegalNullArgumentException;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * {@link MonteCarloCoordinator}가 보낸 구간(shard)을 계산해 돌려주는 worker입니다. 보통 JVM마다 하나씩 띄웁니다.
+ * 시행은 이름으로 등록해 두고, coordinator는 이름과 seed, 구간 범위만 보냅니다. 그러므로 coordinator와 worker는 같은 이름에 같은 시행을 등록해야 합니다.
+ * 구간은 ForkJoinPool에서 병렬로 계산하며, 계산하는 동안 {@link #HEARTBEAT_MILLIS}마다 살아 있다는 신호를 보냅니다.
+ *
+ * <pre>{@code
+ * MonteCarloWorker worker = new MonteCarloWorker().register("potion", random -> potionEffect(random));
+ * worker.start(9700);
+ * }</pre>
+ */
+public final class MonteCarloWorker implements AutoCloseable {
+    public static final int HEARTBEAT_MILLIS = 200;
+    static final byte SHARD = 1;
+    static final byte HEARTBEAT = 2;
+    static final byte RESULT = 3;
+    static final byte ERROR = 4;
+
+    private final Map<String, ToDoubleFunction<SplittableRandom>> experiments = new ConcurrentHashMap<>();
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private ServerSocket server;
+
+    /**
+     * 이름으로 시행을 등록합니다. 시행은 여러 스레드에서 동시에 불리므로 스레드에 안전해야 하며,
+     * 난수는 넘겨받은 SplittableRandom에서만 얻어야 합니다.
+     */
+    public MonteCarloWorker register(String name, ToDoubleFunction<SplittableRandom> trial) {
+        nullCheck(name, "String name");
+        nullCheck(trial, "ToDoubleFunction<SplittableRandom> trial");
+        experiments.put(name, trial);
+        return this;
+    }
+
+    /**
+     * localhost의 주어진 포트에서 coordinator의 연결을 받기 시작합니다. 연결마다 스레드를 하나씩 둡니다.
+     *
+     * @param port 열 포트. 0이면 비어 있는 포트를 고릅니다.
+     * @return 실제로 열린 포트
+     * @throws IOException           포트를 열지 못한 경우 발생
+     * @throws IllegalStateException 이미 열려 있는 경우 발생
+     */
+    public synchronized int start(int port) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("start: 이미 열려 있는 worker입니다.");
+        }
+        ServerSocket opened = new ServerSocket();
+        opened.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        server = opened;
+        Thread acceptor = new Thread(() -> accept(opened), "monte-carlo-worker-" + opened.getLocalPort());
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return opened.getLocalPort();
+    }
+
+    /**
+     * 연결을 받지 않고 열려 있는 연결도 모두 닫습니다. 계산 중이던 구간은 coordinator가 다른 worker에 다시 맡깁니다.
+     */
+    @Override
+    public synchronized void close() {
+        if (server == null) {
+            return;
+        }
+        closeQuietly(server);
+        server = null;
+        for (Socket connection : connections) {
+            closeQuietly(connection);
+        }
+        connections.clear();
+    }
+
+    private void accept(ServerSocket opened) {
+        while (!opened.isClosed()) {
+            try {
+                Socket connection = opened.accept();
+                connections.add(connection);
+                Thread handler = new Thread(() -> serve(connection), "monte-carlo-worker-connection");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                return; // close()로 닫힌 경우입니다.
+            }
+        }
+    }
+
+    private void serve(Socket connection) {
+        try (connection;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()))) {
+            while (true) {
+                byte type;
+                try {
+                    type = in.readByte();
+                } catch (EOFException e) {
+                    return; // coordinator가 연결을 닫았습니다.
+                }
+                if (type != SHARD) {
+                    throw new IOException("MonteCarloWorker: 알 수 없는 요청 " + type);
+                }
+                String name = in.readUTF();
+                long seed = in.readLong();
+                long trials = in.readLong();
+                int from = in.readInt();
+                int to = in.readInt();
+                ToDoubleFunction<SplittableRandom> trial = experiments.get(name);
+                if (trial == null) {
+                    error(out, "등록하지 않은 시행 " + name);
+                    continue;
+                }
+                if (trials < 0 || from < 0 || from > to || to > TrialBlocks.blockCount(trials)) {
+                    error(out, "Out of range with [" + from + ", " + to + ") of " + trials);
+                    continue;
+                }
+                compute(out, name, trial, seed, trials, from, to);
+            }
+        } catch (IOException e) {
+            // 연결이 끊기면 이 연결만 정리합니다. 구간은 coordinator가 다시 맡깁니다.
+        } finally {
+            connections.remove(connection);
+        }
+    }
+
+    private static void compute(DataOutputStream out, String name, ToDoubleFunction<SplittableRandom> trial,
+                                long seed, long trials, int from, int to) throws IOException {
+        TrialBlocks blocks = new TrialBlocks(from, to - from);
+        ForkJoinTask<?> task = ForkJoinPool.commonPool().submit(() -> blocks.compute(from, to, seed, trials, trial));
+        while (true) {
+            try {
+                task.get(HEARTBEAT_MILLIS, TimeUnit.MILLISECONDS);
+                break;
+            } catch (TimeoutException e) {
+                out.writeByte(HEARTBEAT);
+                out.flush();
+            } catch (ExecutionException e) {
+                error(out, name + ": " + e.getCause());
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("MonteCarloWorker: 계산이 중단되었습니다.", e);
+            }
+        }
+        out.writeByte(RESULT);
+        blocks.writeTo(out, from, to);
+        out.flush();
+    }
+
+    private static void error(DataOutputStream out, String message) throws IOException {
+        out.writeByte(ERROR);
+        out.writeUTF(message);
+        out.flush();
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception ignored) {
+            // 닫는 중의 실패는 무시합니다.
+        }
+    }
+
+    private static void nullCheck(Object value, String name) {
+        if (value == null) {
+            throw new IllegalNullArgumentException("MonteCarloWorker: " + name + " 값이 null로 들어올 수 없습니다.");
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.tip.functional;
+
+import com.tip.functional.customexception.IllegalNullArgumentException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+/**
+ * 여러 설정(예: herbRatio와 분포 모수의 조합)을 한꺼번에 시행하는 매개변수 스윕입니다.
+ * 설정마다 시행을 batchSize개씩 묶어 ForkJoinPool의 작업 스레드들이 나누어 시행하며, 전체 시행 횟수는 trialBudget을 넘지 않습니다.
+ * 다음 묶음은 평균의 표준 오차가 가장 큰, 즉 아직 가장 불확실한 설정에 먼저 돌아갑니다.
+ * 표준 오차가 targetStandardError 이하로 내려간 설정은 더 시행하지 않으므로 남은 시행은 불확실한 설정에 몰립니다.
+ *
+ * <pre>{@code
+ * List<List<Double>> grid = ParameterSweep.grid(List.of(0.3, 0.5, 0.7), List.of(10.0, 20.0), List::of);
+ * SweepResult<List<Double>> result = ParameterSweep.of(grid, p -> potionEffect(p.get(0), p.get(1)))
+ *         .run(10_000_000, 0.05);
+ * result.report();
+ * }</pre>
+ *
+ * @param <P> 설정의 타입
+ */
+public final class ParameterSweep<P> {
+    public static final int DEFAULT_BATCH = 4096;
+    // n번 모두 0이 나온 0/1 사건의 확률 상한 3 / n(rule of three)에서의 표준 오차 √(3 / n) / √n = √3 / n의 분자입니다.
+    private static final double ZERO_ERROR_BOUND = Math.sqrt(3);
+
+    private final List<P> configurations;
+    private final Function<? super P, ? extends DoubleSupplier> model;
+
+    private ParameterSweep(List<P> configurations, Function<? super P, ? extends DoubleSupplier> model) {
+        this.configurations = configurations;
+        this.model = model;
+    }
+
+    /**
+     * 설정마다 model이 만든 DoubleSupplier를 불러 시행 값을 하나씩 얻는 스윕을 만듭니다.
+     * 한 설정의 DoubleSupplier는 한 번에 한 스레드만 부르지만 묶음마다 다른 스레드가 부를 수 있습니다.
+     * 그러므로 스레드에 안전할 필요는 없으나 만든 스레드에 묶인 값(예: 미리 받아 둔 ThreadLocalRandom.current())을 잡아 두면 안 됩니다.
+     *
+     * @param configurations 설정 목록. 결과 표도 이 순서를 따릅니다.
+     * @param model          설정을 받아 시행 값을 만드는 DoubleSupplier를 반환하는 함수
+     * @throws IllegalNullArgumentException 인자가 null인 경우 발생
+     * @throws IllegalArgumentException     설정이 하나도 없는 경우 발생
+     */
+    public static <P> ParameterSweep<P> of(List<? extends P> configurations,
+                                           Function<? super P, ? extends DoubleSupplier> model) {
+        nullCheck(configurations, "List<? extends P> configurations");
+        nullCheck(model, "Function<? super P, ? extends DoubleSupplier> model");
+        if (configurations.isEmpty()) {
+            throw new IllegalArgumentException("Out of range with " + configurations.size());
+        }
+        return new ParameterSweep<>(List.copyOf(configurations), model);
+    }
+
+    /**
+     * 두 매개변수 목록의 모든 조합으로 설정 목록을 만듭니다. 첫째 목록이 바깥 반복입니다.
+     */
+    public static <A, B, P> List<P> grid(List<? extends A> first, List<? extends B> second,
+                                         BiFunction<? super A, ? super B, ? extends P> combiner) {
+        nullCheck(first, "List<? extends A> first");
+        nullCheck(second, "List<? extends B> second");
+        nullCheck(combiner, "BiFunction<? super A, ? super B, ? extends P> combiner");
+        List<P> grid = new ArrayList<>(first.size() * second.size());
+        for (A a : first) {
+            for (B b : second) {
+                grid.add(combiner.apply(a, b));
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * trialBudget번을 모두 쓸 때까지 가장 불확실한 설정부터 시행합니다.
+     */
+    public SweepResult<P> run(long trialBudget) {
+        return run(trialBudget, 0, DEFAULT_BATCH);
+    }
+
+    public SweepResult<P> run(long trialBudget, double targetStandardError) {
+        return run(trialBudget, targetStandardError, DEFAULT_BATCH);
+    }
+
+    /**
+     * 설정들을 시행하고 설정마다의 기록을 표로 모읍니다.
+     *
+     * @param trialBudget         모든 설정을 합친 최대 시행 횟수
+     * @param targetStandardError 설정의 평균 표준 오차가 이 값 이하가 되면 그 설정은 더 시행하지 않습니다. 0이면 예산을 모두 씁니다.
+     *                            표준 오차가 0인 설정은 드문 사건을 아직 못 봤을 수 있으므로, 시행 횟수 n이 √3 / n ≤ 목표가 될 만큼
+     *                            쌓인 뒤에야 멈춥니다. n번 동안 나오지 않은 사건의 확률은 95% 신뢰로 3 / n 이하이기 때문입니다.
+     * @param batchSize           한 번에 한 설정을 이어서 시행하는 횟수
+     * @return 설정마다의 기록을 담은 결과 표
+     * @throws IllegalArgumentException trialBudget이나 targetStandardError가 음수이거나 batchSize가 1보다 작은 경우 발생
+     */
+    public SweepResult<P> run(long trialBudget, double targetStandardError, int batchSize) {
+        if (trialBudget < 0) {
+            throw new IllegalArgumentException("Out of range with " + trialBudget);
+        }
+        if (!(targetStandardError >= 0)) {
+            throw new IllegalArgumentException("Out of range with " + targetStandardError);
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Out of range with " + batchSize);
+        }
+        List<SweepRun<P>> runs = new ArrayList<>(configurations.size());
+        for (P parameters : configurations) {
+            DoubleSupplier trial = model.apply(parameters);
+            nullCheck(trial, "DoubleSupplier trial");
+            runs.add(new SweepRun<>(parameters, trial));
+        }
+        // 표준 오차가 큰 설정이 먼저, 같으면 덜 시행한 설정이 먼저 나옵니다.
+        Comparator<SweepRun<P>> uncertainty = Comparator.<SweepRun<P>>comparingDouble(SweepRun::standardError)
+                .reversed()
+                .thenComparingLong(SweepRun::count);
+        PriorityBlockingQueue<SweepRun<P>> queue = new PriorityBlockingQueue<>(runs.size(), uncertainty);
+        queue.addAll(runs);
+        AtomicLong remaining = new AtomicLong(trialBudget);
+        int workers = Math.min(ForkJoinPool.commonPool().getParallelism(), runs.size());
+        ForkJoinPool.commonPool().invoke(new SweepTask<>(queue, remaining, targetStandardError, batchSize, workers));
+        return new SweepResult<>(runs, trialBudget - Math.max(remaining.get(), 0));
+    }
+
+    // 작업 스레드 하나입니다. 큐에서 가장 불확실한 설정을 꺼내 한 묶음을 시행하고, 아직 불확실하면 다시 넣습니다.
+    // 설정은 큐에 하나씩만 있으므로 한 설정을 두 스레드가 동시에 시행하지 않습니다.
+    private static final class SweepTask<P> extends RecursiveAction {
+        private final PriorityBlockingQueue<SweepRun<P>> queue;
+        private final AtomicLong remaining;
+        private final double targetStandardError;
+        private final int batchSize;
+        private final int workers;
+
+        SweepTask(PriorityBlockingQueue<SweepRun<P>> queue, AtomicLong remaining, double targetStandardError,
+                  int batchSize, int workers) {
+            this.queue = queue;
+            this.remaining = remaining;
+            this.targetStandardError = targetStandardError;
+            this.batchSize = batchSize;
+            this.workers = workers;
+        }
+
+        @Override
+        protected void compute() {
+            if (workers > 1) {
+                int half = workers / 2;
+                invokeAll(new SweepTask<>(queue, remaining, targetStandardError, batchSize, half),
+                        new SweepTask<>(queue, remaining, targetStandardError, batchSize, workers - half));
+                return;
+            }
+            try {
+                SweepRun<P> run;
+                while ((run = queue.poll()) != null) {
+                    long trials = reserve();
+                    if (trials == 0) {
+                        return;
+                    }
+                    run.runBatch(trials);
+                    if (!settled(run)) {
+                        queue.add(run);
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                // 시행 하나가 실패하면 다른 작업 스레드도 더 시행하지 않도록 예산을 비웁니다.
+                remaining.set(0);
+                throw e;
+            }
+        }
+
+        private boolean settled(SweepRun<P> run) {
+            if (targetStandardError == 0) {
+                return false;
+            }
+            double standardError = run.standardError();
+            if (standardError == 0) {
+                return ZERO_ERROR_BOUND / run.count() <= targetStandardError;
+            }
+            return standardError <= targetStandardError;
+        }
+
+        private long reserve() {
+            while (true) {
+                long left = remaining.get();
+                if (left <= 0) {
+                    return 0;
+                }
+                long trials = Math.min(batchSize, left);
+                if (remaining.compareAndSet(left, left - trials)) {
+                    return trials;
+                }
+            }
+        }
+    }
+
+    private static void nullCheck(Object value, String name) {
+        if (value == null) {
+            throw new IllegalNullArgumentException("ParameterSweep: " + name + " 값이 null로 들어올 수 없습니다.");
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.tip.functional;
+
+import java.util.function.Supplier;
+
+/**
+ * {@link PipelineTemplate}에서 꺼낸 사슬 인스턴스입니다. 사슬의 마지막 단계를 그대로 내보내는 Iterator이며,
+ * 틀에는 인스턴스마다 둔 매개변수 칸을 Supplier로 넘깁니다. close()하면 틀의 풀로 돌아가므로 그 뒤에는 쓰면 안 됩니다.
+ * 사슬이 끝없는 순열이면 이 Iterator도 끝나지 않으므로 limit 단계나 {@link Budget}을 건 연산으로 소비해야 합니다.
+ *
+ * @param <P> 매개변수의 타입
+ * @param <T> 요소의 타입
+ */
+public final class Pipeline<P, T> implements ResettableIterator<T>, AutoCloseable {
+    private final PipelineTemplate<P, T> template;
+    private final Parameter<P> parameter = new Parameter<>();
+    private ResettableIterator<T> chain;
+    private boolean open;
+
+    Pipeline(PipelineTemplate<P, T> template) {
+        this.template = template;
+    }
+
+    // 틀이 사슬을 만들 때 넘기는 매개변수 칸입니다.
+    Supplier<P> parameter() {
+        return parameter;
+    }
+
+    void bind(P value) {
+        parameter.value = value;
+    }
+
+    void attach(ResettableIterator<T> chain) {
+        if (chain == null) {
+            throw new IllegalStateException("PipelineTemplate: 틀이 사슬 대신 null을 돌려주었습니다.");
+        }
+        this.chain = chain;
+    }
+
+    void open() {
+        chain.reset();
+        open = true;
+    }
+
+    @Override
+    public boolean hasNext() {
+        checkOpen();
+        return chain.hasNext();
+    }
+
+    @Override
+    public T next() {
+        checkOpen();
+        return chain.next();
+    }
+
+    /**
+     * 같은 매개변수로 사슬을 처음 상태로 되돌립니다.
+     */
+    @Override
+    public void reset() {
+        checkOpen();
+        chain.reset();
+    }
+
+    /**
+     * 인스턴스를 틀의 풀로 돌려줍니다. 두 번 불러도 한 번만 돌려줍니다.
+     */
+    @Override
+    public void close() {
+        if (open) {
+            open = false;
+            parameter.value = null;
+            template.release(this);
+        }
+    }
+
+    private void checkOpen() {
+        if (!open) {
+            throw new IllegalStateException("Pipeline: 풀로 돌려준 인스턴스입니다.");
+        }
+    }
+
+    private static final class Parameter<P> implements Supplier<P> {
+        private P value;
+
+        @Override
+        public P get() {
+            return value;
+        }
+    }
+}
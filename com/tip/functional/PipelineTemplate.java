@@ -0,0 +1,91 @@
+package com.tip.functional;
+
+import com.tip.functional.customexception.IllegalNullArgumentException;
+import java.util.ArrayDeque;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 한 번 정의해 두고 매개변수만 바꿔 가며 다시 쓰는 {@link Pipelines} 사슬의 틀입니다.
+ * 틀은 매개변수를 돌려주는 Supplier를 받아 사슬을 만드는 함수이며, 사슬은 인스턴스마다 한 번만 만듭니다.
+ * {@link #acquire(Object)}는 스레드마다 둔 풀에서 쉬고 있는 인스턴스를 꺼내 매개변수를 묶고 reset()하므로
+ * 짧은 시행 묶음을 수없이 돌려도 익명 Iterator와 람다를 묶음마다 새로 할당하지 않습니다.
+ *
+ * <pre>{@code
+ * PipelineTemplate<Long, Integer> trials = PipelineTemplate.of(n ->
+ *         Pipelines.limit(Pipelines.generate(() -> Mathx.dirichletTest() ? 1 : 0), () -> n.get()));
+ * try (Pipeline<Long, Integer> batch = trials.acquire(100L)) {
+ *     double ratio = Mathx.sum(batch) / 100;
+ * }
+ * }</pre>
+ *
+ * @param <P> 매개변수의 타입
+ * @param <T> 사슬이 내보내는 요소의 타입
+ */
+public final class PipelineTemplate<P, T> {
+    public static final int MAX_POOLED_PER_THREAD = 16;
+
+    private final Function<? super Supplier<P>, ? extends ResettableIterator<T>> definition;
+    private final ThreadLocal<ArrayDeque<Pipeline<P, T>>> pools = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private PipelineTemplate(Function<? super Supplier<P>, ? extends ResettableIterator<T>> definition) {
+        this.definition = definition;
+    }
+
+    /**
+     * @param definition 매개변수를 돌려주는 Supplier를 받아 사슬의 마지막 단계를 돌려주는 함수.
+     *                   매개변수는 Supplier를 통해서만 읽어야 다시 묶은 값이 보입니다.
+     * @throws IllegalNullArgumentException definition이 null인 경우 발생
+     */
+    public static <P, T> PipelineTemplate<P, T> of(
+            Function<? super Supplier<P>, ? extends ResettableIterator<T>> definition) {
+        if (definition == null) {
+            throw new IllegalNullArgumentException(
+                    "PipelineTemplate: Function<? super Supplier<P>, ? extends ResettableIterator<T>> definition 값이 null로 들어올 수 없습니다.");
+        }
+        return new PipelineTemplate<>(definition);
+    }
+
+    /**
+     * 이 스레드의 풀에서 인스턴스를 꺼내거나 풀이 비었으면 새로 만들고, parameter를 묶어 처음 상태로 되돌립니다.
+     * 다 쓴 인스턴스는 {@link Pipeline#close()}로 돌려줍니다. 인스턴스는 한 번에 한 스레드만 써야 합니다.
+     *
+     * @param parameter 이번에 쓸 매개변수
+     * @return 처음 상태의 사슬
+     * @throws RuntimeException 사슬을 이 매개변수로 되돌리다 단계가 던진 예외. 이때 인스턴스는 풀에 남습니다.
+     */
+    public Pipeline<P, T> acquire(P parameter) {
+        Pipeline<P, T> pipeline = pools.get().poll();
+        if (pipeline == null) {
+            pipeline = new Pipeline<>(this);
+            pipeline.bind(parameter);
+            pipeline.attach(definition.apply(pipeline.parameter()));
+        } else {
+            pipeline.bind(parameter);
+        }
+        try {
+            pipeline.open();
+        } catch (RuntimeException e) {
+            // 사슬은 다음 acquire에서 처음부터 다시 reset()하므로, 이번 매개변수로 되돌리다 실패한 인스턴스도 풀에 돌려줍니다.
+            pipeline.bind(null);
+            release(pipeline);
+            throw e;
+        }
+        return pipeline;
+    }
+
+    /**
+     * @return 이 스레드의 풀에서 쉬고 있는 인스턴스 수
+     */
+    public int pooled() {
+        return pools.get().size();
+    }
+
+    // 돌려받은 인스턴스를 돌려준 스레드의 풀에 넣습니다. 풀이 가득 차면 버립니다.
+    void release(Pipeline<P, T> pipeline) {
+        ArrayDeque<Pipeline<P, T>> pool = pools.get();
+        if (pool.size() < MAX_POOLED_PER_THREAD) {
+            pool.push(pipeline);
+        }
+    }
+}
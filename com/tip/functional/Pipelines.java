@@ -0,0 +1,302 @@
+package com.tip.functional;
+
+import com.tip.functional.customexception.IllegalNullArgumentException;
+import com.tip.functional.customexception.IteratorMaxSizeNegativeException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link Iterators}의 연산자와 같은 일을 하되 {@link ResettableIterator#reset()}으로 처음 상태로 되돌릴 수 있는 단계들입니다.
+ * 씨앗 값, 최대 크기, 원본은 값 대신 Supplier로도 받을 수 있으며, reset()할 때마다 다시 읽습니다.
+ * 그러므로 {@link PipelineTemplate}의 매개변수에 묶어 두면 사슬을 새로 할당하지 않고도 다른 매개변수로 다시 돌릴 수 있습니다.
+ * 단계는 만든 직후에도 reset()한 상태와 같습니다.
+ */
+public final class Pipelines {
+    private Pipelines() {}
+
+    /**
+     * reset()할 때마다 source가 돌려주는 Iterator를 원본으로 다시 묶습니다.
+     */
+    public static <T> ResettableIterator<T> source(Supplier<? extends Iterator<T>> source) {
+        nullCheck(source, "Supplier<? extends Iterator<T>> source");
+        return new Source<>(source);
+    }
+
+    public static <T> ResettableIterator<T> generate(Supplier<T> supplier) {
+        nullCheck(supplier, "Supplier<T> supplier");
+        return new Generate<>(supplier);
+    }
+
+    public static <T> ResettableIterator<T> iterate(T seed, UnaryOperator<T> f) {
+        nullCheck(f, "UnaryOperator<T> f");
+        return new Iterate<>(() -> seed, f);
+    }
+
+    /**
+     * reset()할 때마다 seed에서 씨앗 값을 다시 읽어 처음부터 다시 펼칩니다.
+     */
+    public static <T> ResettableIterator<T> iterateFrom(Supplier<? extends T> seed, UnaryOperator<T> f) {
+        nullCheck(seed, "Supplier<? extends T> seed");
+        nullCheck(f, "UnaryOperator<T> f");
+        return new Iterate<>(seed, f);
+    }
+
+    public static <E, R> ResettableIterator<R> map(ResettableIterator<E> iterator, Function<E, R> function) {
+        nullCheck(iterator, "ResettableIterator<E> iterator");
+        nullCheck(function, "Function<E, R> function");
+        return new Map<>(iterator, function);
+    }
+
+    public static <E> ResettableIterator<E> filter(ResettableIterator<E> iterator, Predicate<E> predicate) {
+        nullCheck(iterator, "ResettableIterator<E> iterator");
+        nullCheck(predicate, "Predicate<E> predicate");
+        return new Filter<>(iterator, predicate);
+    }
+
+    /**
+     * @throws IteratorMaxSizeNegativeException maxSize가 음수인 경우 발생
+     */
+    public static <T> ResettableIterator<T> limit(ResettableIterator<T> iterator, long maxSize) {
+        if (maxSize < 0) {
+            throw new IteratorMaxSizeNegativeException("limit: maxsize로 음수는 들어올 수 없습니다.");
+        }
+        return limit(iterator, () -> maxSize);
+    }
+
+    /**
+     * reset()할 때마다 maxSize에서 최대 크기를 다시 읽습니다.
+     *
+     * @throws IteratorMaxSizeNegativeException reset()할 때 읽은 최대 크기가 음수인 경우 발생
+     */
+    public static <T> ResettableIterator<T> limit(ResettableIterator<T> iterator, LongSupplier maxSize) {
+        nullCheck(iterator, "ResettableIterator<T> iterator");
+        nullCheck(maxSize, "LongSupplier maxSize");
+        return new Limit<>(iterator, maxSize);
+    }
+
+    public static <X, Y, Z> ResettableIterator<Z> zip(BiFunction<X, Y, Z> biFunction, ResettableIterator<X> xIterator,
+                                                      ResettableIterator<Y> yIterator) {
+        nullCheck(biFunction, "BiFunction<X, Y, Z> biFunction");
+        nullCheck(xIterator, "ResettableIterator<X> xIterator");
+        nullCheck(yIterator, "ResettableIterator<Y> yIterator");
+        return new Zip<>(biFunction, xIterator, yIterator);
+    }
+
+    private static final class Source<T> implements ResettableIterator<T> {
+        private final Supplier<? extends Iterator<T>> source;
+        private Iterator<T> current;
+
+        Source(Supplier<? extends Iterator<T>> source) {
+            this.source = source;
+            reset();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current.hasNext();
+        }
+
+        @Override
+        public T next() {
+            return current.next();
+        }
+
+        @Override
+        public void reset() {
+            Iterator<T> bound = source.get();
+            nullCheck(bound, "Iterator<T> source");
+            current = bound;
+        }
+    }
+
+    private static final class Generate<T> implements ResettableIterator<T>, InfiniteIterator<T> {
+        private final Supplier<T> supplier;
+
+        Generate(Supplier<T> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public T next() {
+            return supplier.get();
+        }
+
+        @Override
+        public void reset() {
+            // 상태가 없습니다.
+        }
+    }
+
+    private static final class Iterate<T> implements ResettableIterator<T>, InfiniteIterator<T> {
+        private final Supplier<? extends T> seed;
+        private final UnaryOperator<T> f;
+        private T current;
+
+        Iterate(Supplier<? extends T> seed, UnaryOperator<T> f) {
+            this.seed = seed;
+            this.f = f;
+            reset();
+        }
+
+        @Override
+        public T next() {
+            T old = current;
+            current = f.apply(current);
+            return old;
+        }
+
+        @Override
+        public void reset() {
+            current = seed.get();
+        }
+    }
+
+    private static final class Map<E, R> implements ResettableIterator<R> {
+        private final ResettableIterator<E> iterator;
+        private final Function<E, R> function;
+
+        Map(ResettableIterator<E> iterator, Function<E, R> function) {
+            this.iterator = iterator;
+            this.function = function;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public R next() {
+            return function.apply(iterator.next());
+        }
+
+        @Override
+        public void reset() {
+            iterator.reset();
+        }
+    }
+
+    private static final class Filter<E> implements ResettableIterator<E> {
+        private final ResettableIterator<E> iterator;
+        private final Predicate<E> predicate;
+        private E lookahead;
+        private boolean ready;
+
+        Filter(ResettableIterator<E> iterator, Predicate<E> predicate) {
+            this.iterator = iterator;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!ready && iterator.hasNext()) {
+                E candidate = iterator.next();
+                if (predicate.test(candidate)) {
+                    lookahead = candidate;
+                    ready = true;
+                }
+            }
+            return ready;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("filter: 더 이상 요소가 없습니다.");
+            }
+            E value = lookahead;
+            lookahead = null;
+            ready = false;
+            return value;
+        }
+
+        @Override
+        public void reset() {
+            lookahead = null;
+            ready = false;
+            iterator.reset();
+        }
+    }
+
+    private static final class Limit<T> implements ResettableIterator<T> {
+        private final ResettableIterator<T> iterator;
+        private final LongSupplier maxSizeSupplier;
+        private long maxSize;
+        private long count;
+
+        Limit(ResettableIterator<T> iterator, LongSupplier maxSizeSupplier) {
+            this.iterator = iterator;
+            this.maxSizeSupplier = maxSizeSupplier;
+            readMaxSize();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return count < maxSize && iterator.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (count >= maxSize) {
+                throw new NoSuchElementException();
+            }
+            count++;
+            return iterator.next();
+        }
+
+        @Override
+        public void reset() {
+            iterator.reset();
+            readMaxSize();
+        }
+
+        private void readMaxSize() {
+            long size = maxSizeSupplier.getAsLong();
+            if (size < 0) {
+                throw new IteratorMaxSizeNegativeException("limit: maxsize로 음수는 들어올 수 없습니다.");
+            }
+            maxSize = size;
+            count = 0;
+        }
+    }
+
+    private static final class Zip<X, Y, Z> implements ResettableIterator<Z> {
+        private final BiFunction<X, Y, Z> biFunction;
+        private final ResettableIterator<X> xIterator;
+        private final ResettableIterator<Y> yIterator;
+
+        Zip(BiFunction<X, Y, Z> biFunction, ResettableIterator<X> xIterator, ResettableIterator<Y> yIterator) {
+            this.biFunction = biFunction;
+            this.xIterator = xIterator;
+            this.yIterator = yIterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return xIterator.hasNext() && yIterator.hasNext();
+        }
+
+        @Override
+        public Z next() {
+            return biFunction.apply(xIterator.next(), yIterator.next());
+        }
+
+        @Override
+        public void reset() {
+            xIterator.reset();
+            yIterator.reset();
+        }
+    }
+
+    private static void nullCheck(Object value, String name) {
+        if (value == null) {
+            throw new IllegalNullArgumentException("Pipelines: " + name + " 값이 null로 들어올 수 없습니다.");
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.tip.functional;
+
+import com.tip.functional.customexception.IllegalNullArgumentException;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongConsumer;
+
+/**
+ * 구간을 나누어 체로 거르는 에라토스테네스의 체(segmented sieve)로 소수를 차례로 만듭니다.
+ * 홀수만 비트 하나씩 담은 32KB 비트셋(L1 캐시 크기)을 한 구간으로 쓰므로, 메모리는 상한이 아니라 구간 크기와
+ * 상한의 제곱근까지의 소수 개수에 비례합니다. 구간마다 3, 5, 7, 11, 13의 배수를 미리 지운 바퀴(wheel) 무늬를 word 단위로
+ * 복사한 뒤 17 이상의 소수로만 거릅니다. 거를 때 쓰는 소수도 필요한 만큼만 같은 방식의 체로 늘려 갑니다.
+ */
+public final class PrimeSieve {
+    static final int SEGMENT_BITS = 1 << 18;
+    private static final int SEGMENT_WORDS = SEGMENT_BITS / Long.SIZE;
+    private static final long[] SMALL_PRIMES = {2, 3, 5, 7, 11, 13};
+    private static final int FIRST_SIEVING_PRIME = 17;
+    private static final int WHEEL_PERIOD = 3 * 5 * 7 * 11 * 13;
+    private static final long[] WHEEL = wheel();
+    private static final long LEAF_NUMBERS = 64L * 2 * SEGMENT_BITS;
+
+    private PrimeSieve() {}
+
+    /**
+     * @return 2부터 시작하는 모든 소수를 차례로 내보내는 InfiniteLongIterator
+     */
+    public static InfiniteLongIterator primes() {
+        Segments segments = new Segments(2, Long.MAX_VALUE);
+        return segments::nextLong;
+    }
+
+    /**
+     * @return range 안의 소수를 차례로 내보내는 Iterator
+     */
+    public static PrimitiveIterator.OfLong primes(Range range) {
+        nullCheck(range, "Range range");
+        return new Segments(range.min(), range.end());
+    }
+
+    /**
+     * range 안의 소수 개수를 셉니다. range를 여러 구간 묶음으로 나누어 ForkJoinPool에서 병렬로 세며,
+     * 구간마다 지워지지 않은 비트를 Long.bitCount로 한꺼번에 셉니다.
+     *
+     * @return range 안의 소수 개수
+     */
+    public static long count(Range range) {
+        nullCheck(range, "Range range");
+        return ForkJoinPool.commonPool().invoke(new SieveTask(range.min(), range.end(), null));
+    }
+
+    /**
+     * range 안의 소수마다 consumer를 부릅니다. 구간 묶음들을 병렬로 거르므로 consumer는 여러 스레드에서 동시에 불릴 수 있고,
+     * 한 구간 묶음 안에서만 오름차순입니다.
+     *
+     * @param range    소수를 찾을 범위
+     * @param consumer 소수를 받을 스레드에 안전한 함수
+     */
+    public static void parallelForEach(Range range, LongConsumer consumer) {
+        nullCheck(range, "Range range");
+        nullCheck(consumer, "LongConsumer consumer");
+        ForkJoinPool.commonPool().invoke(new SieveTask(range.min(), range.end(), consumer));
+    }
+
+    private static void nullCheck(Object object, String name) {
+        if (object == null) {
+            throw new IllegalNullArgumentException("PrimeSieve: " + name + " 값이 null로 들어올 수 없습니다.");
+        }
+    }
+
+    // 홀수 번호 q(수 2q + 1)가 3, 5, 7, 11, 13 가운데 하나로 나누어지면 켠 비트 무늬입니다. 어느 위치에서든 64비트를 꺼낼 수 있도록
+    // 한 주기 뒤에 두 word를 더 이어 붙입니다.
+    private static long[] wheel() {
+        long[] wheel = new long[(WHEEL_PERIOD + Long.SIZE - 1) / Long.SIZE + 2];
+        for (int q = 0; q < wheel.length * Long.SIZE; q++) {
+            long number = 2L * (q % WHEEL_PERIOD) + 1;
+            if (number % 3 == 0 || number % 5 == 0 || number % 7 == 0 || number % 11 == 0 || number % 13 == 0) {
+                wheel[q >>> 6] |= 1L << q;
+            }
+        }
+        return wheel;
+    }
+
+    private static long wheelWord(int offset) {
+        int word = offset >>> 6;
+        int shift = offset & 63;
+        return shift == 0 ? WHEEL[word] : (WHEEL[word] >>> shift) | (WHEEL[word + 1] << (Long.SIZE - shift));
+    }
+
+    /**
+     * [start, end) 범위를 구간 하나씩 거르며 소수를 내보냅니다. 구간의 비트 i는 홀수 segmentLow + 2i를 나타내고,
+     * 켜진 비트는 합성수입니다.
+     */
+    private static final class Segments implements PrimitiveIterator.OfLong {
+        private final long start;
+        private final long end;
+        private final long[] bits = new long[SEGMENT_WORDS];
+        private int smallIndex;
+        private long segmentLow;
+        private int segmentBits;
+        private int position;
+        private long pending = -1;
+        private boolean exhausted;
+
+        // 17 이상이고 제곱이 지금 구간 끝보다 작은 소수들과 그 소수의 다음 홀수 배수입니다.
+        private long[] sievingPrimes = new long[0];
+        private long[] nextMultiples = new long[0];
+        private int sievingCount;
+        private long sievingLimit = FIRST_SIEVING_PRIME - 1;
+
+        Segments(long start, long end) {
+            this.start = start;
+            this.end = end;
+            long low = Math.max(start, 15);
+            this.segmentLow = (low & 1) == 0 ? low + 1 : low;
+            this.segmentBits = 0;
+            this.position = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (pending < 0 && !exhausted) {
+                pending = advance();
+                exhausted = pending < 0;
+            }
+            return pending >= 0;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("PrimeSieve: 더 이상 소수가 없습니다.");
+            }
+            long prime = pending;
+            pending = -1;
+            return prime;
+        }
+
+        /**
+         * 남은 소수를 모두 세고 consumer가 있으면 넘깁니다. 구간마다 word 단위로 셉니다.
+         */
+        long drain(LongConsumer consumer) {
+            long count = 0;
+            if (pending >= 0) {
+                count++;
+                if (consumer != null) {
+                    consumer.accept(pending);
+                }
+                pending = -1;
+            }
+            while (smallIndex < SMALL_PRIMES.length) {
+                long prime = SMALL_PRIMES[smallIndex++];
+                if (prime >= start && prime < end) {
+                    count++;
+                    if (consumer != null) {
+                        consumer.accept(prime);
+                    }
+                }
+            }
+            while (true) {
+                for (int word = position >>> 6; word * Long.SIZE < segmentBits; word++) {
+                    long candidates = ~bits[word];
+                    if (word == position >>> 6) {
+                        candidates &= -1L << position;
+                    }
+                    if (consumer == null) {
+                        count += Long.bitCount(candidates);
+                        continue;
+                    }
+                    while (candidates != 0) {
+                        int bit = Long.numberOfTrailingZeros(candidates);
+                        consumer.accept(segmentLow + 2L * (word * Long.SIZE + bit));
+                        candidates &= candidates - 1;
+                        count++;
+                    }
+                }
+                position = segmentBits;
+                if (!nextSegment()) {
+                    exhausted = true;
+                    return count;
+                }
+            }
+        }
+
+        private long advance() {
+            while (smallIndex < SMALL_PRIMES.length) {
+                long prime = SMALL_PRIMES[smallIndex++];
+                if (prime >= start && prime < end) {
+                    return prime;
+                }
+            }
+            while (true) {
+                for (int word = position >>> 6; word * Long.SIZE < segmentBits; word++) {
+                    long candidates = ~bits[word] & (-1L << (position & 63));
+                    if (candidates != 0) {
+                        int bit = word * Long.SIZE + Long.numberOfTrailingZeros(candidates);
+                        position = bit + 1;
+                        return segmentLow + 2L * bit;
+                    }
+                    position = (word + 1) * Long.SIZE;
+                }
+                if (!nextSegment()) {
+                    return -1;
+                }
+            }
+        }
+
+        private boolean nextSegment() {
+            segmentLow += 2L * segmentBits;
+            if (segmentLow >= end || segmentLow < 0) {
+                return false;
+            }
+            segmentBits = (int) Math.min(SEGMENT_BITS, (end - segmentLow + 1) / 2);
+            position = 0;
+            long segmentHigh = segmentLow + 2L * segmentBits;
+            extendSievingPrimes(segmentHigh);
+
+            // 바퀴 무늬를 복사하여 3부터 13까지의 배수를 한꺼번에 지웁니다.
+            int words = (segmentBits + Long.SIZE - 1) / Long.SIZE;
+            int offset = (int) (((segmentLow - 1) / 2) % WHEEL_PERIOD);
+            for (int word = 0; word < words; word++) {
+                bits[word] = wheelWord(offset);
+                offset += Long.SIZE;
+                if (offset >= WHEEL_PERIOD) {
+                    offset -= WHEEL_PERIOD;
+                }
+            }
+            if ((segmentBits & 63) != 0) {
+                bits[words - 1] |= -1L << segmentBits;
+            }
+            for (int k = 0; k < sievingCount; k++) {
+                long prime = sievingPrimes[k];
+                long multiple = nextMultiples[k];
+                if (multiple >= segmentHigh) {
+                    continue;
+                }
+                long index = (multiple - segmentLow) >>> 1;
+                for (; index < segmentBits; index += prime) {
+                    bits[(int) (index >>> 6)] |= 1L << index;
+                }
+                nextMultiples[k] = segmentLow + 2 * index;
+            }
+            return true;
+        }
+
+        // 구간 끝의 제곱근까지의 소수가 없으면 그 두 배까지 같은 체로 더 구합니다.
+        private void extendSievingPrimes(long segmentHigh) {
+            long needed = sqrtFloor(segmentHigh - 1);
+            if (needed <= sievingLimit) {
+                return;
+            }
+            long limit = Math.max(needed, Math.min(2 * sievingLimit, 3_037_000_499L));
+            Segments more = new Segments(sievingLimit + 1, limit + 1);
+            while (more.hasNext()) {
+                long prime = more.nextLong();
+                if (prime < FIRST_SIEVING_PRIME) {
+                    continue;
+                }
+                if (sievingCount == sievingPrimes.length) {
+                    sievingPrimes = Arrays.copyOf(sievingPrimes, Math.max(16, sievingCount * 2));
+                    nextMultiples = Arrays.copyOf(nextMultiples, sievingPrimes.length);
+                }
+                long multiple = Math.max(prime * prime, (segmentLow + prime - 1) / prime * prime);
+                if ((multiple & 1) == 0) {
+                    multiple += prime;
+                }
+                sievingPrimes[sievingCount] = prime;
+                nextMultiples[sievingCount++] = multiple;
+            }
+            sievingLimit = limit;
+        }
+
+        private static long sqrtFloor(long value) {
+            long root = (long) Math.sqrt((double) value);
+            while (root * root > value) {
+                root--;
+            }
+            while ((root + 1) * (root + 1) <= value) {
+                root++;
+            }
+            return root;
+        }
+    }
+
+    private static final class SieveTask extends RecursiveTask<Long> {
+        private final long start;
+        private final long end;
+        private final LongConsumer consumer;
+
+        SieveTask(long start, long end, LongConsumer consumer) {
+            this.start = start;
+            this.end = end;
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected Long compute() {
+            if (end - start > 2 * LEAF_NUMBERS) {
+                long middle = start + (end - start) / 2;
+                SieveTask left = new SieveTask(start, middle, consumer);
+                left.fork();
+                long right = new SieveTask(middle, end, consumer).compute();
+                return left.join() + right;
+            }
+            return new Segments(start, end).drain(consumer);
+        }
+    }
+}
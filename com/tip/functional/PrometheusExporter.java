@@ -0,0 +1,136 @@
+package com.tip.functional;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 등록한 Experiments와 Meter를 Prometheus 텍스트 형식으로 내보내는 HTTP 엔드포인트입니다.
+ * JDK에 들어 있는 com.sun.net.httpserver만 쓰며, GET /metrics 요청마다 스냅샷을 새로 만들어 응답합니다.
+ * 스냅샷은 동시 기록 모드 Experiments의 스레드별 칸과 Meter의 LongAdder를 읽기만 하므로 값을 기록하는 스레드를 막지 않습니다.
+ * 분위수도 스레드별 이중 버퍼 스케치를 바꿔 넣어 가져오므로, 기록하는 스레드는 스크레이프가 스케치를 합치는 동안에도 기다리지 않습니다.
+ * 단일 스레드 모드 Experiments는 계수와 합계만 내보내며 조금 늦은 값이 보일 수 있습니다.
+ * 분위수는 동시 기록 모드 Experiments만 내보냅니다. 단일 스레드 모드 스케치는 기록하는 도중에 읽을 수 없기 때문입니다.
+ */
+public final class PrometheusExporter implements AutoCloseable {
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private final Map<String, Experiments<?>> experiments = new ConcurrentSkipListMap<>();
+    private final Map<String, Meter> meters = new ConcurrentSkipListMap<>();
+    private HttpServer server;
+
+    public PrometheusExporter register(String name, Experiments<?> experiment) {
+        experiments.put(name, experiment);
+        return this;
+    }
+
+    public PrometheusExporter register(String name, Meter meter) {
+        meters.put(name, meter);
+        return this;
+    }
+
+    /**
+     * localhost의 주어진 포트에서 /metrics 엔드포인트를 엽니다.
+     *
+     * @param port 열 포트. 0이면 비어 있는 포트를 고릅니다.
+     * @return 실제로 열린 포트
+     * @throws IOException          포트를 열지 못한 경우 발생
+     * @throws IllegalStateException 이미 열려 있는 경우 발생
+     */
+    public synchronized int start(int port) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("start: 이미 열려 있는 엔드포인트입니다.");
+        }
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", this::handle);
+        server.start();
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * @return 등록한 모든 지표를 Prometheus 텍스트 형식으로 쓴 문자열
+     */
+    public String render() {
+        StringBuilder text = new StringBuilder();
+        if (!experiments.isEmpty()) {
+            text.append("# HELP experiment Values recorded by an Experiments instance.\n");
+            text.append("# TYPE experiment summary\n");
+            for (Map.Entry<String, Experiments<?>> entry : experiments.entrySet()) {
+                String label = "experiment=\"" + escape(entry.getKey()) + "\"";
+                Experiments<?> experiment = entry.getValue();
+                ExperimentsSnapshot snapshot = experiment.snapshot();
+                if (experiment.isConcurrent() && experiment.hasQuantiles()) {
+                    KllSketch sketch = experiment.quantileSketch();
+                    for (double quantile : QUANTILES) {
+                        sample(text, "experiment", label + ",quantile=\"" + quantile + "\"",
+                                sketch.quantile(quantile));
+                    }
+                }
+                sample(text, "experiment_sum", label, snapshot.sum());
+                sample(text, "experiment_count", label, snapshot.count());
+            }
+        }
+        if (!meters.isEmpty()) {
+            text.append("# HELP pipeline_elements_total Elements that passed through a metered pipeline.\n");
+            text.append("# TYPE pipeline_elements_total counter\n");
+            for (Map.Entry<String, Meter> entry : meters.entrySet()) {
+                sample(text, "pipeline_elements_total", "pipeline=\"" + escape(entry.getKey()) + "\"",
+                        entry.getValue().count());
+            }
+        }
+        return text.toString();
+    }
+
+    private static void sample(StringBuilder text, String name, String labels, double value) {
+        text.append(name).append('{').append(labels).append("} ").append(format(value)).append('\n');
+    }
+
+    private static void sample(StringBuilder text, String name, String labels, long value) {
+        text.append(name).append('{').append(labels).append("} ").append(value).append('\n');
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return Double.toString(value);
+    }
+
+    // label 값 안의 역슬래시, 큰따옴표, 줄바꿈은 Prometheus 형식에 맞게 escape합니다.
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,15 @@
+package com.tip.functional;
+
+/**
+ * {@link SimulationModel}에 선언한 확률 변수(노드)를 가리키는 핸들입니다.
+ * 값은 들고 있지 않으며, 모델이 시행마다 계산하는 값의 자리 번호만 기억합니다.
+ */
+public final class RandomVariable {
+    final SimulationModel model;
+    final int id;
+
+    RandomVariable(SimulationModel model, int id) {
+        this.model = model;
+        this.id = id;
+    }
+}
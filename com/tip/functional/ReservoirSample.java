@@ -0,0 +1,95 @@
+package com.tip.functional;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 지나가는 값들 가운데 k개를 고르게(uniformly) 뽑아 두는 reservoir sampling 클래스입니다.
+ * Experiments처럼 원본 Iterator를 감싸서 값을 그대로 넘겨주면서, 뽑힌 값만 primitive 배열에 저장합니다.
+ * Algorithm L을 써서 다음에 뽑힐 값까지 건너뛸 개수를 기하 분포로 미리 정하기 때문에
+ * 대부분의 값은 난수를 만들지 않고 계수만 줄이고 지나갑니다. 언제든 {@link #values()}로 현재 표본을 꺼낼 수 있습니다.
+ *
+ * @param <T> 원본 Iterator의 요소 타입
+ */
+public class ReservoirSample<T extends Number> implements Iterator<T> {
+    private final Iterator<T> internalIterator; // 내부 반복자
+    private final double[] reservoir; // 표본
+    private long seen = 0; // 지나간 값의 개수
+    private long skip = 0; // 다음에 뽑힐 값까지 건너뛸 개수
+    private double w; // Algorithm L의 W
+
+    public ReservoirSample(Iterator<T> internalIterator, int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("Out of range with " + k);
+        }
+        this.internalIterator = internalIterator;
+        this.reservoir = new double[k];
+    }
+
+    @Override
+    public boolean hasNext() {
+        return internalIterator.hasNext();
+    }
+
+    @Override
+    public T next() {
+        T value = internalIterator.next();
+        offer(value.doubleValue());
+        return value;
+    }
+
+    /**
+     * 값을 하나 흘려 보냅니다. 표본이 다 차지 않았으면 저장하고, 다 찼으면 건너뛸 개수가 다 된 값만 임의의 자리에 바꿔 넣습니다.
+     *
+     * @param value 지나가는 값
+     */
+    public void offer(double value) {
+        int k = reservoir.length;
+        if (seen < k) {
+            reservoir[(int) seen++] = value;
+            if (seen == k) {
+                w = Math.exp(Math.log(randomOpen()) / k);
+                nextSkip();
+            }
+            return;
+        }
+        seen++;
+        if (skip > 0) {
+            skip--;
+            return;
+        }
+        reservoir[ThreadLocalRandom.current().nextInt(k)] = value;
+        w *= Math.exp(Math.log(randomOpen()) / k);
+        nextSkip();
+    }
+
+    private void nextSkip() {
+        double gap = Math.floor(Math.log(randomOpen()) / Math.log1p(-w));
+        skip = gap >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) gap;
+    }
+
+    // log에 넣을 수 있도록 0을 뺀 (0, 1) 구간의 난수를 반환합니다.
+    static double randomOpen() {
+        double u;
+        do {
+            u = ThreadLocalRandom.current().nextDouble();
+        } while (u == 0.0);
+        return u;
+    }
+
+    /**
+     * @return 현재까지 뽑힌 표본의 복사본. 지나간 값이 k개보다 적으면 그 값들을 모두 반환합니다.
+     */
+    public double[] values() {
+        return Arrays.copyOf(reservoir, size());
+    }
+
+    public int size() {
+        return (int) Math.min(seen, reservoir.length);
+    }
+
+    public long seen() {
+        return seen;
+    }
+}
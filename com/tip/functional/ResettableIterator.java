@@ -0,0 +1,16 @@
+package com.tip.functional;
+
+import java.util.Iterator;
+
+/**
+ * 처음 상태로 되돌릴 수 있는 Iterator입니다. {@link Pipelines}의 단계들이 구현하며,
+ * 마지막 단계에서 reset()을 부르면 앞 단계들도 차례로 되돌아가므로 사슬을 새로 만들지 않고 다시 쓸 수 있습니다.
+ *
+ * @param <T> 요소의 타입
+ */
+public interface ResettableIterator<T> extends Iterator<T> {
+    /**
+     * 이 단계와 앞 단계들을 처음 상태로 되돌립니다. 씨앗 값이나 원본은 이때 다시 읽습니다.
+     */
+    void reset();
+}
@@ -0,0 +1,273 @@
+package com.tip.functional;
+
+import com.tip.functional.customexception.IllegalNullArgumentException;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * 몬테카를로 시행 결과를 디렉터리에 저장해 두고, 같은 설정과 seed로 다시 시행하면 저장한 결과를 돌려주는 캐시입니다.
+ * 파일 이름은 설정 문자열과 seed의 SHA-256 지문이므로 내용이 같은 시행은 같은 파일을 가리킵니다.
+ *
+ * <p>시행은 {@link #BLOCK_TRIALS}개씩 구간으로 나누고, 구간마다 seed와 구간 번호로 정해지는 SplittableRandom을 씁니다.
+ * 그러므로 구간마다의 계수, 합계, 편차 제곱합만 저장해 두면, 더 많은 시행을 요청받았을 때 저장한 구간은 그대로 쓰고
+ * 모자란 구간만 계산하여 이어 붙일 수 있습니다. 구간들은 언제나 번호 순서로 합치므로 결과는 처음부터 계산한 것과 같습니다.
+ *
+ * <p>저장한 파일 크기의 합이 maxBytes를 넘으면 가장 오래 쓰지 않은 결과부터 지웁니다.
+ * 마지막으로 쓴 시각은 파일의 수정 시각에 남기므로 프로세스를 다시 띄워도 순서가 이어집니다.
+ *
+ * <pre>{@code
+ * ResultCache cache = new ResultCache(Path.of("results"), 64 << 20);
+ * CachedResult effect = cache.run("potion herbRatio=0.2", 42, 10_000_000,
+ *         random -> random.nextDouble() < 0.2 ? 90 + 10 * random.nextGaussian() : 50 + 30 * random.nextGaussian());
+ * }</pre>
+ */
+public final class ResultCache {
+    public static final int BLOCK_TRIALS = TrialBlocks.BLOCK_TRIALS;
+    private static final byte FORMAT = 1;
+    private static final String SUFFIX = ".result";
+
+    private final Path directory;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true); // 파일 이름 -> 크기
+    private long totalBytes;
+
+    /**
+     * directory에 있는 결과들을 마지막으로 쓴 순서대로 읽어 들입니다. 디렉터리가 없으면 만듭니다.
+     *
+     * @param directory 결과를 저장할 디렉터리
+     * @param maxBytes  저장할 결과 파일 크기 합의 상한
+     * @throws IllegalArgumentException maxBytes가 1보다 작은 경우 발생
+     * @throws UncheckedIOException     디렉터리를 만들거나 읽지 못한 경우 발생
+     */
+    public ResultCache(Path directory, long maxBytes) {
+        nullCheck(directory, "Path directory");
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Out of range with " + maxBytes);
+        }
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        List<Path> files = new ArrayList<>();
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> listing = Files.list(directory)) {
+                listing.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).forEach(files::add);
+            }
+            files.sort(Comparator.comparing(ResultCache::lastModified));
+            for (Path file : files) {
+                long size = Files.size(file);
+                entries.put(file.getFileName().toString(), size);
+                totalBytes += size;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        evict();
+    }
+
+    /**
+     * configuration과 seed로 trials번 시행한 결과를 돌려줍니다.
+     * 캐시에 trials번 이상 시행한 결과가 있으면 바로 돌려주고, 더 적게 시행한 결과가 있으면 모자란 만큼만 이어서 시행합니다.
+     * 구간들은 ForkJoinPool에서 병렬로 계산하므로 trial은 스레드에 안전해야 하며,
+     * 캐시가 의미를 가지려면 난수는 넘겨받은 SplittableRandom에서만 얻어야 합니다.
+     *
+     * @param configuration 시행 설정을 빠짐없이 적은 문자열. 설정이 다르면 문자열도 달라야 합니다.
+     * @param seed          난수 seed
+     * @param trials        시행 횟수
+     * @param trial         난수를 받아 시행 값 하나를 계산하는 함수
+     * @return 시행 결과
+     * @throws IllegalArgumentException trials가 음수인 경우 발생
+     * @throws UncheckedIOException     결과를 저장하지 못한 경우 발생
+     */
+    public CachedResult run(String configuration, long seed, long trials, ToDoubleFunction<SplittableRandom> trial) {
+        nullCheck(configuration, "String configuration");
+        nullCheck(trial, "ToDoubleFunction<SplittableRandom> trial");
+        if (trials < 0) {
+            throw new IllegalArgumentException("Out of range with " + trials);
+        }
+        String name = fingerprint(configuration, seed) + SUFFIX;
+        TrialBlocks stored = load(name, configuration, seed);
+        TrialBlocks blocks = new TrialBlocks(TrialBlocks.blockCount(trials));
+        int reused = 0;
+        if (stored != null) {
+            // 저장한 구간은 마지막 구간만 덜 찰 수 있으므로, 길이가 맞는 구간이 앞에서부터 이어집니다.
+            while (reused < blocks.size() && reused < stored.size()
+                    && stored.counts[reused] == TrialBlocks.blockLength(trials, reused)) {
+                blocks.copy(reused, stored, reused);
+                reused++;
+            }
+        }
+        long computed = 0;
+        if (reused < blocks.size()) {
+            blocks.compute(reused, blocks.size(), seed, trials, trial);
+            computed = trials - (long) reused * BLOCK_TRIALS;
+            if (stored == null || trials > stored.count()) {
+                store(name, configuration, seed, blocks);
+            }
+        }
+        return new CachedResult(blocks.count(), blocks.sum(), blocks.squaredDeviations(), computed);
+    }
+
+    /**
+     * @return 저장한 결과 파일 크기의 합
+     */
+    public synchronized long sizeInBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * @return 저장한 결과의 개수
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 저장한 결과를 모두 지웁니다.
+     *
+     * @throws UncheckedIOException 파일을 지우지 못한 경우 발생
+     */
+    public synchronized void clear() {
+        for (Iterator<String> names = entries.keySet().iterator(); names.hasNext(); ) {
+            delete(names.next());
+            names.remove();
+        }
+        totalBytes = 0;
+    }
+
+    /**
+     * @return configuration과 seed의 SHA-256 지문을 16진수로 쓴 문자열
+     */
+    static String fingerprint(String configuration, long seed) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(configuration.getBytes(StandardCharsets.UTF_8));
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                digest.update((byte) (seed >>> shift));
+            }
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : digest.digest()) {
+                hex.append(Character.forDigit((b >>> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("ResultCache: SHA-256을 쓸 수 없습니다.", e);
+        }
+    }
+
+    // 저장한 결과를 읽습니다. 파일이 깨졌거나 지문이 겹친 다른 설정의 결과이면 지우고 없는 것으로 칩니다.
+    private TrialBlocks load(String name, String configuration, long seed) {
+        synchronized (this) {
+            if (entries.get(name) == null) {
+                return null;
+            }
+        }
+        Path file = directory.resolve(name);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            byte[] expected = configuration.getBytes(StandardCharsets.UTF_8);
+            if (in.readByte() != FORMAT || in.readInt() != expected.length) {
+                throw new IOException("ResultCache: 맞지 않는 결과 " + name);
+            }
+            byte[] written = new byte[expected.length];
+            in.readFully(written);
+            int size;
+            if (!Arrays.equals(written, expected) || in.readLong() != seed || in.readInt() != BLOCK_TRIALS
+                    || (size = in.readInt()) < 0 || size > Files.size(file) / TrialBlocks.BLOCK_BYTES) {
+                throw new IOException("ResultCache: 맞지 않는 결과 " + name);
+            }
+            TrialBlocks blocks = new TrialBlocks(size);
+            blocks.readFrom(in, 0, size);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return blocks;
+        } catch (IOException e) {
+            synchronized (this) {
+                Long size = entries.remove(name);
+                if (size != null) {
+                    totalBytes -= size;
+                    delete(name);
+                }
+            }
+            return null;
+        }
+    }
+
+    // 임시 파일에 쓴 뒤 이름을 바꾸므로 다른 스레드나 프로세스가 반쯤 쓴 파일을 읽는 일이 없습니다.
+    private void store(String name, String configuration, long seed, TrialBlocks blocks) {
+        try {
+            Path temporary = Files.createTempFile(directory, "result", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                byte[] written = configuration.getBytes(StandardCharsets.UTF_8);
+                out.writeByte(FORMAT);
+                out.writeInt(written.length);
+                out.write(written);
+                out.writeLong(seed);
+                out.writeInt(BLOCK_TRIALS);
+                out.writeInt(blocks.size());
+                blocks.writeTo(out, 0, blocks.size());
+            }
+            long size = Files.size(temporary);
+            synchronized (this) {
+                Files.move(temporary, directory.resolve(name), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+                Long previous = entries.put(name, size);
+                totalBytes += size - (previous == null ? 0 : previous);
+                evict();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private synchronized void evict() {
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            delete(entry.getKey());
+            totalBytes -= entry.getValue();
+            eldest.remove();
+        }
+    }
+
+    private void delete(String name) {
+        try {
+            Files.deleteIfExists(directory.resolve(name));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void nullCheck(Object value, String name) {
+        if (value == null) {
+            throw new IllegalNullArgumentException("ResultCache: " + name + " 값이 null로 들어올 수 없습니다.");
+        }
+    }
+}
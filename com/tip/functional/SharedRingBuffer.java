@@ -0,0 +1,315 @@
+package com.tip.functional;
+
+import com.tip.functional.customexception.IllegalNullArgumentException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 메모리 매핑한 파일 위의 고리 버퍼(ring buffer)로 한 JVM이 만든 double 값을 다른 JVM에 넘깁니다.
+ * 쓰는 쪽({@link Writer})과 읽는 쪽({@link Reader})이 하나씩만 있다고(single producer, single consumer) 가정하므로 락이 없습니다.
+ *
+ * <p>쓰는 쪽은 값을 칸에 쓴 뒤 쓰기 번호를 release로 내보내고, 읽는 쪽은 쓰기 번호를 acquire로 읽은 뒤 칸을 읽습니다.
+ * 읽기 번호도 같은 방식으로 돌려보냅니다. 두 번호는 다른 캐시 줄에 두고, 상대 번호는 버퍼가 가득 찼거나 비었을 때만 다시 읽으므로
+ * 평소에는 값 하나에 평범한 읽기와 쓰기 한 번씩만 듭니다. 기다릴 때는 잠깐 돌다가(spin) 양보하고, 그래도 오래 걸리면 잠깐 잠듭니다.
+ *
+ * <p>파일은 쓰는 쪽이 임시 파일에 머리말을 다 쓴 뒤 이름을 바꾸어 내놓으므로, 읽는 쪽은 파일이 보이면 바로 쓸 수 있습니다.
+ * 한 파일은 한 번의 흐름에만 씁니다. 쓰는 쪽이 값을 만들다 실패하면 {@link Writer#abort()}로 알리고, 읽는 쪽은 그때까지 쓴 값을
+ * 다 읽은 뒤 예외를 던지므로 잘린 흐름을 끝까지 받은 것으로 여기지 않습니다. 쓰는 쪽이 닫기 전에 죽으면 읽는 쪽은 다음 값을 끝없이 기다립니다.
+ *
+ * <pre>{@code
+ * // 만드는 JVM
+ * Iterators.writeShared(limit(Mathx.normalDistribution(50, 30), 100_000_000), Path.of("/dev/shm/effects"), 1 << 16);
+ * // 읽는 JVM
+ * PrimitiveIterator.OfDouble effects = Iterators.readShared(Path.of("/dev/shm/effects"));
+ * }</pre>
+ */
+public final class SharedRingBuffer {
+    public static final int MAX_CAPACITY = 1 << 27;
+    public static final long DEFAULT_OPEN_TIMEOUT_MILLIS = 10_000;
+    private static final long MAGIC = 0x52494e4742554631L; // "RINGBUF1"
+    private static final int MAGIC_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int WRITE_OFFSET = 64;
+    private static final int READ_OFFSET = 128;
+    private static final int CLOSED_OFFSET = 192; // OPEN, FINISHED, ABORTED 중 하나입니다.
+    private static final int DATA_OFFSET = 256;
+    private static final long OPEN = 0;
+    private static final long FINISHED = 1;
+    private static final long ABORTED = 2;
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class,
+            ByteOrder.nativeOrder());
+
+    private SharedRingBuffer() {}
+
+    /**
+     * path에 고리 버퍼를 새로 만듭니다. 같은 이름의 파일이 있으면 바꿉니다.
+     *
+     * @param path     만들 파일. 리눅스에서는 /dev/shm 아래에 두면 디스크에 쓰지 않습니다.
+     * @param capacity 칸 수. 2의 거듭제곱으로 올립니다.
+     * @return 쓰는 쪽
+     * @throws IllegalArgumentException capacity가 1보다 작거나 {@link #MAX_CAPACITY}보다 큰 경우 발생
+     * @throws UncheckedIOException     파일을 만들지 못한 경우 발생
+     */
+    public static Writer create(Path path, int capacity) {
+        nullCheck(path, "Path path");
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Out of range with " + capacity);
+        }
+        int slots = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        Path target = path.toAbsolutePath();
+        try {
+            Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            MappedByteBuffer buffer = map(temporary, DATA_OFFSET + (long) slots * Double.BYTES);
+            buffer.putLong(CAPACITY_OFFSET, slots);
+            LONGS.setRelease(buffer, MAGIC_OFFSET, MAGIC);
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new Writer(buffer, slots);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static Reader open(Path path) {
+        return open(path, DEFAULT_OPEN_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * path의 고리 버퍼를 읽는 쪽으로 엽니다. 파일이 아직 없으면 쓰는 쪽이 만들 때까지 timeoutMillis만큼 기다립니다.
+     *
+     * @return 읽는 쪽
+     * @throws UncheckedIOException 기다려도 파일이 없거나 고리 버퍼 파일이 아닌 경우 발생
+     */
+    public static Reader open(Path path, long timeoutMillis) {
+        nullCheck(path, "Path path");
+        if (timeoutMillis < 0) {
+            throw new IllegalArgumentException("Out of range with " + timeoutMillis);
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Idle idle = new Idle();
+        try {
+            while (!Files.exists(path)) {
+                if (System.nanoTime() - deadline > 0) {
+                    throw new NoSuchFileException(path.toString());
+                }
+                idle.idle();
+            }
+            long size = Files.size(path);
+            if (size < DATA_OFFSET) {
+                throw new IOException("SharedRingBuffer: 고리 버퍼 파일이 아닙니다. " + path);
+            }
+            MappedByteBuffer buffer = map(path, size);
+            long slots = buffer.getLong(CAPACITY_OFFSET);
+            if ((long) LONGS.getAcquire(buffer, MAGIC_OFFSET) != MAGIC
+                    || size != DATA_OFFSET + slots * Double.BYTES) {
+                throw new IOException("SharedRingBuffer: 고리 버퍼 파일이 아닙니다. " + path);
+            }
+            return new Reader(buffer, (int) slots);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MappedByteBuffer map(Path path, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.nativeOrder());
+            return buffer;
+        }
+    }
+
+    private static int slotOffset(long index, int mask) {
+        return DATA_OFFSET + ((int) index & mask) * Double.BYTES;
+    }
+
+    /**
+     * 고리 버퍼에 값을 쓰는 쪽입니다. 한 스레드에서만 써야 합니다.
+     */
+    public static final class Writer implements AutoCloseable {
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        private final int mask;
+        private final Idle idle = new Idle();
+        private long writeIndex;
+        private long cachedReadIndex;
+        private boolean closed;
+
+        private Writer(MappedByteBuffer buffer, int capacity) {
+            this.buffer = buffer;
+            this.capacity = capacity;
+            this.mask = capacity - 1;
+        }
+
+        /**
+         * 빈 칸이 있으면 값을 씁니다.
+         *
+         * @return 버퍼가 가득 차서 쓰지 못했으면 false
+         */
+        public boolean offer(double value) {
+            if (writeIndex - cachedReadIndex == capacity) {
+                cachedReadIndex = (long) LONGS.getAcquire(buffer, READ_OFFSET);
+                if (writeIndex - cachedReadIndex == capacity) {
+                    return false;
+                }
+            }
+            buffer.putDouble(slotOffset(writeIndex, mask), value);
+            LONGS.setRelease(buffer, WRITE_OFFSET, ++writeIndex);
+            return true;
+        }
+
+        /**
+         * 빈 칸이 생길 때까지 기다렸다가 값을 씁니다.
+         */
+        public void put(double value) {
+            if (offer(value)) {
+                return;
+            }
+            idle.reset();
+            while (!offer(value)) {
+                idle.idle();
+            }
+        }
+
+        public int capacity() {
+            return capacity;
+        }
+
+        /**
+         * @return 지금까지 쓴 값의 개수
+         */
+        public long count() {
+            return writeIndex;
+        }
+
+        /**
+         * 흐름이 끝났음을 알립니다. 읽는 쪽은 남은 값을 다 읽으면 끝납니다. 이미 닫았거나 {@link #abort()}한 뒤에는 아무것도 하지 않습니다.
+         */
+        @Override
+        public void close() {
+            finish(FINISHED);
+        }
+
+        /**
+         * 흐름이 끝까지 가지 못하고 멈췄음을 알립니다. 읽는 쪽은 남은 값을 다 읽은 뒤 예외를 던집니다.
+         * 이미 닫았거나 abort()한 뒤에는 아무것도 하지 않습니다.
+         */
+        public void abort() {
+            finish(ABORTED);
+        }
+
+        private void finish(long state) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            LONGS.setRelease(buffer, CLOSED_OFFSET, state);
+        }
+    }
+
+    /**
+     * 고리 버퍼에서 값을 읽는 쪽입니다. 쓰는 쪽이 닫고 남은 값을 다 읽을 때까지 hasNext()는 값을 기다립니다.
+     * 쓰는 쪽이 {@link Writer#abort()}했으면 남은 값을 다 읽은 뒤 hasNext()가 IllegalStateException을 던집니다.
+     * 한 스레드에서만 읽어야 합니다.
+     */
+    public static final class Reader implements PrimitiveIterator.OfDouble {
+        private final MappedByteBuffer buffer;
+        private final int mask;
+        private final Idle idle = new Idle();
+        private long readIndex;
+        private long cachedWriteIndex;
+
+        private Reader(MappedByteBuffer buffer, int capacity) {
+            this.buffer = buffer;
+            this.mask = capacity - 1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (readIndex < cachedWriteIndex) {
+                return true;
+            }
+            idle.reset();
+            while (true) {
+                cachedWriteIndex = (long) LONGS.getAcquire(buffer, WRITE_OFFSET);
+                if (readIndex < cachedWriteIndex) {
+                    return true;
+                }
+                long state = (long) LONGS.getAcquire(buffer, CLOSED_OFFSET);
+                if (state != OPEN) {
+                    // 닫기 전에 쓴 값이 닫힘 표시보다 먼저 보이도록 쓰기 번호를 한 번 더 읽습니다.
+                    cachedWriteIndex = (long) LONGS.getAcquire(buffer, WRITE_OFFSET);
+                    if (readIndex < cachedWriteIndex) {
+                        return true;
+                    }
+                    if (state == ABORTED) {
+                        throw new IllegalStateException(
+                                "readShared: 쓰는 쪽이 " + readIndex + "개를 보낸 뒤 흐름을 끝내지 못하고 멈췄습니다.");
+                    }
+                    return false;
+                }
+                idle.idle();
+            }
+        }
+
+        @Override
+        public double nextDouble() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("readShared: 더 이상 값이 없습니다.");
+            }
+            double value = buffer.getDouble(slotOffset(readIndex, mask));
+            LONGS.setRelease(buffer, READ_OFFSET, ++readIndex);
+            return value;
+        }
+
+        /**
+         * @return 지금까지 읽은 값의 개수
+         */
+        public long count() {
+            return readIndex;
+        }
+    }
+
+    // 기다리는 방법을 점점 느슨하게 합니다. 처음에는 돌면서 기다려 지연을 줄이고, 오래 기다리면 CPU를 내어 줍니다.
+    private static final class Idle {
+        private static final int SPINS = 200;
+        private static final int YIELDS = 100;
+        private static final long PARK_NANOS = 50_000;
+        private int rounds;
+
+        void reset() {
+            rounds = 0;
+        }
+
+        void idle() {
+            if (rounds < SPINS) {
+                Thread.onSpinWait();
+            } else if (rounds < SPINS + YIELDS) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+            if (rounds < Integer.MAX_VALUE) {
+                rounds++;
+            }
+        }
+    }
+
+    private static void nullCheck(Object value, String name) {
+        if (value == null) {
+            throw new IllegalNullArgumentException("SharedRingBuffer: " + name + " 값이 null로 들어올 수 없습니다.");
+        }
+    }
+}
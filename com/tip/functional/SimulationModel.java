@@ -0,0 +1,319 @@
+package com.tip.functional;
+
+import com.tip.functional.customexception.IllegalNullArgumentException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * 확률 변수와 그 의존 관계를 노드로 선언하고, 한 번의 시행(trial)을 하나의 반복문으로 계산하는 몬테카를로 모델입니다.
+ * zip과 map을 겹쳐 쓰면 단계마다 Iterator와 boxing된 값이 생기지만, 이 모델은 노드를 primitive 배열에 담아 두고
+ * 시행마다 필요한 노드만 double 레지스터에 계산하므로 시행 하나당 객체를 할당하지 않습니다.
+ * {@link #choose(RandomVariable, RandomVariable...)}는 뽑힌 선택지만 계산하므로 쓰이지 않는 분포의 난수는 만들지 않습니다.
+ * 노드는 이미 선언한 노드만 참조할 수 있으므로 그래프에 순환이 생기지 않습니다.
+ *
+ * <pre>{@code
+ * SimulationModel model = new SimulationModel();
+ * RandomVariable quality = model.combine(model.bernoulli(0.2), model.uniformInt(0, 3), (best, q) -> best == 1 ? 0 : q);
+ * RandomVariable effect = model.clamp(model.choose(quality, model.normal(90, 10), model.normal(80, 20),
+ *         model.normal(50, 30), model.normal(30, 40)), 0, 100);
+ * Experiments<Double> effects = model.observe(effect, "medicine effects", "normal distribution");
+ * model.run(10_000_000);
+ * }</pre>
+ */
+public final class SimulationModel {
+    private static final int CONSTANT = 0;
+    private static final int BERNOULLI = 1;
+    private static final int UNIFORM_INT = 2;
+    private static final int UNIFORM = 3;
+    private static final int NORMAL = 4;
+    private static final int MAP = 5;
+    private static final int COMBINE = 6;
+    private static final int CHOOSE = 7;
+    private static final int CLAMP = 8;
+
+    private static final long LEAF_TRIALS = 1L << 14;
+
+    // 노드 i의 연산과 인자를 담는 배열들입니다.
+    private int size;
+    private int[] operations = new int[16];
+    private double[] firstParameters = new double[16];
+    private double[] secondParameters = new double[16];
+    private int[] firstInputs = new int[16];
+    private int[] secondInputs = new int[16];
+    private int[][] options = new int[16][];
+    private DoubleUnaryOperator[] unaryOperators = new DoubleUnaryOperator[16];
+    private DoubleBinaryOperator[] binaryOperators = new DoubleBinaryOperator[16];
+
+    private final List<RandomVariable> observedVariables = new ArrayList<>();
+    private final List<Experiments<Double>> observers = new ArrayList<>();
+
+    public RandomVariable constant(double value) {
+        return add(CONSTANT, value, 0, -1, -1);
+    }
+
+    /**
+     * @param probability 1이 나올 확률
+     * @return probability의 확률로 1, 아니면 0인 베르누이 확률 변수
+     * @throws IllegalArgumentException probability가 [0, 1] 범위를 벗어난 경우 발생
+     */
+    public RandomVariable bernoulli(double probability) {
+        if (probability < 0 || probability > 1) {
+            throw new IllegalArgumentException("Out of range with " + probability);
+        }
+        return add(BERNOULLI, probability, 0, -1, -1);
+    }
+
+    /**
+     * @return origin 이상 boundInclusive 이하의 정수가 고르게 나오는 확률 변수
+     * @throws IllegalArgumentException origin이 boundInclusive보다 큰 경우 발생
+     */
+    public RandomVariable uniformInt(int origin, int boundInclusive) {
+        if (origin > boundInclusive) {
+            throw new IllegalArgumentException("Out of range with " + origin + ", " + boundInclusive);
+        }
+        return add(UNIFORM_INT, origin, (double) boundInclusive + 1, -1, -1);
+    }
+
+    /**
+     * @return enum 상수의 ordinal이 고르게 나오는 확률 변수
+     */
+    public <E extends Enum<E>> RandomVariable uniformEnum(Class<E> enumType) {
+        return uniformInt(0, enumType.getEnumConstants().length - 1);
+    }
+
+    /**
+     * @return [origin, bound) 구간의 실수가 고르게 나오는 확률 변수
+     * @throws IllegalArgumentException origin이 bound보다 작지 않은 경우 발생
+     */
+    public RandomVariable uniform(double origin, double bound) {
+        if (!(origin < bound)) {
+            throw new IllegalArgumentException("Out of range with " + origin + ", " + bound);
+        }
+        return add(UNIFORM, origin, bound, -1, -1);
+    }
+
+    public RandomVariable normal(double mean, double standardDeviation) {
+        return add(NORMAL, mean, standardDeviation, -1, -1);
+    }
+
+    public RandomVariable map(RandomVariable input, DoubleUnaryOperator operator) {
+        nullCheck(operator, "DoubleUnaryOperator operator");
+        RandomVariable variable = add(MAP, 0, 0, idOf(input), -1);
+        unaryOperators[variable.id] = operator;
+        return variable;
+    }
+
+    public RandomVariable combine(RandomVariable first, RandomVariable second, DoubleBinaryOperator operator) {
+        nullCheck(operator, "DoubleBinaryOperator operator");
+        RandomVariable variable = add(COMBINE, 0, 0, idOf(first), idOf(second));
+        binaryOperators[variable.id] = operator;
+        return variable;
+    }
+
+    /**
+     * selector의 값을 번호로 하여 선택지 가운데 하나의 값을 고르는 확률 변수입니다. 고른 선택지만 계산합니다.
+     *
+     * @param selector 0부터 choices.length - 1 사이의 정수 값을 가지는 확률 변수
+     * @param choices  선택지들
+     * @return 고른 선택지의 값
+     * @throws IndexOutOfBoundsException 시행 도중 selector의 값이 선택지 범위를 벗어난 경우 발생
+     */
+    public RandomVariable choose(RandomVariable selector, RandomVariable... choices) {
+        nullCheck(choices, "RandomVariable... choices");
+        int[] ids = new int[choices.length];
+        for (int i = 0; i < choices.length; i++) {
+            ids[i] = idOf(choices[i]);
+        }
+        RandomVariable variable = add(CHOOSE, 0, 0, idOf(selector), -1);
+        options[variable.id] = ids;
+        return variable;
+    }
+
+    public RandomVariable clamp(RandomVariable input, double min, double max) {
+        if (!(min <= max)) {
+            throw new IllegalArgumentException("Out of range with " + min + ", " + max);
+        }
+        return add(CLAMP, min, max, idOf(input), -1);
+    }
+
+    /**
+     * 확률 변수에 Experiments를 붙여 {@link #run(long)}의 시행마다 값을 기록합니다.
+     * 여러 스레드가 함께 기록하므로 동시 기록 모드 Experiments를 만들어 반환합니다.
+     * 반환된 Experiments를 Iterator로 쓰면 이 확률 변수를 한 번씩 따로 시행합니다.
+     *
+     * @return 확률 변수의 값을 기록하는 Experiments
+     */
+    public Experiments<Double> observe(RandomVariable variable, String name, String distributionDescription) {
+        idOf(variable);
+        Experiments<Double> experiments = Experiments.concurrent(iterator(variable), name, distributionDescription);
+        observedVariables.add(variable);
+        observers.add(experiments);
+        return experiments;
+    }
+
+    /**
+     * @return 시행할 때마다 확률 변수의 값을 하나씩 반환하는 InfiniteIterator
+     */
+    public InfiniteIterator<Double> iterator(RandomVariable variable) {
+        int id = idOf(variable);
+        Trial trial = new Trial(size);
+        return () -> {
+            trial.next();
+            return trial.evaluate(id);
+        };
+    }
+
+    /**
+     * trials번 시행하면서 observe로 붙인 Experiments에 값을 기록합니다.
+     * 시행들을 구간으로 나누어 ForkJoinPool에서 병렬로 계산하며, 구간마다 레지스터를 한 번만 할당합니다.
+     *
+     * @param trials 시행 횟수
+     * @throws IllegalArgumentException trials가 음수인 경우 발생
+     */
+    public void run(long trials) {
+        if (trials < 0) {
+            throw new IllegalArgumentException("Out of range with " + trials);
+        }
+        int[] observed = new int[observedVariables.size()];
+        for (int i = 0; i < observed.length; i++) {
+            observed[i] = observedVariables.get(i).id;
+        }
+        Experiments<?>[] targets = observers.toArray(new Experiments<?>[0]);
+        ForkJoinPool.commonPool().invoke(new RunTask(0, trials, observed, targets));
+    }
+
+    private RandomVariable add(int operation, double firstParameter, double secondParameter, int firstInput,
+                               int secondInput) {
+        if (size == operations.length) {
+            int capacity = size * 2;
+            operations = Arrays.copyOf(operations, capacity);
+            firstParameters = Arrays.copyOf(firstParameters, capacity);
+            secondParameters = Arrays.copyOf(secondParameters, capacity);
+            firstInputs = Arrays.copyOf(firstInputs, capacity);
+            secondInputs = Arrays.copyOf(secondInputs, capacity);
+            options = Arrays.copyOf(options, capacity);
+            unaryOperators = Arrays.copyOf(unaryOperators, capacity);
+            binaryOperators = Arrays.copyOf(binaryOperators, capacity);
+        }
+        operations[size] = operation;
+        firstParameters[size] = firstParameter;
+        secondParameters[size] = secondParameter;
+        firstInputs[size] = firstInput;
+        secondInputs[size] = secondInput;
+        return new RandomVariable(this, size++);
+    }
+
+    private int idOf(RandomVariable variable) {
+        nullCheck(variable, "RandomVariable variable");
+        if (variable.model != this) {
+            throw new IllegalArgumentException("다른 SimulationModel에서 선언한 확률 변수입니다.");
+        }
+        return variable.id;
+    }
+
+    private static void nullCheck(Object object, String name) {
+        if (object == null) {
+            throw new IllegalNullArgumentException("SimulationModel: " + name + " 값이 null로 들어올 수 없습니다.");
+        }
+    }
+
+    /**
+     * 한 스레드가 시행을 계산할 때 쓰는 레지스터입니다. 노드마다 마지막으로 계산한 시행 번호를 기억해 두고,
+     * 같은 시행에서 여러 번 참조되는 노드는 한 번만 계산합니다.
+     */
+    private final class Trial {
+        private final double[] values;
+        private final long[] computedAt;
+        private long trial;
+
+        Trial(int nodes) {
+            values = new double[nodes];
+            computedAt = new long[nodes];
+        }
+
+        void next() {
+            trial++;
+        }
+
+        double evaluate(int id) {
+            if (computedAt[id] == trial) {
+                return values[id];
+            }
+            double value;
+            switch (operations[id]) {
+                case CONSTANT:
+                    value = firstParameters[id];
+                    break;
+                case BERNOULLI:
+                    value = ThreadLocalRandom.current().nextDouble() < firstParameters[id] ? 1 : 0;
+                    break;
+                case UNIFORM_INT:
+                    // 끝값 + 1은 int를 넘을 수 있으므로 long으로 뽑습니다.
+                    value = ThreadLocalRandom.current().nextLong((long) firstParameters[id],
+                            (long) secondParameters[id]);
+                    break;
+                case UNIFORM:
+                    value = ThreadLocalRandom.current().nextDouble(firstParameters[id], secondParameters[id]);
+                    break;
+                case NORMAL:
+                    value = ThreadLocalRandom.current().nextGaussian() * secondParameters[id] + firstParameters[id];
+                    break;
+                case MAP:
+                    value = unaryOperators[id].applyAsDouble(evaluate(firstInputs[id]));
+                    break;
+                case COMBINE:
+                    value = binaryOperators[id].applyAsDouble(evaluate(firstInputs[id]),
+                            evaluate(secondInputs[id]));
+                    break;
+                case CHOOSE:
+                    value = evaluate(options[id][(int) evaluate(firstInputs[id])]);
+                    break;
+                case CLAMP:
+                    value = Math.max(firstParameters[id], Math.min(secondParameters[id],
+                            evaluate(firstInputs[id])));
+                    break;
+                default:
+                    throw new IllegalStateException("알 수 없는 연산: " + operations[id]);
+            }
+            values[id] = value;
+            computedAt[id] = trial;
+            return value;
+        }
+    }
+
+    private final class RunTask extends RecursiveAction {
+        private final long from;
+        private final long to;
+        private final int[] observed;
+        private final Experiments<?>[] targets;
+
+        RunTask(long from, long to, int[] observed, Experiments<?>[] targets) {
+            this.from = from;
+            this.to = to;
+            this.observed = observed;
+            this.targets = targets;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_TRIALS) {
+                long middle = from + (to - from) / 2;
+                invokeAll(new RunTask(from, middle, observed, targets), new RunTask(middle, to, observed, targets));
+                return;
+            }
+            Trial trial = new Trial(size);
+            for (long i = from; i < to; i++) {
+                trial.next();
+                for (int j = 0; j < observed.length; j++) {
+                    targets[j].record(trial.evaluate(observed[j]));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.tip.functional;
+
+/**
+ * 윈도 연산자가 쓰는 증분(incremental) 집계기입니다.
+ * 값과 시각을 primitive 링 버퍼에 담아 두고, 값이 들어오거나 나갈 때마다 합계(보정 합), 평균과 편차 제곱합(Welford),
+ * 최솟값과 최댓값(단조 deque)을 O(1)에 갱신하기 때문에 윈도 전체를 다시 훑지 않습니다.
+ */
+final class SlidingAggregator {
+    private double[] values;
+    private long[] timestamps;
+    private int head;
+    private int size;
+    private long nextSequence;
+
+    private final CompensatedSum sum = new CompensatedSum();
+    private double mean;
+    private double sumOfSquaredDeviations;
+    private final MonotonicDeque minimums = new MonotonicDeque(false);
+    private final MonotonicDeque maximums = new MonotonicDeque(true);
+
+    SlidingAggregator(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, initialCapacity - 1)) << 1;
+        values = new double[capacity];
+        timestamps = new long[capacity];
+    }
+
+    void add(double value, long timestamp) {
+        if (size == values.length) {
+            grow();
+        }
+        int tail = (head + size) & (values.length - 1);
+        values[tail] = value;
+        timestamps[tail] = timestamp;
+        size++;
+
+        sum.add(value);
+        double delta = value - mean;
+        mean += delta / size;
+        sumOfSquaredDeviations += delta * (value - mean);
+        minimums.push(nextSequence, value);
+        maximums.push(nextSequence, value);
+        nextSequence++;
+    }
+
+    void removeOldest() {
+        double value = values[head];
+        long sequence = nextSequence - size;
+        head = (head + 1) & (values.length - 1);
+        size--;
+
+        sum.add(-value);
+        if (size == 0) {
+            mean = 0;
+            sumOfSquaredDeviations = 0;
+        } else {
+            double delta = value - mean;
+            mean -= delta / size;
+            sumOfSquaredDeviations = Math.max(0, sumOfSquaredDeviations - delta * (value - mean));
+        }
+        minimums.evict(sequence);
+        maximums.evict(sequence);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long oldestTimestamp() {
+        return timestamps[head];
+    }
+
+    WindowStatistics snapshot() {
+        if (size == 0) {
+            return new WindowStatistics(0, 0, Double.NaN, 0, Double.NaN, Double.NaN);
+        }
+        return new WindowStatistics(size, sum.value(), mean, sumOfSquaredDeviations, minimums.peek(),
+                maximums.peek());
+    }
+
+    private void grow() {
+        double[] newValues = new double[values.length << 1];
+        long[] newTimestamps = new long[values.length << 1];
+        for (int i = 0; i < size; i++) {
+            newValues[i] = values[(head + i) & (values.length - 1)];
+            newTimestamps[i] = timestamps[(head + i) & (values.length - 1)];
+        }
+        values = newValues;
+        timestamps = newTimestamps;
+        head = 0;
+    }
+
+    /**
+     * 윈도의 최댓값(또는 최솟값) 후보만 남겨 두는 단조 deque입니다.
+     * 새 값보다 나쁜 후보는 다시는 극값이 될 수 없으므로 뒤에서 버리고, 윈도를 벗어난 후보는 앞에서 버립니다.
+     */
+    private static final class MonotonicDeque {
+        private final boolean maximum;
+        private double[] values = new double[16];
+        private long[] sequences = new long[16];
+        private int head;
+        private int size;
+
+        MonotonicDeque(boolean maximum) {
+            this.maximum = maximum;
+        }
+
+        void push(long sequence, double value) {
+            while (size > 0 && dominates(value, values[(head + size - 1) & (values.length - 1)])) {
+                size--;
+            }
+            if (size == values.length) {
+                grow();
+            }
+            int tail = (head + size) & (values.length - 1);
+            values[tail] = value;
+            sequences[tail] = sequence;
+            size++;
+        }
+
+        void evict(long sequence) {
+            if (size > 0 && sequences[head] == sequence) {
+                head = (head + 1) & (values.length - 1);
+                size--;
+            }
+        }
+
+        double peek() {
+            return values[head];
+        }
+
+        private boolean dominates(double value, double candidate) {
+            return maximum ? value >= candidate : value <= candidate;
+        }
+
+        private void grow() {
+            double[] newValues = new double[values.length << 1];
+            long[] newSequences = new long[values.length << 1];
+            for (int i = 0; i < size; i++) {
+                newValues[i] = values[(head + i) & (values.length - 1)];
+                newSequences[i] = sequences[(head + i) & (values.length - 1)];
+            }
+            values = newValues;
+            sequences = newSequences;
+            head = 0;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.tip.functional;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sobol 수열입니다. Joe와 Kuo의 방향 수(direction numbers)를 쓰고, Gray 코드 순서로 점을 만들어
+ * 점 하나를 차원마다 XOR 한 번으로 갱신합니다. 2^m개씩 끊은 점들은 각 차원을 2^m개 구간으로 나누었을 때 구간마다 꼭 하나씩 들어갑니다.
+ * 섞기(scramble)를 켜면 Laine-Karras 해시로 Owen 방식의 중첩 섞기를 흉내 내어 이 성질을 지키면서 점들을 마구잡이로 옮깁니다.
+ * 섞은 수열은 독립적으로 여러 번 만들어 어림값의 오차를 구할 수 있습니다.
+ */
+public final class SobolSequence implements LowDiscrepancySequence {
+    public static final int MAX_DIMENSIONS = 21;
+    private static final int BITS = 32;
+    private static final double SCALE = 0x1p-32;
+    private static final long MAX_INDEX = 1L << BITS;
+
+    // 두 번째 차원부터의 {원시 다항식 차수 s, 다항식 계수 a, 초기 방향 수 m_1 ... m_s}입니다. (new-joe-kuo-6.21201)
+    private static final int[][] PRIMITIVE_POLYNOMIALS = {
+            {1, 0, 1},
+            {2, 1, 1, 3},
+            {3, 1, 1, 3, 1},
+            {3, 2, 1, 1, 1},
+            {4, 1, 1, 1, 3, 3},
+            {4, 4, 1, 3, 5, 13},
+            {5, 2, 1, 1, 5, 5, 17},
+            {5, 4, 1, 1, 5, 5, 5},
+            {5, 7, 1, 1, 7, 11, 19},
+            {5, 11, 1, 1, 5, 1, 1},
+            {5, 13, 1, 1, 1, 3, 11},
+            {5, 14, 1, 3, 5, 5, 31},
+            {6, 1, 1, 3, 3, 9, 7, 49},
+            {6, 13, 1, 1, 1, 15, 21, 21},
+            {6, 16, 1, 3, 1, 13, 27, 49},
+            {6, 19, 1, 1, 1, 15, 7, 5},
+            {6, 22, 1, 3, 1, 15, 13, 25},
+            {6, 25, 1, 1, 5, 5, 19, 61},
+            {7, 1, 1, 3, 7, 11, 23, 15, 103},
+            {7, 4, 1, 3, 7, 13, 13, 15, 69},
+    };
+
+    private final int dimensions;
+    private final int[][] directions;
+    private final int[] seeds;
+    private final int[] coordinates;
+    private long index;
+
+    /**
+     * @param dimensions 차원 수
+     * @throws IllegalArgumentException dimensions가 1보다 작거나 {@link #MAX_DIMENSIONS}보다 큰 경우 발생
+     */
+    public SobolSequence(int dimensions) {
+        this(dimensions, null);
+    }
+
+    /**
+     * 주어진 seed로 섞은 Sobol 수열을 만듭니다. seed가 같으면 같은 수열이 나옵니다.
+     *
+     * @param dimensions 차원 수
+     * @param seed       섞기에 쓸 seed
+     * @throws IllegalArgumentException dimensions가 1보다 작거나 {@link #MAX_DIMENSIONS}보다 큰 경우 발생
+     */
+    public SobolSequence(int dimensions, long seed) {
+        this(dimensions, seeds(dimensions, seed));
+    }
+
+    private SobolSequence(int dimensions, int[] seeds) {
+        if (dimensions < 1 || dimensions > MAX_DIMENSIONS) {
+            throw new IllegalArgumentException("Out of range with " + dimensions);
+        }
+        this.dimensions = dimensions;
+        this.seeds = seeds;
+        this.directions = new int[dimensions][];
+        this.coordinates = new int[dimensions];
+        directions[0] = new int[BITS];
+        for (int k = 0; k < BITS; k++) {
+            directions[0][k] = 1 << (BITS - 1 - k);
+        }
+        for (int d = 1; d < dimensions; d++) {
+            directions[d] = directionNumbers(PRIMITIVE_POLYNOMIALS[d - 1]);
+        }
+    }
+
+    /**
+     * @return ThreadLocalRandom에서 뽑은 seed로 섞은 Sobol 수열
+     */
+    public static SobolSequence scrambled(int dimensions) {
+        return new SobolSequence(dimensions, ThreadLocalRandom.current().nextLong());
+    }
+
+    private static int[] seeds(int dimensions, long seed) {
+        int[] seeds = new int[Math.max(dimensions, 0)];
+        long state = seed;
+        for (int d = 0; d < seeds.length; d++) {
+            state += 0x9E3779B97F4A7C15L;
+            seeds[d] = (int) (Hashing.mix64(state) >>> 32);
+        }
+        return seeds;
+    }
+
+    private static int[] directionNumbers(int[] polynomial) {
+        int degree = polynomial[0];
+        int coefficients = polynomial[1];
+        int[] v = new int[BITS];
+        for (int k = 0; k < degree; k++) {
+            v[k] = polynomial[k + 2] << (BITS - 1 - k);
+        }
+        for (int k = degree; k < BITS; k++) {
+            v[k] = v[k - degree] ^ (v[k - degree] >>> degree);
+            for (int i = 1; i < degree; i++) {
+                if (((coefficients >>> (degree - 1 - i)) & 1) != 0) {
+                    v[k] ^= v[k - i];
+                }
+            }
+        }
+        return v;
+    }
+
+    @Override
+    public int dimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public long index() {
+        return index;
+    }
+
+    /**
+     * @throws IllegalStateException 2^32개의 점을 모두 쓴 경우 발생
+     */
+    @Override
+    public void next(double[] point) {
+        write(point, 0);
+        advance();
+    }
+
+    @Override
+    public void fill(double[] points, int count) {
+        if (count < 0 || points.length / dimensions < count) {
+            throw new IllegalArgumentException("Out of range with " + count);
+        }
+        for (int i = 0; i < count; i++) {
+            write(points, i * dimensions);
+            advance();
+        }
+    }
+
+    @Override
+    public void skip(long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Out of range with " + count);
+        }
+        if (count == 0) {
+            return;
+        }
+        // 건너뛴 자리의 점은 Gray 코드 gray(n) = n ^ (n >> 1)의 켜진 비트에 해당하는 방향 수를 모두 XOR하여 바로 구합니다.
+        index = Math.min(MAX_INDEX, index + count);
+        long gray = index ^ (index >>> 1);
+        for (int d = 0; d < dimensions; d++) {
+            int coordinate = 0;
+            for (int k = 0; k < BITS; k++) {
+                if (((gray >>> k) & 1) != 0) {
+                    coordinate ^= directions[d][k];
+                }
+            }
+            coordinates[d] = coordinate;
+        }
+    }
+
+    private void write(double[] points, int offset) {
+        if (index >= MAX_INDEX) {
+            throw new IllegalStateException("SobolSequence: 2^32개의 점을 모두 썼습니다.");
+        }
+        for (int d = 0; d < dimensions; d++) {
+            int coordinate = seeds == null ? coordinates[d] : nestedUniformScramble(coordinates[d], seeds[d]);
+            points[offset + d] = (coordinate & 0xFFFF_FFFFL) * SCALE;
+        }
+    }
+
+    // 점 n에서 n + 1로 갈 때 Gray 코드는 n의 가장 낮은 0 비트 하나만 바뀝니다.
+    private void advance() {
+        int bit = Long.numberOfTrailingZeros(~index);
+        if (bit < BITS) {
+            for (int d = 0; d < dimensions; d++) {
+                coordinates[d] ^= directions[d][bit];
+            }
+        }
+        index++;
+    }
+
+    // 비트를 뒤집은 뒤 Laine-Karras 순열을 적용하면 높은 자리 비트가 낮은 자리 비트에만 영향을 주는 Owen 방식 섞기가 됩니다.
+    private static int nestedUniformScramble(int x, int seed) {
+        x = Integer.reverse(x);
+        x += seed;
+        x ^= x * 0x6c50b47c;
+        x ^= x * 0xb82f1e52;
+        x ^= x * 0xc7afe638;
+        x ^= x * 0x8d22f6e6;
+        return Integer.reverse(x);
+    }
+}
@@ -0,0 +1,208 @@
+package com.tip.functional;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 여러 스레드가 동시에 값을 기록할 수 있는 계수/합계 누적기입니다.
+ * 스레드마다 자기 칸(cell)을 두고 그 스레드만 칸을 고치기 때문에 기록할 때 CAS나 락 경쟁이 없습니다.
+ * 칸마다 버전 번호(seqlock)를 두어, 읽는 쪽은 기록 도중이 아닌 칸의 계수와 합계를 한 쌍으로 읽습니다.
+ * 그래서 스냅샷의 계수와 합계는 언제나 같은 표본들에 대한 값입니다.
+ * 분위수 스케치는 칸마다 두 개를 번갈아 쓰는 이중 버퍼로 둡니다. 주인 스레드는 active 쪽에만 기록하고,
+ * 읽는 쪽은 active를 뒤집은 뒤 주인 스레드가 옛 쪽에 하던 기록 하나를 마칠 때까지만 기다렸다가 옛 쪽을 가져갑니다.
+ * 기록하는 쪽은 읽는 쪽을 기다리는 일이 없으므로 읽는 도중에도 멈추지 않습니다.
+ * 끝난 스레드의 칸은 읽을 때와 새 칸을 등록할 때 retired 누적값에 접어 넣고 버리므로,
+ * 짧게 살다 끝나는 스레드가 계속 기록해도 칸의 수는 살아 있는 스레드 수에 비례하는 만큼만 유지됩니다.
+ */
+final class StripedAccumulator {
+    private static final VarHandle VERSION;
+    private static final VarHandle WRITING;
+    private static final int IDLE = -1;
+    private static final int MIN_SWEEP_CELLS = 16;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            VERSION = lookup.findVarHandle(Cell.class, "version", long.class);
+            WRITING = lookup.findVarHandle(Cell.class, "writing", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final int quantileAccuracy;
+    private final Queue<Cell> cells = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Cell> localCell = ThreadLocal.withInitial(this::register);
+    private final AtomicInteger liveCells = new AtomicInteger();
+    // 읽는 쪽끼리만 잡는 락입니다. 아래 필드는 끝난 스레드의 칸을 접어 넣은 값들로, 모두 이 락으로 보호합니다.
+    private final ReentrantLock readLock = new ReentrantLock();
+    private long retiredCount;
+    private final CompensatedSum retiredSum = new CompensatedSum();
+    private final KllSketch retiredSketch;
+    private volatile int sweepAt = MIN_SWEEP_CELLS; // 쓰기는 readLock을 잡고 합니다.
+
+    /**
+     * @param quantileAccuracy 칸마다 둘 분위수 스케치의 정확도. 0이면 스케치를 두지 않습니다.
+     */
+    StripedAccumulator(int quantileAccuracy) {
+        this.quantileAccuracy = quantileAccuracy;
+        this.retiredSketch = quantileAccuracy > 0 ? new KllSketch(quantileAccuracy) : null;
+    }
+
+    private Cell register() {
+        Cell cell = new Cell(Thread.currentThread(), quantileAccuracy);
+        cells.add(cell);
+        // 칸이 지난번 정리 때의 두 배가 될 때마다 정리하므로 등록 한 번에 드는 비용은 평균 상수입니다.
+        // 읽는 쪽이 락을 잡고 있으면 그쪽이 정리하므로 기다리지 않고 넘어갑니다.
+        if (liveCells.incrementAndGet() >= sweepAt && readLock.tryLock()) {
+            try {
+                retireDeadCells();
+                sweepAt = Math.max(MIN_SWEEP_CELLS, liveCells.get() * 2);
+            } finally {
+                readLock.unlock();
+            }
+        }
+        return cell;
+    }
+
+    // readLock을 잡고 불러야 합니다. 끝난 스레드는 더 이상 칸을 고치지 않으므로 seqlock 없이 읽어도 됩니다.
+    private void retireDeadCells() {
+        for (Iterator<Cell> iterator = cells.iterator(); iterator.hasNext(); ) {
+            Cell cell = iterator.next();
+            if (!cell.ownerTerminated()) {
+                continue;
+            }
+            iterator.remove();
+            liveCells.decrementAndGet();
+            retiredCount += cell.count;
+            retiredSum.add(cell.sum);
+            if (retiredSketch != null) {
+                retiredSketch.merge(cell.drainSketch());
+            }
+        }
+    }
+
+    void add(double value) {
+        localCell.get().add(value);
+    }
+
+    ExperimentsSnapshot snapshot() {
+        readLock.lock();
+        try {
+            retireDeadCells();
+            long count = retiredCount;
+            CompensatedSum sum = new CompensatedSum().add(retiredSum);
+            for (Cell cell : cells) {
+                while (true) {
+                    long before = (long) VERSION.getAcquire(cell);
+                    long cellCount = cell.count;
+                    double cellSum = cell.sum;
+                    VarHandle.loadLoadFence();
+                    if ((before & 1L) == 0 && before == (long) VERSION.getVolatile(cell)) {
+                        count += cellCount;
+                        sum.add(cellSum);
+                        break;
+                    }
+                    Thread.onSpinWait();
+                }
+            }
+            return new ExperimentsSnapshot(count, sum.value());
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    boolean hasSketch() {
+        return quantileAccuracy > 0;
+    }
+
+    KllSketch mergedSketch() {
+        readLock.lock();
+        try {
+            retireDeadCells();
+            KllSketch merged = new KllSketch(quantileAccuracy);
+            merged.merge(retiredSketch);
+            for (Cell cell : cells) {
+                merged.merge(cell.drainSketch());
+            }
+            return merged;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private static final class Cell {
+        // 홀수이면 주인 스레드가 기록하는 중입니다.
+        private volatile long version;
+        private long count;
+        private double sum;
+        // 주인 스레드는 sketches[active]에만 기록합니다. 스케치를 두지 않으면 null입니다.
+        private final KllSketch[] sketches;
+        private volatile int active;
+        // 주인 스레드가 기록하고 있는 sketches의 인덱스, 기록 중이 아니면 IDLE입니다.
+        private volatile int writing = IDLE;
+        // 읽는 쪽이 가져간 스케치를 모아 둔 것으로, readLock으로 보호합니다.
+        private final KllSketch drained;
+        private final int quantileAccuracy;
+        private final WeakReference<Thread> owner;
+
+        Cell(Thread owner, int quantileAccuracy) {
+            this.owner = new WeakReference<>(owner);
+            this.quantileAccuracy = quantileAccuracy;
+            if (quantileAccuracy > 0) {
+                this.sketches = new KllSketch[] {new KllSketch(quantileAccuracy), new KllSketch(quantileAccuracy)};
+                this.drained = new KllSketch(quantileAccuracy);
+            } else {
+                this.sketches = null;
+                this.drained = null;
+            }
+        }
+
+        // 스레드가 끝났음을 본 뒤에는 그 스레드가 칸에 쓴 값이 모두 보입니다.
+        boolean ownerTerminated() {
+            Thread thread = owner.get();
+            return thread == null || !thread.isAlive();
+        }
+
+        void add(double value) {
+            long current = version;
+            VERSION.setOpaque(this, current + 1);
+            VarHandle.storeStoreFence();
+            count++;
+            sum += value;
+            VERSION.setRelease(this, current + 2);
+            if (sketches != null) {
+                // writing을 먼저 알린 뒤 active를 다시 읽습니다. 그 사이 읽는 쪽이 뒤집었으면 새 쪽으로 다시 알립니다.
+                int index;
+                do {
+                    index = active;
+                    writing = index;
+                } while (index != active);
+                sketches[index].update(value);
+                WRITING.setRelease(this, IDLE);
+            }
+        }
+
+        /**
+         * readLock을 잡고 부릅니다. active를 뒤집고 옛 쪽에 하던 기록이 끝나기를 기다린 뒤 옛 쪽을 drained에 합치고 비웁니다.
+         *
+         * @return 지금까지 이 칸에 기록된 값을 모두 담은 스케치
+         */
+        KllSketch drainSketch() {
+            int old = active;
+            active = old ^ 1;
+            while (writing == old) {
+                Thread.onSpinWait();
+            }
+            drained.merge(sketches[old]);
+            sketches[old] = new KllSketch(quantileAccuracy);
+            return drained;
+        }
+    }
+}
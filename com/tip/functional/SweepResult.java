@@ -0,0 +1,49 @@
+package com.tip.functional;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link ParameterSweep}의 결과 표입니다. 행은 설정 목록의 순서를 따르며, 행마다 그 설정의 Experiments 기록을 담습니다.
+ *
+ * @param <P> 설정의 타입
+ */
+public final class SweepResult<P> {
+    private final List<SweepRun<P>> rows;
+    private final long trialsUsed;
+
+    SweepResult(List<SweepRun<P>> rows, long trialsUsed) {
+        this.rows = Collections.unmodifiableList(rows);
+        this.trialsUsed = trialsUsed;
+    }
+
+    public List<SweepRun<P>> rows() {
+        return rows;
+    }
+
+    public SweepRun<P> row(int index) {
+        if (index < 0 || index >= rows.size()) {
+            throw new IllegalArgumentException("Out of range with " + index);
+        }
+        return rows.get(index);
+    }
+
+    /**
+     * @return 모든 설정을 합쳐 실제로 시행한 횟수
+     */
+    public long trialsUsed() {
+        return trialsUsed;
+    }
+
+    /**
+     * 설정마다 시행 횟수, 평균, 표준 오차를 한 줄씩 출력합니다.
+     */
+    public void report() {
+        System.out.println("설정\t계수\t평균\t표준 오차");
+        for (SweepRun<P> row : rows) {
+            System.out.println(row.parameters() + "\t" + row.count() + "\t" + row.mean() + "\t"
+                    + row.standardError());
+        }
+        System.out.println("전체 시행: " + trialsUsed);
+    }
+}
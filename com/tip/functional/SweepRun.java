@@ -0,0 +1,76 @@
+package com.tip.functional;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * {@link ParameterSweep}에서 설정 하나를 시행한 기록입니다. 시행 값은 Experiments에 기록하고,
+ * 우선순위를 정하는 데 쓰는 분산은 Welford 방식으로 따로 누적합니다.
+ * 한 설정은 한 번에 한 스레드만 시행하며, 작업 큐를 거쳐 다음 스레드로 넘어가므로 누적값을 따로 동기화하지 않습니다.
+ *
+ * @param <P> 설정의 타입
+ */
+public final class SweepRun<P> {
+    private final P parameters;
+    private final DoubleSupplier trial;
+    private final Experiments<Double> experiments;
+    private long count;
+    private double mean;
+    private double sumOfSquaredDeviations;
+
+    SweepRun(P parameters, DoubleSupplier trial) {
+        this.parameters = parameters;
+        this.trial = trial;
+        InfiniteIterator<Double> values = trial::getAsDouble;
+        this.experiments = new Experiments<>(values, String.valueOf(parameters), "parameter sweep");
+    }
+
+    void runBatch(long trials) {
+        for (long i = 0; i < trials; i++) {
+            double value = trial.getAsDouble();
+            experiments.record(value);
+            count++;
+            double delta = value - mean;
+            mean += delta / count;
+            sumOfSquaredDeviations += delta * (value - mean);
+        }
+    }
+
+    public P parameters() {
+        return parameters;
+    }
+
+    public Experiments<Double> experiments() {
+        return experiments;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return 시행 값의 평균. 시행하지 않았으면 NaN을 반환합니다.
+     */
+    public double mean() {
+        return count > 0 ? mean : Double.NaN;
+    }
+
+    /**
+     * @return 시행 값의 표본 분산. 시행이 2번보다 적으면 NaN을 반환합니다.
+     */
+    public double variance() {
+        return count > 1 ? sumOfSquaredDeviations / (count - 1) : Double.NaN;
+    }
+
+    /**
+     * @return 평균의 표준 오차. 시행이 2번보다 적으면 양의 무한대를 반환합니다.
+     */
+    public double standardError() {
+        return count > 1 ? Math.sqrt(variance() / count) : Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public String toString() {
+        return "SweepRun{parameters=" + parameters + ", count=" + count + ", mean=" + mean() + ", standardError="
+                + standardError() + "}";
+    }
+}
@@ -0,0 +1,166 @@
+package com.tip.functional;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 시행들을 {@link #BLOCK_TRIALS}개씩 나눈 구간마다의 계수, 합계, 편차 제곱합입니다.
+ * 구간마다 seed와 구간 번호로 정해지는 SplittableRandom을 쓰므로, 어느 스레드나 프로세스가 어떤 순서로 계산하든
+ * 구간 값은 같고, 구간들을 번호 순서로 합친 결과도 같습니다. {@link ResultCache}와 {@link MonteCarloCoordinator}가 함께 씁니다.
+ */
+final class TrialBlocks {
+    static final int BLOCK_TRIALS = 4096;
+    static final int BLOCK_BYTES = Integer.BYTES + 2 * Double.BYTES;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    final int first; // 배열의 0번째 칸이 가리키는 구간 번호
+    final int[] counts;
+    final double[] sums;
+    final double[] squaredDeviations;
+
+    TrialBlocks(int size) {
+        this(0, size);
+    }
+
+    TrialBlocks(int first, int size) {
+        this.first = first;
+        counts = new int[size];
+        sums = new double[size];
+        squaredDeviations = new double[size];
+    }
+
+    /**
+     * @return trials번 시행을 담는 구간 개수
+     * @throws IllegalArgumentException 구간 개수가 int 범위를 넘는 경우 발생
+     */
+    static int blockCount(long trials) {
+        long blockCount = (trials + BLOCK_TRIALS - 1) / BLOCK_TRIALS;
+        if (blockCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Out of range with " + trials);
+        }
+        return (int) blockCount;
+    }
+
+    static int blockLength(long trials, int block) {
+        return (int) Math.min(BLOCK_TRIALS, trials - (long) block * BLOCK_TRIALS);
+    }
+
+    int size() {
+        return counts.length;
+    }
+
+    void copy(int to, TrialBlocks from, int index) {
+        counts[to] = from.counts[index];
+        sums[to] = from.sums[index];
+        squaredDeviations[to] = from.squaredDeviations[index];
+    }
+
+    /**
+     * trials번 시행 가운데 from번째부터 to번째 앞까지의 구간을 ForkJoinPool에서 병렬로 계산합니다. 구간 번호는 first를 더한 번호입니다.
+     */
+    void compute(int from, int to, long seed, long trials, ToDoubleFunction<SplittableRandom> trial) {
+        ForkJoinPool.commonPool().invoke(new BlockTask(this, from, to, seed, trials, trial));
+    }
+
+    void writeTo(DataOutput out, int from, int to) throws IOException {
+        for (int i = from - first; i < to - first; i++) {
+            out.writeInt(counts[i]);
+            out.writeDouble(sums[i]);
+            out.writeDouble(squaredDeviations[i]);
+        }
+    }
+
+    void readFrom(DataInput in, int from, int to) throws IOException {
+        for (int i = from - first; i < to - first; i++) {
+            counts[i] = in.readInt();
+            sums[i] = in.readDouble();
+            squaredDeviations[i] = in.readDouble();
+        }
+    }
+
+    long count() {
+        long count = 0;
+        for (int blockCount : counts) {
+            count += blockCount;
+        }
+        return count;
+    }
+
+    double sum() {
+        double sum = 0;
+        for (double blockSum : sums) {
+            sum += blockSum;
+        }
+        return sum;
+    }
+
+    // 구간들의 편차 제곱합을 번호 순서로 Chan의 병합 공식으로 합칩니다.
+    double squaredDeviations() {
+        long count = 0;
+        double sum = 0;
+        double squaredDeviation = 0;
+        for (int i = 0; i < counts.length; i++) {
+            long blockCount = counts[i];
+            if (blockCount == 0) {
+                continue;
+            }
+            if (count > 0) {
+                double delta = sums[i] / blockCount - sum / count;
+                squaredDeviation += delta * delta * count * blockCount / (count + blockCount);
+            }
+            squaredDeviation += squaredDeviations[i];
+            sum += sums[i];
+            count += blockCount;
+        }
+        return squaredDeviation;
+    }
+
+    private static final class BlockTask extends RecursiveAction {
+        private final TrialBlocks blocks;
+        private final int from;
+        private final int to;
+        private final long seed;
+        private final long trials;
+        private final ToDoubleFunction<SplittableRandom> trial;
+
+        BlockTask(TrialBlocks blocks, int from, int to, long seed, long trials,
+                  ToDoubleFunction<SplittableRandom> trial) {
+            this.blocks = blocks;
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+            this.trials = trials;
+            this.trial = trial;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BlockTask(blocks, from, middle, seed, trials, trial),
+                        new BlockTask(blocks, middle, to, seed, trials, trial));
+                return;
+            }
+            SplittableRandom random = new SplittableRandom(Hashing.mix64(seed + from * GOLDEN_GAMMA));
+            int length = blockLength(trials, from);
+            double mean = 0;
+            double squaredDeviation = 0;
+            double sum = 0;
+            for (int i = 1; i <= length; i++) {
+                double value = trial.applyAsDouble(random);
+                sum += value;
+                double delta = value - mean;
+                mean += delta / i;
+                squaredDeviation += delta * (value - mean);
+            }
+            blocks.counts[from - blocks.first] = length;
+            blocks.sums[from - blocks.first] = sum;
+            blocks.squaredDeviations[from - blocks.first] = squaredDeviation;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.tip.functional;
+
+import com.tip.functional.customexception.IllegalNullArgumentException;
+import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 몬테카를로 어림값의 분산을 줄이는 기법들입니다. 같은 정확도를 얻는 데 필요한 시행 횟수가 분산이 줄어든 만큼 줄어듭니다.
+ * 모든 메서드는 어림값과 함께, 같은 횟수로 평가한 독립 표본 평균의 분산을 같은 표본으로 어림잡아
+ * {@link MonteCarloEstimate#varianceReduction()}으로 돌려줍니다.
+ */
+public final class VarianceReduction {
+    private VarianceReduction() {}
+
+    /**
+     * 대조 변량(antithetic variates)으로 균등 분포 U에 대한 E[f(U)]를 어림잡습니다.
+     * u와 1 - u를 짝지어 평가하므로 f가 단조 함수이면 짝의 평균끼리는 분산이 크게 줄어듭니다.
+     *
+     * @param function 평가할 함수
+     * @param pairs    짝의 개수. 함수는 pairs * 2번 평가됩니다.
+     * @return 어림값
+     * @throws IllegalArgumentException pairs가 2보다 작은 경우 발생
+     */
+    public static MonteCarloEstimate antithetic(DoubleUnaryOperator function, long pairs) {
+        nullCheck(function, "DoubleUnaryOperator function");
+        checkSamples(pairs);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Moments pairMeans = new Moments();
+        Moments singles = new Moments();
+        for (long i = 0; i < pairs; i++) {
+            double u = random.nextDouble();
+            double first = function.applyAsDouble(u);
+            double second = function.applyAsDouble(1 - u);
+            pairMeans.add((first + second) / 2);
+            singles.add(first);
+            singles.add(second);
+        }
+        return antitheticEstimate(pairMeans, singles);
+    }
+
+    /**
+     * 대조 변량으로 표준 정규 분포 Z에 대한 E[f(Z)]를 어림잡습니다. z와 -z를 짝지어 평가합니다.
+     *
+     * @param function 평가할 함수
+     * @param pairs    짝의 개수. 함수는 pairs * 2번 평가됩니다.
+     * @return 어림값
+     * @throws IllegalArgumentException pairs가 2보다 작은 경우 발생
+     */
+    public static MonteCarloEstimate antitheticNormal(DoubleUnaryOperator function, long pairs) {
+        nullCheck(function, "DoubleUnaryOperator function");
+        checkSamples(pairs);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Moments pairMeans = new Moments();
+        Moments singles = new Moments();
+        for (long i = 0; i < pairs; i++) {
+            double z = random.nextGaussian();
+            double first = function.applyAsDouble(z);
+            double second = function.applyAsDouble(-z);
+            pairMeans.add((first + second) / 2);
+            singles.add(first);
+            singles.add(second);
+        }
+        return antitheticEstimate(pairMeans, singles);
+    }
+
+    /**
+     * 조절 변량(control variates)으로 target의 평균을 어림잡습니다. 평균을 이미 아는 control 값과 target 값을 같은 시행에서 구한 뒤,
+     * 표본의 공분산으로 구한 최적 계수 beta로 target 평균 - beta * (control 평균 - controlMean)을 계산합니다.
+     * 두 값의 상관 계수가 rho이면 분산은 1 - rho^2배로 줄어듭니다.
+     *
+     * @param trials      시행 결과를 내보내는 반복자
+     * @param samples     쓸 시행의 개수. 반복자가 먼저 끝나면 그때까지의 시행만 씁니다.
+     * @param target      시행에서 평균을 구할 값을 꺼내는 함수
+     * @param control     시행에서 평균을 아는 값을 꺼내는 함수
+     * @param controlMean control 값의 참 평균
+     * @return 어림값
+     * @throws IllegalArgumentException 쓸 수 있는 시행이 2개보다 적은 경우 발생
+     */
+    public static <T> MonteCarloEstimate controlVariate(Iterator<T> trials, long samples,
+                                                        ToDoubleFunction<? super T> target,
+                                                        ToDoubleFunction<? super T> control, double controlMean) {
+        nullCheck(trials, "Iterator<T> trials");
+        nullCheck(target, "ToDoubleFunction target");
+        nullCheck(control, "ToDoubleFunction control");
+        checkSamples(samples);
+        Moments targets = new Moments();
+        Moments controls = new Moments();
+        double coMoment = 0;
+        for (long i = 0; i < samples && trials.hasNext(); i++) {
+            T trial = trials.next();
+            double y = target.applyAsDouble(trial);
+            double c = control.applyAsDouble(trial);
+            // 공분산도 Welford 방식으로 갱신합니다. 평균이 갱신되기 전의 c 편차와 갱신된 뒤의 y 편차를 곱합니다.
+            double controlDelta = c - controls.mean;
+            targets.add(y);
+            controls.add(c);
+            coMoment += controlDelta * (y - targets.mean);
+        }
+        long n = targets.count;
+        checkSamples(n);
+        double targetVariance = targets.variance();
+        double controlVariance = controls.variance();
+        double covariance = coMoment / (n - 1);
+        double beta = controlVariance > 0 ? covariance / controlVariance : 0;
+        double estimate = targets.mean - beta * (controls.mean - controlMean);
+        double residualVariance = Math.max(0, targetVariance - beta * covariance);
+        return new MonteCarloEstimate(estimate, residualVariance / n, targetVariance / n, n);
+    }
+
+    /**
+     * 층화 추출로 이산 균등 분포를 따르는 층 K에 대한 평균을 어림잡습니다. 층마다 같은 개수의 표본을 뽑아 층별 평균의 평균을 구하므로
+     * 층 사이의 편차가 어림값의 분산에서 빠집니다.
+     *
+     * @param strata            층의 개수. 층 번호는 0부터 strata - 1까지입니다.
+     * @param samplesPerStratum 층마다 뽑을 표본의 개수
+     * @param sample            층 번호를 받아 그 층의 표본 하나를 뽑는 함수
+     * @return 어림값
+     * @throws IllegalArgumentException strata가 1보다 작거나 samplesPerStratum이 2보다 작은 경우 발생
+     */
+    public static MonteCarloEstimate stratified(int strata, long samplesPerStratum, IntToDoubleFunction sample) {
+        nullCheck(sample, "IntToDoubleFunction sample");
+        if (strata < 1) {
+            throw new IllegalArgumentException("Out of range with " + strata);
+        }
+        checkSamples(samplesPerStratum);
+        Moments stratumMeans = new Moments();
+        double withinVarianceSum = 0;
+        for (int stratum = 0; stratum < strata; stratum++) {
+            Moments moments = new Moments();
+            for (long i = 0; i < samplesPerStratum; i++) {
+                moments.add(sample.applyAsDouble(stratum));
+            }
+            stratumMeans.add(moments.mean);
+            withinVarianceSum += moments.variance();
+        }
+        long evaluations = strata * samplesPerStratum;
+        double withinVariance = withinVarianceSum / strata;
+        double betweenVariance = stratumMeans.populationVariance();
+        double variance = withinVariance / evaluations;
+        return new MonteCarloEstimate(stratumMeans.mean, variance, (withinVariance + betweenVariance) / evaluations,
+                evaluations);
+    }
+
+    /**
+     * enum 상수를 층으로 삼아 층화 추출로 평균을 어림잡습니다.
+     *
+     * @see #stratified(int, long, IntToDoubleFunction)
+     */
+    public static <E extends Enum<E>> MonteCarloEstimate stratified(Class<E> enumType, long samplesPerStratum,
+                                                                     ToDoubleFunction<? super E> sample) {
+        nullCheck(enumType, "Class<E> enumType");
+        nullCheck(sample, "ToDoubleFunction sample");
+        E[] constants = enumType.getEnumConstants();
+        return stratified(constants.length, samplesPerStratum, stratum -> sample.applyAsDouble(constants[stratum]));
+    }
+
+    private static MonteCarloEstimate antitheticEstimate(Moments pairMeans, Moments singles) {
+        return new MonteCarloEstimate(pairMeans.mean, pairMeans.variance() / pairMeans.count,
+                singles.variance() / singles.count, singles.count);
+    }
+
+    private static void checkSamples(long samples) {
+        if (samples < 2) {
+            throw new IllegalArgumentException("Out of range with " + samples);
+        }
+    }
+
+    private static void nullCheck(Object object, String name) {
+        if (object == null) {
+            throw new IllegalNullArgumentException("VarianceReduction: " + name + " 값이 null로 들어올 수 없습니다.");
+        }
+    }
+
+    // Welford 방식으로 평균과 편차 제곱합을 누적합니다.
+    private static final class Moments {
+        private long count;
+        private double mean;
+        private double sumOfSquaredDeviations;
+
+        void add(double value) {
+            count++;
+            double delta = value - mean;
+            mean += delta / count;
+            sumOfSquaredDeviations += delta * (value - mean);
+        }
+
+        double variance() {
+            return count > 1 ? sumOfSquaredDeviations / (count - 1) : 0;
+        }
+
+        double populationVariance() {
+            return count > 0 ? sumOfSquaredDeviations / count : 0;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.tip.functional;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 지나가는 값들 가운데 k개를 가중치에 비례하는 확률로 뽑아 두는 가중 reservoir sampling 클래스입니다.
+ * Efraimidis-Spirakis의 A-ExpJ 알고리즘으로 값마다 u^(1/weight) 형태의 key를 매겨 key가 큰 k개를 남기며,
+ * 다음에 뽑힐 값까지 건너뛸 가중치 합을 미리 정하기 때문에 대부분의 값은 난수를 만들지 않고 지나갑니다.
+ * key는 밑이 매우 작아져도 0으로 뭉개지지 않도록 로그 값으로 저장합니다.
+ *
+ * @param <T> 원본 Iterator의 요소 타입
+ */
+public class WeightedReservoirSample<T extends Number> implements Iterator<T> {
+    private final Iterator<T> internalIterator; // 내부 반복자
+    private final ToDoubleFunction<? super T> weight; // 가중치 함수
+    private final double[] reservoir; // 표본
+    private final double[] logKeys; // 표본의 log key, 가장 작은 key가 맨 앞에 오는 힙
+    private int size = 0; // 표본 개수
+    private long seen = 0; // 지나간 값의 개수
+    private double weightToSkip; // 다음에 뽑힐 값까지 건너뛸 가중치 합
+
+    public WeightedReservoirSample(Iterator<T> internalIterator, int k, ToDoubleFunction<? super T> weight) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("Out of range with " + k);
+        }
+        this.internalIterator = internalIterator;
+        this.weight = weight;
+        this.reservoir = new double[k];
+        this.logKeys = new double[k];
+    }
+
+    @Override
+    public boolean hasNext() {
+        return internalIterator.hasNext();
+    }
+
+    @Override
+    public T next() {
+        T value = internalIterator.next();
+        offer(value.doubleValue(), weight.applyAsDouble(value));
+        return value;
+    }
+
+    /**
+     * 가중치가 붙은 값을 하나 흘려 보냅니다. 가중치가 0인 값은 뽑히지 않습니다.
+     *
+     * @param value       지나가는 값
+     * @param valueWeight 값의 가중치 (0 이상)
+     * @throws IllegalArgumentException valueWeight가 음수이거나 NaN인 경우 발생
+     */
+    public void offer(double value, double valueWeight) {
+        if (!(valueWeight >= 0)) {
+            throw new IllegalArgumentException("Out of range with " + valueWeight);
+        }
+        seen++;
+        if (valueWeight == 0) {
+            return;
+        }
+        if (size < reservoir.length) {
+            reservoir[size] = value;
+            logKeys[size] = Math.log(ReservoirSample.randomOpen()) / valueWeight;
+            siftUp(size++);
+            if (size == reservoir.length) {
+                nextJump();
+            }
+            return;
+        }
+        weightToSkip -= valueWeight;
+        if (weightToSkip > 0) {
+            return;
+        }
+        // 새 key는 가장 작은 key보다 크도록 (t, 1) 구간에서 뽑습니다. t = exp(weight * minLogKey)
+        double t = Math.exp(valueWeight * logKeys[0]);
+        double u = t + (1 - t) * ReservoirSample.randomOpen();
+        reservoir[0] = value;
+        logKeys[0] = Math.log(u) / valueWeight;
+        siftDown(0);
+        nextJump();
+    }
+
+    private void nextJump() {
+        weightToSkip = Math.log(ReservoirSample.randomOpen()) / logKeys[0];
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (logKeys[parent] <= logKeys[index]) {
+                break;
+            }
+            swap(parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && logKeys[child + 1] < logKeys[child]) {
+                child++;
+            }
+            if (logKeys[index] <= logKeys[child]) {
+                break;
+            }
+            swap(index, child);
+            index = child;
+        }
+    }
+
+    private void swap(int i, int j) {
+        double value = reservoir[i];
+        reservoir[i] = reservoir[j];
+        reservoir[j] = value;
+        double key = logKeys[i];
+        logKeys[i] = logKeys[j];
+        logKeys[j] = key;
+    }
+
+    /**
+     * @return 현재까지 뽑힌 표본의 복사본
+     */
+    public double[] values() {
+        return Arrays.copyOf(reservoir, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long seen() {
+        return seen;
+    }
+}
@@ -0,0 +1,70 @@
+package com.tip.functional;
+
+/**
+ * 한 윈도(window)에 들어 있는 값들의 통계를 담는 불변 객체입니다.
+ * 윈도 연산자({@link Iterators#slidingWindow}, {@link Iterators#tumblingWindow}, {@link Iterators#timeWindow})가
+ * 윈도를 밀 때마다 하나씩 만들어 반환합니다.
+ */
+public final class WindowStatistics {
+    private final long count;
+    private final double sum;
+    private final double mean;
+    private final double sumOfSquaredDeviations;
+    private final double min;
+    private final double max;
+
+    WindowStatistics(long count, double sum, double mean, double sumOfSquaredDeviations, double min, double max) {
+        this.count = count;
+        this.sum = sum;
+        this.mean = mean;
+        this.sumOfSquaredDeviations = sumOfSquaredDeviations;
+        this.min = min;
+        this.max = max;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double sum() {
+        return sum;
+    }
+
+    /**
+     * @return 윈도 값들의 평균. 윈도가 비어 있으면 NaN을 반환합니다.
+     */
+    public double mean() {
+        return count > 0 ? mean : Double.NaN;
+    }
+
+    /**
+     * @return 윈도 값들의 표본 분산(n - 1로 나눔). 값이 두 개보다 적으면 NaN을 반환합니다.
+     */
+    public double variance() {
+        return count > 1 ? sumOfSquaredDeviations / (count - 1) : Double.NaN;
+    }
+
+    public double standardDeviation() {
+        return Math.sqrt(variance());
+    }
+
+    /**
+     * @return 윈도의 최솟값. 윈도가 비어 있으면 NaN을 반환합니다.
+     */
+    public double min() {
+        return min;
+    }
+
+    /**
+     * @return 윈도의 최댓값. 윈도가 비어 있으면 NaN을 반환합니다.
+     */
+    public double max() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "WindowStatistics{count=" + count + ", sum=" + sum + ", mean=" + mean() + ", variance=" + variance()
+                + ", min=" + min + ", max=" + max + "}";
+    }
+}
@@ -0,0 +1,7 @@
+package com.tip.functional.customexception;
+
+public class InvalidWindowSizeException extends IllegalArgumentException {
+    public InvalidWindowSizeException(String message) {
+        super(message);
+    }
+}
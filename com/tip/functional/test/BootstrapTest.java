@@ -0,0 +1,92 @@
+package com.tip.functional.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.tip.functional.Bootstrap;
+import com.tip.functional.BootstrapResult;
+import com.tip.functional.ConfidenceInterval;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BootstrapTest {
+
+    @Test
+    @DisplayName("평균의 붓스트랩 표준 오차는 sigma / sqrt(n)에 가깝고 구간은 참 평균을 포함함")
+    void given_normalSamples_when_resampled_then_standardErrorMatchesTheory() {
+        //given
+        SplittableRandom random = new SplittableRandom(1);
+        double[] samples = new double[2000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = 10 + 2 * random.nextGaussian();
+        }
+
+        //when
+        BootstrapResult result = Bootstrap.resample(samples.length, Bootstrap.mean(samples), 2000, 7);
+
+        //then
+        assertEquals(2 / Math.sqrt(2000), result.standardError(), 0.007);
+        ConfidenceInterval percentile = result.percentileInterval(0.95);
+        ConfidenceInterval bca = result.bcaInterval(0.95);
+        assertTrue(percentile.contains(10) && bca.contains(10));
+        assertTrue(percentile.contains(result.estimate()));
+        assertEquals(percentile.lower(), bca.lower(), 0.01);
+        assertEquals(2000, result.resamples());
+    }
+
+    @Test
+    @DisplayName("seed가 같으면 병렬로 계산해도 같은 재표본 통계량이 나옴")
+    void given_sameSeed_when_resampled_then_replicatesAreEqual() {
+        //given
+        double[] samples = {3, 1, 4, 1, 5, 9, 2, 6, 5, 3, 5, 8, 9, 7, 9};
+
+        //when
+        BootstrapResult first = Bootstrap.resample(samples.length, Bootstrap.median(samples), 1000, 42);
+        BootstrapResult second = Bootstrap.resample(samples.length, Bootstrap.median(samples), 1000, 42);
+
+        //then
+        assertArrayEquals(first.replicates(), second.replicates());
+        assertEquals(5, first.estimate());
+    }
+
+    @Test
+    @DisplayName("치우친 분포에서 BCa 구간은 백분위수 구간보다 긴 꼬리 쪽으로 옮겨감")
+    void given_skewedSamples_when_bcaInterval_then_shiftTowardsLongTail() {
+        //given
+        SplittableRandom random = new SplittableRandom(3);
+        double[] samples = new double[50];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = Math.exp(2 * random.nextGaussian());
+        }
+
+        //when
+        BootstrapResult result = Bootstrap.resample(samples.length, Bootstrap.mean(samples), 4000, 11);
+
+        //then
+        ConfidenceInterval percentile = result.percentileInterval(0.9);
+        ConfidenceInterval bca = result.bcaInterval(0.9);
+        assertTrue(bca.upper() > percentile.upper());
+        assertTrue(bca.lower() > percentile.lower());
+    }
+
+    @Test
+    @DisplayName("ratio 통계량은 합의 비율을 계산함")
+    void given_ratio_when_resampled_then_estimateIsRatioOfSums() {
+        //given
+        double[] successes = {1, 0, 1, 1, 0, 1, 0, 1};
+        double[] trials = {1, 1, 1, 1, 1, 1, 1, 1};
+
+        //when
+        BootstrapResult result = Bootstrap.resample(successes.length, Bootstrap.ratio(successes, trials), 500, 5);
+
+        //then
+        assertEquals(0.625, result.estimate());
+        ConfidenceInterval interval = result.percentileInterval(0.99);
+        assertTrue(interval.lower() >= 0 && interval.upper() <= 1);
+        assertThrows(IllegalArgumentException.class, () -> Bootstrap.ratio(successes, new double[3]));
+        assertThrows(IllegalArgumentException.class, () -> result.bcaInterval(1));
+    }
+}
@@ -0,0 +1,130 @@
+package com.tip.functional.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.tip.Mathx;
+import com.tip.functional.AnytimeResult;
+import com.tip.functional.Budget;
+import com.tip.functional.CancellationToken;
+import com.tip.functional.Iterators;
+import com.tip.functional.Range;
+import com.tip.functional.customexception.IllegalNullArgumentException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BudgetTest {
+
+    @Test
+    @DisplayName("벽시계 예산이 다하면 끝없는 순열에서도 부분 결과와 소비한 원소 수를 돌려줌")
+    void given_wallClockBudget_when_meanOfInfiniteIterator_then_returnPartialEstimate() {
+        //when
+        AnytimeResult<Double> estimate = Iterators.mean(Mathx.normalDistribution(50, 30),
+                Budget.wallClock(Duration.ofMillis(50)));
+
+        //then
+        assertEquals(AnytimeResult.StopReason.WALL_CLOCK, estimate.stopReason());
+        assertFalse(estimate.isComplete());
+        assertTrue(estimate.consumed() > 10_000);
+        assertTrue(estimate.elapsedNanos() >= 50_000_000L && estimate.elapsedNanos() < 1_000_000_000L);
+        assertEquals(50, estimate.value(), 1);
+    }
+
+    @Test
+    @DisplayName("CPU 시간 예산도 원소 간격마다 확인하여 멈춤")
+    void given_cpuTimeBudget_when_reduce_then_stopWithCpuTime() {
+        //when
+        AnytimeResult<Long> count = Iterators.reduce(Mathx.randDoubles(), (acc, x) -> acc + 1, 0L,
+                Budget.cpuTime(Duration.ofMillis(20)).checkEvery(100));
+
+        //then
+        assertEquals(AnytimeResult.StopReason.CPU_TIME, count.stopReason());
+        assertEquals(count.consumed(), count.value());
+        assertEquals(0, count.consumed() % 100);
+    }
+
+    @Test
+    @DisplayName("스레드 CPU 시간 측정이 꺼져 있어도 CPU 시간 예산은 측정을 켜고 멈춤")
+    void given_threadCpuTimeDisabled_when_reduce_then_enableAndStopWithCpuTime() {
+        //given
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        boolean enabled = threads.isThreadCpuTimeEnabled();
+        threads.setThreadCpuTimeEnabled(false);
+        try {
+            //when
+            AnytimeResult<Long> count = Iterators.reduce(Mathx.randDoubles(), (acc, x) -> acc + 1, 0L,
+                    Budget.cpuTime(Duration.ofMillis(20)));
+
+            //then
+            assertEquals(AnytimeResult.StopReason.CPU_TIME, count.stopReason());
+            assertTrue(threads.isThreadCpuTimeEnabled());
+        } finally {
+            threads.setThreadCpuTimeEnabled(enabled);
+        }
+    }
+
+    @Test
+    @DisplayName("유한한 Iterator는 끝까지 소비하고 멈춤 조건이 참이 되면 바로 멈춤")
+    void given_finiteIteratorOrStopCondition_when_reduce_then_complete() {
+        //when
+        AnytimeResult<Long> sum = Iterators.reduce(new Range(1, 101).iterator(), Long::sum, 0L, Budget.unlimited());
+        AnytimeResult<Long> partial = Iterators.reduce(new Range(1, 101).iterator(), Long::sum, 0L,
+                total -> total >= 55, Budget.unlimited());
+
+        //then
+        assertEquals(5050L, sum.value());
+        assertEquals(AnytimeResult.StopReason.EXHAUSTED, sum.stopReason());
+        assertEquals(100, sum.consumed());
+        assertEquals(55L, partial.value());
+        assertEquals(AnytimeResult.StopReason.STOP_CONDITION, partial.stopReason());
+        assertTrue(partial.isComplete());
+        assertEquals(10, partial.consumed());
+    }
+
+    @Test
+    @DisplayName("다른 스레드가 취소하거나 인터럽트하면 멈춤")
+    void given_cancellationOrInterrupt_when_reduce_then_stop() throws InterruptedException {
+        //given
+        CancellationToken token = new CancellationToken();
+        Thread canceller = new Thread(() -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            token.cancel();
+        });
+        canceller.start();
+
+        //when
+        AnytimeResult<Double> cancelled = Iterators.mean(Mathx.randDoubles(), Budget.cancellable(token));
+        canceller.join();
+        Thread.currentThread().interrupt();
+        AnytimeResult<Double> interrupted = Iterators.mean(Mathx.randDoubles(), Budget.unlimited());
+        boolean stillInterrupted = Thread.interrupted();
+
+        //then
+        assertEquals(AnytimeResult.StopReason.CANCELLED, cancelled.stopReason());
+        assertTrue(cancelled.consumed() > 0);
+        assertEquals(AnytimeResult.StopReason.INTERRUPTED, interrupted.stopReason());
+        assertEquals(0, interrupted.consumed());
+        assertTrue(Double.isNaN(interrupted.value()));
+        assertTrue(stillInterrupted);
+    }
+
+    @Test
+    @DisplayName("잘못된 인자는 예외를 던짐")
+    void given_invalidArguments_when_budget_then_throw() {
+        assertThrows(IllegalArgumentException.class, () -> Budget.wallClock(Duration.ofMillis(-1)));
+        assertThrows(IllegalArgumentException.class, () -> Budget.unlimited().checkEvery(0));
+        assertThrows(IllegalNullArgumentException.class, () -> Budget.cancellable(null));
+        assertThrows(IllegalNullArgumentException.class, () -> Iterators.mean(Mathx.randDoubles(), null));
+        assertThrows(IllegalNullArgumentException.class,
+                () -> Iterators.reduce(null, (Long acc, Double x) -> acc, 0L, Budget.unlimited()));
+    }
+}
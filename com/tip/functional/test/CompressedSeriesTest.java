@@ -0,0 +1,127 @@
+package com.tip.functional.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.tip.Mathx;
+import com.tip.functional.CompressedSeries;
+import com.tip.functional.Iterators;
+import com.tip.functional.Range;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.PrimitiveIterator;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CompressedSeriesTest {
+
+    @Test
+    @DisplayName("double 수열은 비트 하나 틀리지 않고 복원됨")
+    void given_doubles_when_compressed_then_restoreExactBits() {
+        //given
+        double[] values = {0, -0.0, 1.5, 1.5, Double.NaN, Double.POSITIVE_INFINITY, Double.MIN_VALUE, -1e300, 42,
+                Math.PI, Math.E};
+        CompressedSeries.DoubleEncoder encoder = CompressedSeries.doubleEncoder(4);
+
+        //when
+        for (double value : values) {
+            encoder.add(value);
+        }
+        CompressedSeries series = encoder.finish();
+
+        //then
+        PrimitiveIterator.OfDouble decoded = series.doubles();
+        for (double value : values) {
+            assertEquals(Double.doubleToRawLongBits(value), Double.doubleToRawLongBits(decoded.nextDouble()));
+        }
+        assertFalse(decoded.hasNext());
+    }
+
+    @Test
+    @DisplayName("천천히 변하는 센서 값과 일정한 간격의 시각은 원래 크기보다 훨씬 작게 압축됨")
+    void given_smoothSeries_when_compressed_then_takeFractionOfRawSize() {
+        //given
+        SplittableRandom random = new SplittableRandom(1);
+        double[] temperatures = new double[100_000];
+        for (int i = 1; i < temperatures.length; i++) {
+            temperatures[i] = temperatures[i - 1] + (random.nextInt(3) - 1) * 0.5;
+        }
+
+        //when
+        CompressedSeries counters = Iterators.compressDoubles(new Range(0, 100_000).iterator());
+        CompressedSeries.DoubleEncoder encoder = CompressedSeries.doubleEncoder();
+        for (double temperature : temperatures) {
+            encoder.add(temperature);
+        }
+        CompressedSeries readings = encoder.finish();
+        CompressedSeries timestamps = Iterators.compressLongs(new Range(0, 100_000).iterator());
+
+        //then
+        assertTrue(readings.compressedBytes() < temperatures.length * 8 / 3);
+        assertTrue(timestamps.compressedBytes() < 100_000 * 8 / 50);
+        assertTrue(counters.compressedBytes() < 100_000 * 8 / 2);
+        PrimitiveIterator.OfDouble decoded = readings.doubles();
+        for (double temperature : temperatures) {
+            assertEquals(temperature, decoded.nextDouble());
+        }
+    }
+
+    @Test
+    @DisplayName("블록 색인으로 중간부터 읽을 수 있음")
+    void given_series_when_seek_then_startFromThatIndex() {
+        //given
+        CompressedSeries.LongEncoder encoder = CompressedSeries.longEncoder(100);
+        SplittableRandom random = new SplittableRandom(2);
+        long[] values = new long[1234];
+        long time = 1_700_000_000_000L;
+        for (int i = 0; i < values.length; i++) {
+            time += 1000 + random.nextInt(-3000, 3000) * (i % 7 == 0 ? 1000L : 1);
+            values[i] = time;
+            encoder.add(time);
+        }
+        CompressedSeries series = encoder.finish();
+
+        //when
+        PrimitiveIterator.OfLong fromMiddle = series.longs(777);
+
+        //then
+        for (int i = 777; i < values.length; i++) {
+            assertEquals(values[i], fromMiddle.nextLong());
+        }
+        assertFalse(fromMiddle.hasNext());
+        assertFalse(series.longs(1234).hasNext());
+        assertThrows(IndexOutOfBoundsException.class, () -> series.longs(1235));
+        assertThrows(IllegalStateException.class, series::doubles);
+    }
+
+    @Test
+    @DisplayName("압축한 수열을 쓰고 다시 읽을 수 있음")
+    void given_series_when_serialized_then_readBack() throws IOException {
+        //given
+        double[] normals = Mathx.normalDistribution(new double[5000], 50, 10);
+        CompressedSeries.DoubleEncoder encoder = CompressedSeries.doubleEncoder();
+        for (double value : normals) {
+            encoder.add(value);
+        }
+        CompressedSeries series = encoder.finish();
+
+        //when
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        series.writeTo(new DataOutputStream(bytes));
+        CompressedSeries restored = CompressedSeries.readFrom(new DataInputStream(new ByteArrayInputStream(
+                bytes.toByteArray())));
+
+        //then
+        assertEquals(5000, restored.size());
+        PrimitiveIterator.OfDouble decoded = restored.doubles(4321);
+        for (int i = 4321; i < normals.length; i++) {
+            assertEquals(normals[i], decoded.nextDouble());
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.tip.functional.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.tip.Mathx;
+import com.tip.functional.Experiments;
+import com.tip.functional.ExperimentsSnapshot;
+import com.tip.functional.Iterators;
+import com.tip.functional.KllSketch;
+import com.tip.functional.Range;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ExperimentsTest {
+
+    @Test
+    @DisplayName("분위수 스케치를 켠 Experiments는 중앙값과 백분위수를 어림잡음")
+    void given_experimentsWithSketch_when_iterated_then_returnApproximateQuantiles() {
+        //given
+        Experiments<Long> experiments = new Experiments<>(new Range(0, 1_000_000).iterator(), "range", "uniform", 200);
+
+        //when
+        Iterators.count(Iterators.limit(experiments, 1_000_000));
+
+        //then
+        assertEquals(500_000, experiments.quantile(0.5), 20_000);
+        assertEquals(990_000, experiments.quantile(0.99), 20_000);
+        assertEquals(0.25, experiments.cdf(250_000), 0.02);
+        assertEquals(0, experiments.quantile(0));
+        assertEquals(999_999, experiments.quantile(1));
+        assertTrue(experiments.quantileSketch().count() == 1_000_000);
+    }
+
+    @Test
+    @DisplayName("분위수 스케치 없이 만든 Experiments에 분위수를 물으면 IllegalStateException 발생")
+    void given_experimentsWithoutSketch_when_quantile_then_throwIllegalStateException() {
+        //given
+        Experiments<Long> experiments = new Experiments<>(new Range(0, 10).iterator(), "range", "uniform");
+
+        //when/then
+        assertThrows(IllegalStateException.class, () -> experiments.quantile(0.5));
+    }
+
+    @Test
+    @DisplayName("나누어 만든 스케치를 합치면 전체 값의 분위수를 어림잡음")
+    void given_twoSketches_when_merged_then_returnQuantilesOfAllValues() throws IOException {
+        //given
+        KllSketch lower = new KllSketch();
+        KllSketch upper = new KllSketch();
+        for (int i = 0; i < 500_000; i++) {
+            lower.update(i);
+            upper.update(500_000 + i);
+        }
+
+        //when
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        upper.writeTo(new DataOutputStream(bytes));
+        lower.merge(KllSketch.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+
+        //then
+        assertEquals(1_000_000, lower.count());
+        assertEquals(500_000, lower.quantile(0.5), 20_000);
+        assertEquals(100_000, lower.quantile(0.1), 20_000);
+        assertEquals(999_999, lower.max());
+        assertTrue(bytes.size() < 16 * 1024, "bytes: " + bytes.size());
+    }
+
+    @Test
+    @DisplayName("Experiments는 계수를 long으로 세고 snapshot으로 계수, 합계, 평균 반환")
+    void given_experiments_when_snapshot_then_returnCountSumAndMean() {
+        //given
+        Experiments<Long> experiments = new Experiments<>(new Range(1, 101).iterator(), "range", "uniform");
+
+        //when
+        Iterators.get(experiments, 99);
+        ExperimentsSnapshot snapshot = experiments.snapshot();
+
+        //then
+        assertEquals(100L, snapshot.count());
+        assertEquals(5050.0, snapshot.sum());
+        assertEquals(50.5, snapshot.mean());
+    }
+
+    @Test
+    @DisplayName("동시 기록 모드 Experiments는 여러 스레드의 기록을 잃지 않음")
+    void given_concurrentExperiments_when_recordedFromManyThreads_then_loseNoUpdates() throws InterruptedException {
+        //given
+        Experiments<Integer> experiments = Experiments.concurrent(Mathx.binaryDistribution(1.0), "always", "binary",
+                64);
+        int threads = 4;
+        int perThread = 250_000;
+        Thread[] workers = new Thread[threads];
+
+        //when
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    if (i % 2 == 0) {
+                        experiments.next();
+                    } else {
+                        experiments.record(1.0);
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        while (Arrays.stream(workers).anyMatch(Thread::isAlive)) {
+            ExperimentsSnapshot snapshot = experiments.snapshot();
+            assertEquals((double) snapshot.count(), snapshot.sum());
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        //then
+        ExperimentsSnapshot snapshot = experiments.snapshot();
+        assertEquals((long) threads * perThread, snapshot.count());
+        assertEquals((double) threads * perThread, snapshot.sum());
+        assertEquals((long) threads * perThread, experiments.quantileSketch().count());
+        assertEquals(1.0, experiments.quantile(0.5));
+    }
+
+    @Test
+    @DisplayName("동시 기록 모드 Experiments는 끝난 스레드의 기록도 잃지 않음")
+    void given_shortLivedThreads_when_recorded_then_keepRetiredCounts() throws InterruptedException {
+        //given
+        Experiments<Integer> experiments = Experiments.concurrent(Mathx.binaryDistribution(1.0), "always", "binary",
+                64);
+        int threads = 200;
+        int perThread = 1_000;
+
+        //when
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    experiments.record(2.0);
+                }
+            });
+            worker.start();
+            worker.join();
+            if (t % 50 == 0) {
+                experiments.snapshot();
+            }
+        }
+
+        //then
+        ExperimentsSnapshot snapshot = experiments.snapshot();
+        assertEquals((long) threads * perThread, snapshot.count());
+        assertEquals(2.0 * threads * perThread, snapshot.sum());
+        assertEquals((long) threads * perThread, experiments.quantileSketch().count());
+        assertEquals(2.0, experiments.quantile(0.5));
+    }
+
+    @Test
+    @DisplayName("동시 기록 모드 Experiments는 분위수를 읽는 도중에도 스케치 기록을 잃지 않음")
+    void given_concurrentReaders_when_quantileSketchRead_then_loseNoSketchUpdates() throws InterruptedException {
+        //given
+        Experiments<Integer> experiments = Experiments.concurrent(Mathx.binaryDistribution(1.0), "always", "binary",
+                64);
+        int threads = 4;
+        int perThread = 200_000;
+        Thread[] workers = new Thread[threads];
+
+        //when
+        for (int t = 0; t < threads; t++) {
+            int value = t;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    experiments.record(value);
+                }
+            });
+            workers[t].start();
+        }
+        long previous = 0;
+        while (Arrays.stream(workers).anyMatch(Thread::isAlive)) {
+            long count = experiments.quantileSketch().count();
+            assertTrue(count >= previous);
+            previous = count;
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        //then
+        KllSketch sketch = experiments.quantileSketch();
+        assertEquals((long) threads * perThread, sketch.count());
+        assertEquals(0.0, sketch.min());
+        assertEquals(threads - 1.0, sketch.max());
+    }
+}
@@ -0,0 +1,173 @@
+package com.tip.functional.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+
+/**
+ * 핫 경로 연산의 원소 하나당 할당 바이트와 초당 원소 수를 재는 테스트 도구입니다.
+ * 할당량은 {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}로 현재 스레드가 할당한 바이트만 세므로
+ * 연산은 테스트 스레드에서만 돌아야 합니다. JIT가 충분히 컴파일하도록 먼저 몇 번 돌린 뒤, 여러 번 재어 가장 좋은 값을 씁니다.
+ * 연산의 결과는 휘발성 필드에 남겨 JIT가 연산을 지우지 못하게 합니다.
+ * <p>
+ * JIT의 탈출 분석은 호출 지점이 지금까지 받은 타입에 따라 boxing을 없애기도 하고 못 없애기도 하므로, 같은 JVM에서 잰 할당량은
+ * 앞서 돈 테스트에 따라 달라집니다. {@link #assertWithinBudgets(Class, Allowance...)}는 탈출 분석을 끈 새 JVM에서 재므로
+ * 원소마다 만드는 객체가 언제나 그대로 세어집니다.
+ */
+final class HotPathBenchmark {
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final String REPORT_PREFIX = "hot-path\t";
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static volatile double blackhole;
+
+    private HotPathBenchmark() {
+    }
+
+    /**
+     * @param name      연산 이름
+     * @param elements  연산 한 번이 처리하는 원소 수
+     * @param operation 원소들을 처리하고 결과 하나를 돌려주는 연산
+     * @return 원소 하나당 할당 바이트와 초당 원소 수
+     */
+    static Measurement measure(String name, long elements, DoubleSupplier operation) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            blackhole = operation.getAsDouble();
+        }
+        long threadId = Thread.currentThread().getId();
+        double bytesPerElement = Double.POSITIVE_INFINITY;
+        double elementsPerSecond = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            blackhole = operation.getAsDouble();
+            long elapsed = System.nanoTime() - start;
+            long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            bytesPerElement = Math.min(bytesPerElement, (double) allocated / elements);
+            elementsPerSecond = Math.max(elementsPerSecond, elements * 1e9 / Math.max(elapsed, 1));
+        }
+        return new Measurement(name, bytesPerElement, elementsPerSecond);
+    }
+
+    /**
+     * 원소 하나당 할당 바이트가 maxBytesPerElement 이하이고 초당 원소 수가 minElementsPerSecond 이상인지 확인합니다.
+     * 이 JVM이 스레드별 할당량을 잴 수 없으면 할당 예산은 확인하지 않습니다.
+     */
+    static void assertWithinBudget(Measurement measurement, double maxBytesPerElement, double minElementsPerSecond) {
+        if (allocationMeasurable()) {
+            assertTrue(measurement.bytesPerElement <= maxBytesPerElement,
+                    measurement + " exceeds " + maxBytesPerElement + " bytes/element");
+        }
+        assertTrue(measurement.elementsPerSecond >= minElementsPerSecond,
+                measurement + " is below " + minElementsPerSecond + " elements/s");
+    }
+
+    static Allowance allow(String name, double maxBytesPerElement, double minElementsPerSecond) {
+        return new Allowance(name, maxBytesPerElement, minElementsPerSecond);
+    }
+
+    /**
+     * 탈출 분석을 끈 새 JVM에서 hotPaths의 main에 연산 이름들을 넘겨 재게 하고, 잰 값이 저마다의 예산 안인지 확인합니다.
+     * hotPaths의 main은 이름마다 {@link #measure(String, long, DoubleSupplier)}로 재고 {@link #report(Measurement)}로 알려야 합니다.
+     *
+     * @param hotPaths   이름으로 연산을 찾아 재는 main이 있는 클래스
+     * @param allowances 연산 이름과 예산
+     */
+    static void assertWithinBudgets(Class<?> hotPaths, Allowance... allowances)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-XX:+IgnoreUnrecognizedVMOptions", "-XX:-DoEscapeAnalysis",
+                "-cp", classPath(hotPaths), hotPaths.getName()));
+        for (Allowance allowance : allowances) {
+            command.add(allowance.name);
+        }
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        Map<String, Measurement> measured = new HashMap<>();
+        StringBuilder output = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.append(line).append('\n');
+                if (line.startsWith(REPORT_PREFIX)) {
+                    String[] fields = line.split("\t");
+                    measured.put(fields[1], new Measurement(fields[1], Double.parseDouble(fields[2]),
+                            Double.parseDouble(fields[3])));
+                }
+            }
+        }
+        assertEquals(0, process.waitFor(), output::toString);
+        for (Allowance allowance : allowances) {
+            Measurement measurement = measured.get(allowance.name);
+            assertNotNull(measurement, () -> allowance.name + " was not measured\n" + output);
+            assertWithinBudget(measurement, allowance.maxBytesPerElement, allowance.minElementsPerSecond);
+        }
+    }
+
+    // 테스트 실행기가 테스트 클래스를 따로 둔 클래스 로더로 읽으면 java.class.path에 없으므로 hotPaths가 읽힌 곳을 덧붙입니다.
+    private static String classPath(Class<?> hotPaths) {
+        try {
+            return System.getProperty("java.class.path") + File.pathSeparator
+                    + Paths.get(hotPaths.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * {@link #assertWithinBudgets(Class, Allowance...)}가 띄운 JVM에서 잰 값을 부모 JVM에 알립니다.
+     */
+    static void report(Measurement measurement) {
+        System.out.println(REPORT_PREFIX + measurement.name + '\t' + measurement.bytesPerElement + '\t'
+                + measurement.elementsPerSecond);
+    }
+
+    private static boolean allocationMeasurable() {
+        return THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled();
+    }
+
+    static final class Measurement {
+        final String name;
+        final double bytesPerElement;
+        final double elementsPerSecond;
+
+        Measurement(String name, double bytesPerElement, double elementsPerSecond) {
+            this.name = name;
+            this.bytesPerElement = bytesPerElement;
+            this.elementsPerSecond = elementsPerSecond;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %.2f bytes/element, %.3e elements/s", name, bytesPerElement, elementsPerSecond);
+        }
+    }
+
+    static final class Allowance {
+        final String name;
+        final double maxBytesPerElement;
+        final double minElementsPerSecond;
+
+        Allowance(String name, double maxBytesPerElement, double minElementsPerSecond) {
+            this.name = name;
+            this.maxBytesPerElement = maxBytesPerElement;
+            this.minElementsPerSecond = minElementsPerSecond;
+        }
+    }
+}
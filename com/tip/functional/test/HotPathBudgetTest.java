@@ -0,0 +1,189 @@
+package com.tip.functional.test;
+
+import static com.tip.functional.Iterators.count;
+import static com.tip.functional.Iterators.filter;
+import static com.tip.functional.Iterators.limit;
+import static com.tip.functional.Iterators.map;
+import static com.tip.functional.Iterators.zip;
+import static com.tip.functional.test.HotPathBenchmark.allow;
+import static com.tip.functional.test.HotPathBenchmark.assertWithinBudgets;
+import static com.tip.functional.test.HotPathBenchmark.measure;
+
+import com.tip.Mathx;
+import com.tip.functional.CompressedSeries;
+import com.tip.functional.Experiments;
+import com.tip.functional.InfiniteLongIterator;
+import com.tip.functional.Iterators;
+import com.tip.functional.Pipeline;
+import com.tip.functional.PipelineTemplate;
+import com.tip.functional.Pipelines;
+import com.tip.functional.Range;
+import com.tip.functional.SobolSequence;
+import com.tip.functional.test.HotPathBenchmark.Measurement;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 핫 경로의 할당과 처리량 예산입니다. 값을 확인하는 테스트는 원소마다 boxing이나 할당이 하나 늘어도 통과하므로,
+ * 원소 하나당 할당 바이트가 예산을 넘으면 실패하게 합니다.
+ * 연산은 {@link HotPathBenchmark#assertWithinBudgets}가 탈출 분석을 끄고 띄운 새 JVM에서 {@link #main(String[])}으로 잽니다.
+ * 그래서 원소마다 만드는 Double이나 Long 상자는 JIT가 없애지 못하고 언제나 그대로 세어지며,
+ * 예산은 잰 값에 한 상자(24바이트)보다 작은 여유만 두었으므로 원소마다 상자가 하나만 늘어도 실패합니다.
+ * 작은 Integer는 캐시되므로 할당이 없습니다.
+ * 처리량 예산은 기계마다 다르므로 지금 값의 수십 분의 일로 낮게 잡아, 원소마다 일이 크게 늘어난 경우만 잡습니다.
+ */
+public class HotPathBudgetTest {
+    private static final int ELEMENTS = 1_000_000;
+    private static final int BATCHES = 100_000;
+    private static final int BOX_BYTES = 24; // compressed oops에서 Double이나 Long 하나의 크기
+
+    // 원소마다 상자를 boxes개까지 만드는 예산입니다.
+    private static double boxes(int boxes) {
+        return boxes * BOX_BYTES + 1;
+    }
+
+    @Test
+    @DisplayName("배열 커널과 Range 합은 할당하지 않음")
+    void given_primitiveKernels_when_measured_then_allocateNothing() throws Exception {
+        assertWithinBudgets(HotPathBudgetTest.class,
+                allow("Mathx.sum(double[])", 0.01, 1e8),
+                allow("Mathx.normalDistribution(double[])", 0.01, 1e6),
+                allow("Mathx.sum(Range)", 0.01, 1e8));
+    }
+
+    @Test
+    @DisplayName("Mathx 생성기는 원소마다 boxing을 하나까지만 함")
+    void given_mathxGenerators_when_measured_then_stayWithinBudget() throws Exception {
+        assertWithinBudgets(HotPathBudgetTest.class,
+                allow("Mathx.sum(limit(randDoubles))", boxes(1), 2e6),
+                allow("Mathx.discreteUniformDistribution", 1, 2e6),
+                allow("Mathx.binaryDistribution", 1, 2e6),
+                allow("Mathx.normalDistribution", boxes(1), 1e6));
+    }
+
+    @Test
+    @DisplayName("Iterators 연산자는 원소마다 정해진 boxing만 함")
+    void given_iteratorOperators_when_measured_then_stayWithinBudget() throws Exception {
+        assertWithinBudgets(HotPathBudgetTest.class,
+                allow("Iterators.map", boxes(2), 3e6),
+                allow("Iterators.filter", boxes(1), 2e6),
+                allow("Iterators.zip", boxes(3), 1e6),
+                allow("Iterators.count(Range)", boxes(2), 5e6));
+    }
+
+    @Test
+    @DisplayName("primitive 원본과 기록은 원소마다 할당하지 않음")
+    void given_primitiveSources_when_measured_then_allocateAlmostNothing() throws Exception {
+        assertWithinBudgets(HotPathBudgetTest.class,
+                allow("Mathx.primes", 1, 2e6),
+                allow("Mathx.sobol", 0.01, 1e7),
+                allow("CompressedSeries.doubles", 0.01, 3e6),
+                allow("Experiments.record", 0.01, 1e7));
+    }
+
+    @Test
+    @DisplayName("PipelineTemplate은 짧은 묶음을 되풀이해도 묶음마다 사슬을 할당하지 않음")
+    void given_pipelineTemplate_when_manyShortBatches_then_allocateNothingPerBatch() throws Exception {
+        assertWithinBudgets(HotPathBudgetTest.class, allow("PipelineTemplate.acquire", 0.01, 1e5));
+    }
+
+    // HotPathBenchmark가 띄운 JVM에서 이름마다 연산을 재어 알립니다.
+    public static void main(String[] names) {
+        for (String name : names) {
+            HotPathBenchmark.report(measureHotPath(name));
+        }
+    }
+
+    private static Measurement measureHotPath(String name) {
+        switch (name) {
+            case "Mathx.sum(double[])": {
+                double[] values = new double[ELEMENTS];
+                Arrays.fill(values, 1.5);
+                return measure(name, ELEMENTS, () -> Mathx.sum(values));
+            }
+            case "Mathx.normalDistribution(double[])": {
+                double[] values = new double[ELEMENTS];
+                return measure(name, ELEMENTS, () -> Mathx.sum(Mathx.normalDistribution(values, 0, 1)));
+            }
+            case "Mathx.sum(Range)":
+                return measure(name, ELEMENTS, () -> Mathx.sum(new Range(0, ELEMENTS)));
+            case "Mathx.sum(limit(randDoubles))":
+                return measure(name, ELEMENTS, () -> Mathx.sum(limit(Mathx.randDoubles(), ELEMENTS)));
+            case "Mathx.discreteUniformDistribution":
+                return measure(name, ELEMENTS,
+                        () -> Mathx.sum(limit(Mathx.discreteUniformDistribution(1, 6), ELEMENTS)));
+            case "Mathx.binaryDistribution":
+                return measure(name, ELEMENTS, () -> Mathx.sum(limit(Mathx.binaryDistribution(0.3), ELEMENTS)));
+            case "Mathx.normalDistribution":
+                return measure(name, ELEMENTS, () -> Mathx.sum(limit(Mathx.normalDistribution(0, 1), ELEMENTS)));
+            case "Iterators.map":
+                return measure(name, ELEMENTS, () -> Mathx.sum(map(limit(Mathx.randDoubles(), ELEMENTS), x -> x * 2)));
+            case "Iterators.filter":
+                return measure(name, ELEMENTS,
+                        () -> Mathx.sum(filter(limit(Mathx.randDoubles(), ELEMENTS), x -> x < 0.5)));
+            case "Iterators.zip":
+                return measure(name, ELEMENTS,
+                        () -> Mathx.sum(zip(Double::sum, limit(Mathx.randDoubles(), ELEMENTS), Mathx.randDoubles())));
+            case "Iterators.count(Range)":
+                return measure(name, ELEMENTS, () -> count(new Range(0, ELEMENTS).iterator()));
+            case "Mathx.primes":
+                return measure(name, ELEMENTS, () -> {
+                    InfiniteLongIterator primes = Mathx.primes();
+                    double sum = 0;
+                    for (int i = 0; i < ELEMENTS; i++) {
+                        sum += primes.nextLong();
+                    }
+                    return sum;
+                });
+            case "Mathx.sobol":
+                return measure(name, ELEMENTS, () -> {
+                    SobolSequence sobol = Mathx.sobol(2);
+                    double[] point = new double[2];
+                    double sum = 0;
+                    for (int i = 0; i < ELEMENTS; i++) {
+                        sobol.next(point);
+                        sum += point[0];
+                    }
+                    return sum;
+                });
+            case "CompressedSeries.doubles": {
+                CompressedSeries series = Iterators.compressDoubles(limit(Mathx.randDoubles(), ELEMENTS));
+                return measure(name, ELEMENTS, () -> {
+                    PrimitiveIterator.OfDouble values = series.doubles();
+                    double sum = 0;
+                    while (values.hasNext()) {
+                        sum += values.nextDouble();
+                    }
+                    return sum;
+                });
+            }
+            case "Experiments.record":
+                return measure(name, ELEMENTS, () -> {
+                    Experiments<Double> experiments = new Experiments<>(Mathx.randDoubles(), "record", "budget");
+                    for (int i = 0; i < ELEMENTS; i++) {
+                        experiments.record(i);
+                    }
+                    return experiments.snapshot().sum();
+                });
+            case "PipelineTemplate.acquire": {
+                PipelineTemplate<Long, Integer> coins = PipelineTemplate.of(
+                        size -> Pipelines.limit(Pipelines.generate(() -> Mathx.randInt() & 1), size::get));
+                return measure(name, BATCHES, () -> {
+                    double heads = 0;
+                    for (int i = 0; i < BATCHES; i++) {
+                        try (Pipeline<Long, Integer> batch = coins.acquire(16L)) {
+                            while (batch.hasNext()) {
+                                heads += batch.next();
+                            }
+                        }
+                    }
+                    return heads;
+                });
+            }
+            default:
+                throw new IllegalArgumentException("Out of range with " + name);
+        }
+    }
+}
@@ -1,22 +1,36 @@
 package com.tip.functional.test;
 
 import static com.tip.functional.Iterators.reduce;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.tip.Mathx;
+import com.tip.functional.BloomFilter;
 import com.tip.functional.Fibonacci;
+import com.tip.functional.GroupedStatistics;
 import com.tip.functional.InfiniteIterator;
 import com.tip.functional.Iterators;
+import com.tip.functional.Range;
+import com.tip.functional.ReservoirSample;
+import com.tip.functional.WeightedReservoirSample;
+import com.tip.functional.WindowStatistics;
 import com.tip.functional.customexception.IllegalNullArgumentException;
+import com.tip.functional.customexception.InvalidWindowSizeException;
 import com.tip.functional.customexception.IteratorMaxSizeNegativeException;
 import com.tip.functional.customexception.UnsupportedInfiniteIteratorException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import org.junit.jupiter.api.BeforeEach;
@@ -100,6 +114,136 @@ public class IteratorsTest {
 
 
 
+    /*parallelReduce Test 코드*/
+    @Test
+    @DisplayName("Range를 parallelReduce하면 순차 reduce와 같은 결과 반환")
+    void given_range_when_parallelReduce_then_returnSameResultAsSequentialReduce() {
+        //given
+        Range range = new Range(1, 1_000_001);
+
+        //when
+        long result = Iterators.parallelReduce(range, 0L, (acc, x) -> acc + x * 3, Long::sum);
+
+        //then
+        assertEquals(3 * Mathx.sum(range), result);
+    }
+
+    @Test
+    @DisplayName("RandomAccess가 아닌 List는 순차적으로 parallelReduce")
+    void given_linkedList_when_parallelReduce_then_returnAccumulatedResult() {
+        //given
+        List<Integer> list = new LinkedList<>(Arrays.asList(1, 2, 3, 4, 5));
+
+        //when
+        int result = Iterators.parallelReduce(list, 0, Integer::sum, Integer::sum);
+
+        //then
+        assertEquals(15, result);
+    }
+
+    @Test
+    @DisplayName("parallelReduce에 null 제공 시 IllegalNullArgumentException 발생")
+    void given_nullCombiner_when_parallelReduce_then_throwIllegalNullArgumentException() {
+        //given
+        List<Integer> list = Arrays.asList(1, 2, 3);
+
+        //when/then
+        assertThrows(IllegalNullArgumentException.class,
+                () -> Iterators.parallelReduce(list, 0, Integer::sum, null));
+    }
+
+    @Test
+    @DisplayName("parallelSum은 보정 합으로 크기가 다른 값들을 정확하게 더함")
+    void given_valuesWithCancellation_when_parallelSum_then_returnExactSum() {
+        //given
+        List<Double> values = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            values.add(1e16);
+            values.add(1.0);
+            values.add(-1e16);
+        }
+
+        //when
+        double sum = Iterators.parallelSum(values, Double::doubleValue);
+
+        //then
+        assertEquals(100_000.0, sum);
+    }
+
+    @Test
+    @DisplayName("구간 하나에 들어가는 작은 List는 호출한 스레드에서 parallelSum")
+    void given_smallList_when_parallelSum_then_sumOnCallingThread() {
+        //given
+        Thread caller = Thread.currentThread();
+        List<Integer> values = Arrays.asList(1, 2, 3, 4, 5);
+
+        //when
+        double sum = Iterators.parallelSum(values, value -> {
+            assertSame(caller, Thread.currentThread());
+            return value;
+        });
+
+        //then
+        assertEquals(15.0, sum);
+    }
+
+    /*groupBy Test 코드*/
+    @Test
+    @DisplayName("enum key로 groupBy하면 그룹별 계수, 합계, 평균, 분산 반환")
+    void given_enumKeys_when_groupBy_then_returnStatisticsPerGroup() {
+        //given
+        Iterator<String> words = Arrays.asList("LOW:1", "HIGH:10", "LOW:3", "HIGH:20", "LOW:5").iterator();
+
+        //when
+        GroupedStatistics<Level> statistics = Iterators.groupBy(words, Level.class,
+                word -> Level.valueOf(word.split(":")[0]), word -> Double.parseDouble(word.split(":")[1]));
+
+        //then
+        assertEquals(Arrays.asList(Level.LOW, Level.HIGH), statistics.keys());
+        assertEquals(3, statistics.count(Level.LOW));
+        assertEquals(9.0, statistics.sum(Level.LOW));
+        assertEquals(3.0, statistics.mean(Level.LOW));
+        assertEquals(4.0, statistics.variance(Level.LOW), 1e-12);
+        assertEquals(15.0, statistics.mean(Level.HIGH));
+        assertEquals(0, statistics.count(Level.MIDDLE));
+        assertTrue(Double.isNaN(statistics.mean(Level.MIDDLE)));
+    }
+
+    @Test
+    @DisplayName("int key로 groupByInt하면 작은 key와 음수, 큰 key 모두 집계")
+    void given_intKeys_when_groupByInt_then_returnStatisticsForDenseAndSparseKeys() {
+        //given
+        Iterator<Long> numbers = new Range(-5, 6).iterator();
+
+        //when
+        GroupedStatistics<Integer> statistics = Iterators.groupByInt(numbers, x -> (int) (x % 3), x -> x);
+        GroupedStatistics<Integer> bigKeys = Iterators.groupByInt(Arrays.asList(1 << 20, 1 << 20, 7).iterator(),
+                x -> x, x -> 1);
+
+        //then
+        assertEquals(11, statistics.keys().stream().mapToLong(statistics::count).sum());
+        assertEquals(3, statistics.count(0));
+        assertEquals(-3.5, statistics.mean(-2));
+        assertEquals(2, bigKeys.count(1 << 20));
+        assertEquals(1, bigKeys.count(7));
+        assertEquals(Arrays.asList(7, 1 << 20), bigKeys.keys());
+    }
+
+    @Test
+    @DisplayName("InfiniteIterator를 groupBy하면 UnsupportedInfiniteIteratorException 발생")
+    void given_infiniteIterator_when_groupBy_then_throwUnsupportedInfiniteIteratorException() {
+        //given
+        InfiniteIterator<Integer> infiniteIterator = Iterators.iterate(1, x -> x + 1);
+
+        //when/then
+        assertThrows(UnsupportedInfiniteIteratorException.class,
+                () -> Iterators.groupBy(infiniteIterator, x -> x % 2, x -> x));
+    }
+
+    enum Level {
+        LOW, MIDDLE, HIGH
+    }
+
     /*equals Test 코드*/
 
     @Test
@@ -233,6 +377,75 @@ public class IteratorsTest {
     }
 
 
+    /*distinct Test 코드*/
+    @Test
+    @DisplayName("distinct로 처음 나온 요소만 반환")
+    void given_iteratorWithDuplicates_when_distinct_then_returnFirstOccurrences() {
+        //given
+        Iterator<Long> original = Arrays.asList(3L, 0L, 3L, -1L, 0L, 7L, -1L, 7L).iterator();
+
+        //when
+        Iterator<Long> distinct = Iterators.distinct(original, Long::longValue);
+
+        //then
+        assertEquals(Arrays.asList(3L, 0L, -1L, 7L), Iterators.toList(distinct));
+    }
+
+    @Test
+    @DisplayName("distinctByInt, distinctByDouble로 key가 같은 요소 제거")
+    void given_keyFunctions_when_distinctByIntOrDouble_then_removeSameKeys() {
+        //given
+        Iterator<String> words = Arrays.asList("a", "bb", "c", "dd", "eee").iterator();
+        Iterator<Double> doubles = Arrays.asList(0.5, Double.NaN, 0.5, Double.NaN, 1.5).iterator();
+
+        //when
+        Iterator<String> byLength = Iterators.distinctByInt(words, String::length);
+        Iterator<Double> byValue = Iterators.distinctByDouble(doubles, Double::doubleValue);
+
+        //then
+        assertEquals(Arrays.asList("a", "bb", "eee"), Iterators.toList(byLength));
+        assertEquals(Arrays.asList(0.5, Double.NaN, 1.5), Iterators.toList(byValue));
+    }
+
+    @Test
+    @DisplayName("Bloom filter 모드 distinct는 중복 없이 반환하고 잘못 건너뛰는 비율이 설정값 이하")
+    void given_repeatingIterator_when_approximateDistinct_then_suppressAtMostFalsePositiveRate() {
+        //given
+        InfiniteIterator<Long> cycle = Iterators.iterate(0L, x -> (x + 1) % 10_000);
+
+        //when
+        Iterator<Long> distinct = Iterators.distinct(Iterators.limit(cycle, 30_000), Long::longValue, 10_000, 0.01);
+
+        //then
+        List<Long> values = Iterators.toList(distinct);
+        assertEquals(values.size(), Iterators.count(Iterators.distinct(values.iterator(), Long::longValue)));
+        long suppressed = 10_000 - values.size();
+        assertTrue(suppressed <= 100, suppressed + " first occurrences suppressed");
+    }
+
+    @Test
+    @DisplayName("Bloom filter는 넣은 키를 모두 포함하고 false positive 비율이 설정값 근처")
+    void given_bloomFilter_when_put_then_falsePositiveRateIsBounded() {
+        //given
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+
+        //when
+        for (long key = 0; key < 100_000; key++) {
+            filter.put(key);
+        }
+        long falsePositives = 0;
+        for (long key = 100_000; key < 200_000; key++) {
+            if (filter.mightContain(key)) {
+                falsePositives++;
+            }
+        }
+
+        //then
+        assertTrue(filter.mightContain(0) && filter.mightContain(99_999));
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1.5));
+    }
+
     /*limit Test 코드*/
 
     @Test
@@ -412,6 +625,228 @@ public class IteratorsTest {
         assertThrows(NoSuchElementException.class, zipped::next);
     }
 
+    /*zipN, merge Test 코드*/
+    @Test
+    @DisplayName("zipN으로 세 Iterator의 요소를 결합")
+    void given_threeIterators_when_zipN_then_combineElements() {
+        //given
+        Iterator<Integer> xs = Arrays.asList(1, 2, 3).iterator();
+        Iterator<String> ys = Arrays.asList("a", "b", "c").iterator();
+        Iterator<Boolean> zs = Arrays.asList(true, false).iterator();
+
+        //when
+        Iterator<String> zipped = Iterators.zipN(args -> "" + args[0] + args[1] + args[2], xs, ys, zs);
+
+        //then
+        assertEquals("1atrue", zipped.next());
+        assertEquals("2bfalse", zipped.next());
+        assertFalse(zipped.hasNext());
+        assertThrows(NoSuchElementException.class, zipped::next);
+    }
+
+    @Test
+    @DisplayName("zipNDoubles로 여러 숫자 Iterator의 값을 더함")
+    void given_numberIterators_when_zipNDoubles_then_combineValues() {
+        //given
+        Iterator<Integer> xs = Arrays.asList(1, 2, 3).iterator();
+        Iterator<Double> ys = Arrays.asList(0.5, 0.25, 0.125).iterator();
+        Iterator<Long> zs = new Range(10, 13).iterator();
+
+        //when
+        Iterator<Double> sums = Iterators.zipNDoubles(args -> args[0] + args[1] + args[2], xs, ys, zs);
+
+        //then
+        assertEquals(11.5, sums.next());
+        assertEquals(13.25, sums.next());
+        assertEquals(15.125, sums.next());
+        assertFalse(sums.hasNext());
+    }
+
+    @Test
+    @DisplayName("zipN에 null Iterator가 들어간 경우 예외 발생")
+    void given_nullIterator_when_zipN_then_throwIllegalNullArgumentException() {
+        //given
+        Iterator<Integer> xs = Arrays.asList(1, 2, 3).iterator();
+
+        //when/then
+        assertThrows(IllegalNullArgumentException.class, () -> Iterators.zipN(args -> args[0], xs, null));
+    }
+
+    @Test
+    @DisplayName("정렬된 여러 Iterator를 merge하면 전체가 정렬된 Iterator 반환")
+    void given_sortedIterators_when_merge_then_returnSortedIterator() {
+        //given
+        Iterator<Integer> xs = Arrays.asList(1, 4, 7, 10).iterator();
+        Iterator<Integer> ys = Arrays.asList(2, 5, 8).iterator();
+        Iterator<Integer> zs = Arrays.<Integer>asList().iterator();
+        Iterator<Integer> ws = Arrays.asList(0, 3, 6, 9, 11, 12).iterator();
+
+        //when
+        Iterator<Integer> merged = Iterators.merge(Integer::compare, xs, ys, zs, ws);
+
+        //then
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12), Iterators.toList(merged));
+    }
+
+    @Test
+    @DisplayName("InfiniteIterator들을 merge하면 순서대로 끝없이 반환")
+    void given_infiniteIterators_when_merge_then_returnOrderedElements() {
+        //given
+        InfiniteIterator<Long> evens = Iterators.iterate(0L, x -> x + 2);
+        InfiniteIterator<Long> odds = Iterators.iterate(1L, x -> x + 2);
+
+        //when
+        Iterator<Long> merged = Iterators.merge(Long::compare, evens, odds);
+
+        //then
+        assertTrue(Iterators.equals(new Range(0, 100).iterator(), Iterators.limit(merged, 100)));
+    }
+
+    /*window Test 코드*/
+    @Test
+    @DisplayName("slidingWindow는 윈도를 밀 때마다 합계, 평균, 분산, 최솟값, 최댓값 반환")
+    void given_iterator_when_slidingWindow_then_returnStatisticsPerSlide() {
+        //given
+        Iterator<Integer> original = Arrays.asList(5, 1, 4, 2, 8, 3).iterator();
+
+        //when
+        Iterator<WindowStatistics> windows = Iterators.slidingWindow(original, 3, 1);
+
+        //then
+        WindowStatistics first = windows.next();
+        assertEquals(3, first.count());
+        assertEquals(10.0, first.sum());
+        assertEquals(13.0 / 3, first.variance(), 1e-12);
+        assertEquals(1.0, first.min());
+        assertEquals(5.0, first.max());
+        WindowStatistics second = windows.next();
+        assertEquals(7.0, second.sum());
+        assertEquals(1.0, second.min());
+        assertEquals(4.0, second.max());
+        WindowStatistics third = windows.next();
+        assertEquals(14.0, third.sum());
+        assertEquals(2.0, third.min());
+        assertEquals(8.0, third.max());
+        WindowStatistics fourth = windows.next();
+        assertEquals(13.0, fourth.sum());
+        assertEquals(31.0 / 3, fourth.variance(), 1e-12);
+        assertFalse(windows.hasNext());
+    }
+
+    @Test
+    @DisplayName("tumblingWindow는 겹치지 않는 윈도의 통계만 반환")
+    void given_iterator_when_tumblingWindow_then_returnStatisticsOfDisjointWindows() {
+        //given
+        Iterator<Long> original = new Range(1, 11).iterator();
+
+        //when
+        Iterator<WindowStatistics> windows = Iterators.tumblingWindow(original, 4);
+
+        //then
+        assertEquals(10.0, windows.next().sum());
+        WindowStatistics second = windows.next();
+        assertEquals(26.0, second.sum());
+        assertEquals(6.5, second.mean());
+        assertEquals(5.0, second.min());
+        assertFalse(windows.hasNext());
+    }
+
+    @Test
+    @DisplayName("timeWindow는 최근 윈도 길이 동안의 값으로 통계 반환")
+    void given_clock_when_timeWindow_then_returnStatisticsOfRecentValues() {
+        //given
+        Iterator<Integer> original = Arrays.asList(1, 2, 3, 4, 5, 6, 7).iterator();
+        long[] now = {0};
+        LongSupplier clock = () -> now[0] += 10;
+
+        //when
+        Iterator<WindowStatistics> windows = Iterators.timeWindow(original, 30, 20, clock);
+
+        //then
+        assertEquals(6.0, windows.next().sum());
+        WindowStatistics second = windows.next();
+        assertEquals(12.0, second.sum());
+        assertEquals(3, second.count());
+        assertEquals(18.0, windows.next().sum());
+        assertFalse(windows.hasNext());
+    }
+
+    @Test
+    @DisplayName("윈도 크기가 0 이하일 경우 예외 발생")
+    void given_nonPositiveSize_when_slidingWindow_then_throwInvalidWindowSizeException() {
+        //given
+        Iterator<Integer> original = Arrays.asList(1, 2, 3).iterator();
+
+        //when/then
+        assertThrows(InvalidWindowSizeException.class, () -> Iterators.slidingWindow(original, 0, 1));
+        assertThrows(InvalidWindowSizeException.class, () -> Iterators.tumblingWindow(original, -1));
+    }
+
+    /*sample Test 코드*/
+    @Test
+    @DisplayName("sample은 값을 그대로 넘겨주면서 k개의 표본을 유지")
+    void given_iterator_when_sample_then_passValuesThroughAndKeepKValues() {
+        //given
+        ReservoirSample<Long> sample = Iterators.sample(new Range(0, 100_000).iterator(), 100);
+
+        //when
+        long count = Iterators.count(sample);
+
+        //then
+        assertEquals(100_000, count);
+        assertEquals(100_000, sample.seen());
+        double[] values = sample.values();
+        assertEquals(100, values.length);
+        assertEquals(100, Arrays.stream(values).distinct().count());
+        assertTrue(Arrays.stream(values).allMatch(v -> 0 <= v && v < 100_000));
+    }
+
+    @Test
+    @DisplayName("sample의 표본은 InfiniteIterator의 앞부분에 치우치지 않음")
+    void given_infiniteIterator_when_sample_then_valuesAreUniformlySpread() {
+        //given
+        ReservoirSample<Long> sample = Iterators.sample(Iterators.iterate(0L, x -> x + 1), 2_000);
+
+        //when
+        Iterators.get(sample, 999_999);
+
+        //then
+        double mean = Arrays.stream(sample.values()).average().orElse(Double.NaN);
+        assertEquals(500_000.0, mean, 30_000.0);
+    }
+
+    @Test
+    @DisplayName("sample은 값이 k개보다 적으면 지나간 값을 모두 반환")
+    void given_shortIterator_when_sample_then_returnAllValues() {
+        //given
+        ReservoirSample<Integer> sample = Iterators.sample(Arrays.asList(3, 1, 2).iterator(), 10);
+
+        //when
+        Iterators.count(sample);
+
+        //then
+        assertArrayEquals(new double[] {3, 1, 2}, sample.values());
+        assertThrows(IllegalArgumentException.class, () -> Iterators.sample(Arrays.asList(1).iterator(), 0));
+    }
+
+    @Test
+    @DisplayName("weightedSample은 가중치가 큰 값을 더 자주 뽑고 가중치가 0인 값은 뽑지 않음")
+    void given_weights_when_weightedSample_then_favorHeavyValues() {
+        //given
+        WeightedReservoirSample<Long> sample = Iterators.weightedSample(new Range(0, 200_000).iterator(), 1_000,
+                x -> x % 10 == 0 ? 9.0 : x % 10 == 1 ? 0.0 : 1.0);
+
+        //when
+        Iterators.count(sample);
+
+        //then
+        double[] values = sample.values();
+        long heavy = Arrays.stream(values).filter(v -> v % 10 == 0).count();
+        assertEquals(1_000, values.length);
+        assertEquals(0, Arrays.stream(values).filter(v -> v % 10 == 1).count());
+        assertTrue(heavy > 400 && heavy < 650, "heavy: " + heavy);
+    }
+
     /*count Test 코드*/
     @Test
     @DisplayName("Iterator의 요소 개수 계산")
@@ -442,4 +877,20 @@ public class IteratorsTest {
 
 
 
+
+    @Test
+    @DisplayName("toDoubleArray는 유한 Iterator의 값을 순서대로 double 배열에 담음")
+    void given_finiteIterator_when_toDoubleArray_then_returnPrimitiveArray() {
+        //given
+        Iterator<Long> iterator = new Range(0, 100).iterator();
+
+        //when
+        double[] values = Iterators.toDoubleArray(iterator);
+
+        //then
+        assertEquals(100, values.length);
+        assertEquals(99.0, values[99]);
+        assertThrows(UnsupportedInfiniteIteratorException.class,
+                () -> Iterators.toDoubleArray(Mathx.randDoubles()));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.tip.functional.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.tip.Mathx;
+import com.tip.functional.HaltonSequence;
+import com.tip.functional.LowDiscrepancySequence;
+import com.tip.functional.SobolSequence;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class LowDiscrepancySequenceTest {
+
+    @Test
+    @DisplayName("Sobol 수열은 Gray 코드 순서로 점을 만듦")
+    void given_sobol_when_next_then_returnGrayCodeOrderedPoints() {
+        //given
+        SobolSequence sobol = Mathx.sobol(2);
+        double[][] expected = {{0, 0}, {0.5, 0.5}, {0.75, 0.25}, {0.25, 0.75}, {0.375, 0.375}, {0.875, 0.875},
+                {0.625, 0.125}, {0.125, 0.625}};
+
+        //when
+        //then
+        for (double[] point : expected) {
+            assertArrayEquals(point, sobol.next());
+        }
+    }
+
+    @Test
+    @DisplayName("섞든 안 섞든 Sobol 점 2^m개는 모든 차원의 2^m 구간에 하나씩 들어감")
+    void given_sobol_when_filled_then_everyDimensionIsStratified() {
+        for (LowDiscrepancySequence sequence : new LowDiscrepancySequence[] {
+                new SobolSequence(SobolSequence.MAX_DIMENSIONS), new SobolSequence(SobolSequence.MAX_DIMENSIONS, 42)}) {
+            //given
+            int dimensions = sequence.dimensions();
+            int count = 1 << 10;
+            double[] points = new double[count * dimensions];
+
+            //when
+            sequence.fill(points, count);
+
+            //then
+            for (int d = 0; d < dimensions; d++) {
+                boolean[] occupied = new boolean[count];
+                for (int i = 0; i < count; i++) {
+                    int bin = (int) (points[i * dimensions + d] * count);
+                    assertTrue(!occupied[bin]);
+                    occupied[bin] = true;
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("skip과 fill은 next를 차례로 부른 것과 같은 점을 만듦")
+    void given_sequences_when_skipped_then_matchSequentialPoints() {
+        for (int scrambled = 0; scrambled < 2; scrambled++) {
+            //given
+            LowDiscrepancySequence[] sequential = scrambled == 0
+                    ? new LowDiscrepancySequence[] {new SobolSequence(5), new HaltonSequence(5)}
+                    : new LowDiscrepancySequence[] {new SobolSequence(5, 7), new HaltonSequence(5, 7)};
+            LowDiscrepancySequence[] skipped = scrambled == 0
+                    ? new LowDiscrepancySequence[] {new SobolSequence(5), new HaltonSequence(5)}
+                    : new LowDiscrepancySequence[] {new SobolSequence(5, 7), new HaltonSequence(5, 7)};
+
+            for (int s = 0; s < sequential.length; s++) {
+                //when
+                for (int i = 0; i < 1000; i++) {
+                    sequential[s].next();
+                }
+                skipped[s].skip(1000);
+                double[] batch = new double[3 * 5];
+                skipped[s].fill(batch, 3);
+
+                //then
+                assertEquals(1003, skipped[s].index());
+                for (int i = 0; i < 3; i++) {
+                    double[] point = sequential[s].next();
+                    for (int d = 0; d < 5; d++) {
+                        assertEquals(point[d], batch[i * 5 + d]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Halton 수열은 소수를 밑으로 한 근역수를 만듦")
+    void given_halton_when_next_then_returnRadicalInverses() {
+        //given
+        HaltonSequence halton = Mathx.halton(2);
+
+        //when
+        halton.skip(1);
+
+        //then
+        assertArrayEquals(new double[] {0.5, 1.0 / 3}, halton.next());
+        assertArrayEquals(new double[] {0.25, 2.0 / 3}, halton.next());
+        assertArrayEquals(new double[] {0.75, 1.0 / 9}, halton.next());
+    }
+
+    @Test
+    @DisplayName("매끄러운 함수의 적분은 저불일치 수열로 마구잡이 점보다 정확하게 어림잡힘")
+    void given_smoothIntegrand_when_integrated_then_errorIsSmall() {
+        for (LowDiscrepancySequence sequence : new LowDiscrepancySequence[] {Mathx.sobol(5), Mathx.scrambledSobol(5),
+                Mathx.halton(5), Mathx.scrambledHalton(5)}) {
+            //given
+            int count = 1 << 14;
+            double[] point = new double[5];
+            double sum = 0;
+
+            //when
+            for (int i = 0; i < count; i++) {
+                sequence.next(point);
+                double value = 1;
+                for (double x : point) {
+                    value *= 2 * x;
+                }
+                sum += value;
+            }
+
+            //then 마구잡이 점이면 표준 오차가 약 0.01입니다. Halton은 Sobol보다 조금 느리게 수렴합니다.
+            assertEquals(1, sum / count, sequence instanceof SobolSequence ? 1e-3 : 5e-3);
+        }
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 차원 수는 예외를 던짐")
+    void given_invalidDimensions_when_created_then_throw() {
+        assertThrows(IllegalArgumentException.class, () -> new SobolSequence(SobolSequence.MAX_DIMENSIONS + 1));
+        assertThrows(IllegalArgumentException.class, () -> new HaltonSequence(0));
+        assertThrows(IllegalArgumentException.class, () -> new SobolSequence(2).skip(-1));
+    }
+}
@@ -0,0 +1,123 @@
+package com.tip.functional.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.tip.functional.FileRegion;
+import com.tip.functional.Iterators;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MappedSourceTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("readDoubles는 한 줄에 하나씩 쓴 수와 여러 표기법을 읽고 수가 아닌 필드는 건너뜀")
+    void given_textFile_when_readDoubles_then_parseEveryNumber() throws IOException {
+        //given
+        Path file = write("value\n1\n-2.5\r\n0.001\n  3e2 , 1.7976931348623157E308\nNaN\n12345678901234567890\n\n-0\n");
+
+        //when
+        double[] values = toArray(Iterators.readDoubles(file));
+
+        //then
+        assertArrayEquals(new double[] {1, -2.5, 0.001, 300, Double.MAX_VALUE, Double.NaN, 12345678901234567890.0,
+                -0.0}, values);
+    }
+
+    @Test
+    @DisplayName("CSV 열 하나만 읽고 머리글은 건너뜀")
+    void given_csvFile_when_readColumn_then_returnOnlyThatColumn() throws IOException {
+        //given
+        Path file = write("time,effect,quality\n0,90.5,0\n1,80.25,1\n2,,2\n3,50,3\n");
+
+        //when
+        double[] effects = toArray(Iterators.readDoubles(file, 1));
+        double[] qualities = toArray(Iterators.readDoubles(file, 2));
+
+        //then
+        assertArrayEquals(new double[] {90.5, 80.25, 50}, effects);
+        assertArrayEquals(new double[] {0, 1, 2, 3}, qualities);
+    }
+
+    @Test
+    @DisplayName("텍스트 파일을 줄 경계에서 나눈 구간들을 모두 읽으면 파일 전체를 읽은 것과 같음")
+    void given_textRegions_when_readEach_then_coverFileExactlyOnce() throws IOException {
+        //given
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            text.append(i * 0.5).append('\n');
+        }
+        Path file = write(text.toString());
+
+        //when
+        List<FileRegion> regions = FileRegion.textRegions(file, 7);
+        List<Double> values = new ArrayList<>();
+        for (FileRegion region : regions) {
+            Iterators.readDoubles(region).forEachRemaining((double value) -> values.add(value));
+        }
+
+        //then
+        assertEquals(7, regions.size());
+        assertEquals(10_000, values.size());
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(i * 0.5, values.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("little-endian 바이너리 파일을 값 크기 단위로 나누어 읽음")
+    void given_binaryFile_when_readRegions_then_returnEveryValue() throws IOException {
+        //given
+        ByteBuffer buffer = ByteBuffer.allocate(1001 * Long.BYTES + 3).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < 1001; i++) {
+            buffer.putDouble(i * 1.5);
+        }
+        Path doubles = Files.write(directory.resolve("doubles.bin"), buffer.array());
+        buffer.clear();
+        for (int i = 0; i < 1001; i++) {
+            buffer.putLong(-i * 3L);
+        }
+        Path longs = Files.write(directory.resolve("longs.bin"), buffer.array());
+
+        //when
+        long count = 0;
+        for (FileRegion region : FileRegion.binaryRegions(doubles, 4, Double.BYTES)) {
+            PrimitiveIterator.OfDouble iterator = Iterators.readBinaryDoubles(region);
+            while (iterator.hasNext()) {
+                assertEquals(count * 1.5, iterator.nextDouble());
+                count++;
+            }
+        }
+        PrimitiveIterator.OfLong longValues = Iterators.readBinaryLongs(longs);
+
+        //then
+        assertEquals(1001, count);
+        for (int i = 0; i < 1001; i++) {
+            assertEquals(-i * 3L, longValues.nextLong());
+        }
+        assertFalse(longValues.hasNext());
+    }
+
+    private Path write(String text) throws IOException {
+        return Files.write(directory.resolve("numbers.csv"), text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static double[] toArray(PrimitiveIterator.OfDouble iterator) {
+        List<Double> values = new ArrayList<>();
+        iterator.forEachRemaining((double value) -> values.add(value));
+        return values.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+}
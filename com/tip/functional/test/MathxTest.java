@@ -4,13 +4,20 @@ import org.junit.jupiter.api.Test;
 import com.tip.Mathx;
 import com.tip.functional.InfiniteIterator;
 import com.tip.functional.Iterators;
+import com.tip.functional.NumericKernels;
+import com.tip.functional.PrimeSieve;
+import com.tip.functional.Range;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.PrimitiveIterator;
 import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 
 public class MathxTest {
@@ -21,6 +28,8 @@ public class MathxTest {
                 IntStream.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10).sum());
         assertEquals(Mathx.sum(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10).iterator()),
                 Mathx.sum(IntStream.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10).iterator()));
+        Iterable<Long> range = new Range(-3, 1_000_001);
+        assertEquals(LongStream.range(-3, 1_000_001).sum(), Mathx.sum(range));
     }
 
     @Test
@@ -33,6 +42,37 @@ public class MathxTest {
 
     }
 
+    @Test
+    public void rangeProductTest() {
+        assertEquals(BigInteger.valueOf(3628800L), Mathx.product(new Range(1, 11)));
+        assertEquals(factorial(20), Mathx.product(Range.closed(1, 20)));
+        assertEquals(factorial(21), Mathx.product(Range.closed(1, 21)));
+        assertEquals(factorial(20_000), Mathx.product(Range.closed(1, 20_000)));
+        assertEquals(BigInteger.ZERO, Mathx.product(Range.closed(-3, 3)));
+        assertEquals(BigInteger.valueOf(-6L), Mathx.product(Range.closed(-3, -1)));
+        assertEquals(BigInteger.valueOf(24L), Mathx.product(Range.closed(-4, -1)));
+        assertEquals(BigInteger.valueOf(Long.MIN_VALUE), Mathx.product(Range.closed(Long.MIN_VALUE, Long.MIN_VALUE)));
+        long big = (1L << 62) + 1;
+        assertEquals(product(big, big + 299), Mathx.product(Range.closed(big, big + 299)));
+        assertEquals(product(-big - 299, -big), Mathx.product(Range.closed(-big - 299, -big)));
+    }
+
+    private static BigInteger factorial(int n) {
+        BigInteger result = BigInteger.ONE;
+        for (int i = 2; i <= n; i++) {
+            result = result.multiply(BigInteger.valueOf(i));
+        }
+        return result;
+    }
+
+    private static BigInteger product(long from, long toInclusive) {
+        BigInteger result = BigInteger.ONE;
+        for (long i = from; i <= toInclusive; i++) {
+            result = result.multiply(BigInteger.valueOf(i));
+        }
+        return result;
+    }
+
     public static void randDoublesDemo() {
         assertTrue(Iterators.generate(Mathx::randDouble) instanceof InfiniteIterator);
         assertTrue(Iterators.generate(Mathx::randInt) instanceof InfiniteIterator);
@@ -56,4 +96,84 @@ public class MathxTest {
     public static void main(String[] args) {
         randDoublesDemo();
     }
+
+    @Test
+    public void stratifiedDiscreteUniformDistributionTest() {
+        InfiniteIterator<Integer> strata = Mathx.stratifiedDiscreteUniformDistribution(3, 7);
+        for (int block = 0; block < 100; block++) {
+            int[] counts = new int[8];
+            for (int i = 0; i < 5; i++) {
+                counts[strata.next()]++;
+            }
+            assertArrayEquals(new int[] {0, 0, 0, 1, 1, 1, 1, 1}, counts);
+        }
+    }
+
+    @Test
+    public void antitheticDistributionTest() {
+        InfiniteIterator<Double> uniforms = Mathx.antitheticRandDoubles();
+        InfiniteIterator<Double> normals = Mathx.antitheticNormalDistribution(10, 2);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(1.0, uniforms.next() + uniforms.next(), 1e-12);
+            assertEquals(20.0, normals.next() + normals.next(), 1e-12);
+        }
+    }
+
+    @Test
+    public void primesTest() {
+        boolean[] composite = new boolean[200_000];
+        for (int i = 2; (long) i * i < composite.length; i++) {
+            for (int j = i * i; !composite[i] && j < composite.length; j += i) {
+                composite[j] = true;
+            }
+        }
+        PrimitiveIterator.OfLong primes = Mathx.primes();
+        PrimitiveIterator.OfLong window = Mathx.primes(new Range(100_000, 200_000));
+        for (int i = 2; i < composite.length; i++) {
+            if (!composite[i]) {
+                assertEquals(i, primes.nextLong());
+                if (i >= 100_000) {
+                    assertEquals(i, window.nextLong());
+                }
+            }
+        }
+        assertFalse(window.hasNext());
+    }
+
+    @Test
+    public void primeCountTest() {
+        assertEquals(25, Mathx.primeCount(new Range(0, 100)));
+        assertEquals(0, Mathx.primeCount(new Range(14, 17)));
+        assertEquals(664_579, Mathx.primeCount(new Range(0, 10_000_000)));
+        assertEquals(3, Mathx.primeCount(Range.closed(1_000_000_000_000L, 1_000_000_000_063L)));
+
+        LongAdder sum = new LongAdder();
+        PrimeSieve.parallelForEach(new Range(0, 1000), sum::add);
+        assertEquals(76_127, sum.sum());
+    }
+
+    @Test
+    public void bulkKernelTest() {
+        double[] values = DoubleStream.iterate(1, x -> x + 1).limit(1003).toArray();
+        assertEquals(1003 * 1004 / 2.0, Mathx.sum(values));
+        assertEquals(1003 * 1004 / 2.0, Mathx.compensatedSum(values));
+        assertEquals(1003 * 1004 / 2L, Mathx.sum(LongStream.rangeClosed(1, 1003).toArray()));
+        assertEquals(1, Mathx.min(values));
+        assertEquals(1003, Mathx.max(values));
+        assertEquals(120.0, Mathx.product(new double[] {1, 2, 3, 4, 5}));
+        assertTrue(Double.isNaN(Mathx.min(new double[0])));
+
+        // 1 + 1e-16을 천만 번 더하면 순차 합은 하위 비트를 잃지만 보정 합은 그대로 남깁니다.
+        double[] tiny = new double[10_000_001];
+        Arrays.fill(tiny, 1e-16);
+        tiny[0] = 1;
+        assertEquals(1 + 1e-9, Mathx.compensatedSum(tiny), 1e-15);
+
+        double[] effects = new double[] {-20, 0.5, 3};
+        NumericKernels.affineClamp(effects, effects, 0, effects.length, 40, 10, 0, 100);
+        assertArrayEquals(new double[] {0, 30, 100}, effects);
+
+        double[] normals = Mathx.normalDistribution(new double[100_000], 50, 10);
+        assertEquals(50, Mathx.sum(normals) / normals.length, 0.2);
+    }
 }
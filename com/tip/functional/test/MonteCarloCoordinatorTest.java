@@ -0,0 +1,123 @@
+package com.tip.functional.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.tip.functional.CachedResult;
+import com.tip.functional.DistributedResult;
+import com.tip.functional.MonteCarloCoordinator;
+import com.tip.functional.MonteCarloWorker;
+import com.tip.functional.ResultCache;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ToDoubleFunction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MonteCarloCoordinatorTest {
+    private static final ToDoubleFunction<SplittableRandom> POTION =
+            random -> random.nextDouble() < 0.2 ? 90 + 10 * random.nextGaussian() : 50 + 30 * random.nextGaussian();
+
+    @TempDir
+    Path temporary;
+
+    private static InetSocketAddress local(int port) {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+    }
+
+    // 연결을 받고 요청이 오면 응답하지 않고 연결을 끊거나(crash) 아무것도 하지 않는(hang) 가짜 worker입니다.
+    private static ServerSocket faultyWorker(boolean crash, List<Socket> accepted) throws IOException {
+        ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(() -> {
+            try {
+                while (true) {
+                    Socket socket = server.accept();
+                    accepted.add(socket);
+                    if (crash) {
+                        socket.getInputStream().read();
+                        socket.close();
+                    }
+                }
+            } catch (IOException e) {
+                // 서버를 닫으면 끝납니다.
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return server;
+    }
+
+    @Test
+    @DisplayName("여러 worker에 나누어 계산한 결과는 한 JVM에서 계산한 결과와 같음")
+    void given_workers_when_run_then_sameAsSingleProcess() throws IOException {
+        //given
+        try (MonteCarloWorker first = new MonteCarloWorker().register("potion", POTION);
+             MonteCarloWorker second = new MonteCarloWorker().register("potion", POTION)) {
+            MonteCarloCoordinator coordinator = new MonteCarloCoordinator(
+                    List.of(local(first.start(0)), local(second.start(0))));
+
+            //when
+            DistributedResult result = coordinator.run("potion", 42, 1_000_000, 16);
+
+            //then
+            CachedResult local = new ResultCache(temporary, 1 << 20)
+                    .run("potion", 42, 1_000_000, POTION);
+            assertEquals(1_000_000, result.count());
+            assertEquals(local.sum(), result.sum());
+            assertEquals(local.variance(), result.variance());
+            assertEquals(16, result.shards());
+            assertEquals(0, result.reassignedShards());
+            assertEquals(58, result.mean(), 0.5);
+        }
+    }
+
+    @Test
+    @DisplayName("연결이 끊기거나 응답이 없는 worker의 구간은 살아 있는 worker에 다시 맡김")
+    void given_failingWorkers_when_run_then_reassignShards() throws IOException {
+        //given
+        List<Socket> accepted = new CopyOnWriteArrayList<>();
+        try (MonteCarloWorker healthy = new MonteCarloWorker().register("potion", POTION);
+             ServerSocket crashing = faultyWorker(true, accepted);
+             ServerSocket hanging = faultyWorker(false, accepted)) {
+            MonteCarloCoordinator coordinator = new MonteCarloCoordinator(List.of(local(healthy.start(0)),
+                    local(crashing.getLocalPort()), local(hanging.getLocalPort())), 1000);
+
+            //when
+            DistributedResult result = coordinator.run("potion", 7, 200_000, 4);
+
+            //then
+            CachedResult local = new ResultCache(temporary, 1 << 20)
+                    .run("potion", 7, 200_000, POTION);
+            assertEquals(local.count(), result.count());
+            assertEquals(local.sum(), result.sum());
+            assertTrue(result.reassignedShards() >= 1);
+        }
+    }
+
+    @Test
+    @DisplayName("모든 worker가 실패하거나 등록하지 않은 시행을 요청하면 예외를 던짐")
+    void given_noHealthyWorker_when_run_then_throw() throws IOException {
+        List<Socket> accepted = new CopyOnWriteArrayList<>();
+        try (MonteCarloWorker worker = new MonteCarloWorker().register("potion", POTION);
+             ServerSocket crashing = faultyWorker(true, accepted)) {
+            MonteCarloCoordinator broken = new MonteCarloCoordinator(List.of(local(crashing.getLocalPort())), 1000);
+            MonteCarloCoordinator healthy = new MonteCarloCoordinator(List.of(local(worker.start(0))));
+
+            assertThrows(IllegalStateException.class, () -> broken.run("potion", 1, 100_000));
+            assertThrows(IllegalStateException.class, () -> healthy.run("unknown", 1, 100_000));
+            assertThrows(IllegalArgumentException.class, () -> healthy.run("potion", 1, -1));
+            assertThrows(IllegalArgumentException.class, () -> new MonteCarloCoordinator(List.of()));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new MonteCarloCoordinator(List.of(local(1)), MonteCarloWorker.HEARTBEAT_MILLIS));
+        }
+    }
+}
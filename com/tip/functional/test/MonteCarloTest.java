@@ -3,6 +3,7 @@ package com.tip.functional.test;
 
 import static com.tip.functional.Iterators.generate;
 import static com.tip.functional.Iterators.get;
+import static com.tip.functional.Iterators.groupBy;
 import static com.tip.functional.Iterators.iterate;
 import static com.tip.functional.Iterators.limit;
 import static com.tip.functional.Iterators.map;
@@ -11,9 +12,18 @@ import static com.tip.functional.Iterators.zip;
 
 import com.tip.Mathx;
 import com.tip.functional.Experiments;
+import com.tip.functional.GroupedStatistics;
 import com.tip.functional.InfiniteIterator;
+import com.tip.functional.ParameterSweep;
+import com.tip.functional.Pipeline;
+import com.tip.functional.PipelineTemplate;
+import com.tip.functional.Pipelines;
+import com.tip.functional.RandomVariable;
+import com.tip.functional.SimulationModel;
+import com.tip.functional.SweepResult;
 import java.util.EnumMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -90,6 +100,25 @@ public class MonteCarloTest {
         System.out.println(get(pi, 100_000L));
     }
 
+    /**
+     * piDemo의 monteCarlo 함수는 부를 때마다 generate, map, limit 사슬을 새로 만듭니다. 짧은 시행 묶음을 수없이 돌릴 때는
+     * 사슬을 한 번만 정의해 두고 PipelineTemplate으로 다시 씁니다. 묶음마다 시행 횟수만 다시 묶고 사슬은 새로 할당하지 않습니다.
+     */
+    private static void piDemoWithPipelineTemplate() {
+        PipelineTemplate<Long, Integer> dirichletTrials = PipelineTemplate.of(n ->
+                Pipelines.limit(Pipelines.generate(() -> Mathx.dirichletTest() ? 1 : 0), n::get));
+
+        final long batchSize = 100;
+        final int batches = 10_000;
+        double coprimeRatioSum = 0;
+        for (int i = 0; i < batches; i++) {
+            try (Pipeline<Long, Integer> batch = dirichletTrials.acquire(batchSize)) {
+                coprimeRatioSum += Mathx.sum(batch) / batchSize;
+            }
+        }
+        System.out.println(Math.sqrt(6.0 / (coprimeRatioSum / batches)));
+    }
+
     /**
      *  약초의 품질과 약물 효과의 관계를 모의 실험하는 메서드입니다.
      *  베르누이 시행을 여러 번 시행하여 이항 분포를 통해 좋은 약초를 발견할 확률을 구합니다.
@@ -253,10 +282,114 @@ public class MonteCarloTest {
         }
     }
 
+    /**
+     * 같은 약초 모의 실험에서 품질마다 Experiments를 하나씩 두는 대신 groupBy로 품질별 약효 통계를 모읍니다.
+     * 여기서는 0에서 100 사이로 잘라낸 약효를 품질별로 집계합니다.
+     */
+    private static void potionTestWithGroupBy() {
+        final double herbRatio = 0.2;
+        Experiments<Integer> herbAvailablities =
+                new Experiments<>(Mathx.binaryDistribution(herbRatio), "herb availabilities", "binomial distribution");
+
+        Experiments<Integer> herbQualities = new Experiments<>(
+                zip((available, effect) -> available == 1 ? Quality.BEST.ordinal() : effect, herbAvailablities,
+                        Mathx.discreteUniformDistribution(Quality.class)), "herb qualities",
+                "discrete uniform distribition");
+
+        EnumMap<Quality, Supplier<Double>> normalDistributions = new EnumMap<>(Quality.class);
+        normalDistributions.put(Quality.BEST, () -> Mathx.randDoubleNormallyDistributed(90, 10));
+        normalDistributions.put(Quality.GOOD, () -> Mathx.randDoubleNormallyDistributed(80, 20));
+        normalDistributions.put(Quality.REGULAR, () -> Mathx.randDoubleNormallyDistributed(50, 30));
+        normalDistributions.put(Quality.POOR, () -> Mathx.randDoubleNormallyDistributed(30, 40));
+
+        // 품질의 ordinal을 배열 인덱스로 쓰기 때문에 시행 하나당 배열 인덱싱 한 번이면 계수, 합계, 평균, 분산이 모두 갱신됩니다.
+        Quality[] qualities = Quality.values();
+        Iterator<Quality> herbQualityCategories = map(herbQualities, quality -> qualities[quality]);
+        GroupedStatistics<Quality> medicineEffects = groupBy(limit(herbQualityCategories, 7000), Quality.class,
+                quality -> quality, quality -> {
+                    double effect = normalDistributions.get(quality).get();
+                    if (effect < 0) {
+                        return 0D;
+                    }
+                    if (effect > 100) {
+                        return 100D;
+                    }
+                    return effect;
+                });
+
+        System.out.println("Herb availability");
+        herbAvailablities.report();
+        System.out.println();
+
+        System.out.println("Herb quality (Excellent = 0, Good = 1, Marginal = 2, Poor = 3): ");
+        herbQualities.report();
+        System.out.println();
+
+        System.out.println("Potion effects by the 4 quality categories: ");
+        medicineEffects.report();
+    }
+
+    /**
+     * 같은 약초 모의 실험을 SimulationModel로 선언합니다. 확률 변수와 의존 관계만 적어 두면 시행 하나가 반복문 하나로 계산되고,
+     * 시행들은 여러 스레드에 나뉘어 병렬로 계산됩니다.
+     */
+    private static void potionTestWithSimulationModel() {
+        SimulationModel model = new SimulationModel();
+        RandomVariable herbAvailability = model.bernoulli(0.2);
+        RandomVariable herbQuality = model.combine(herbAvailability, model.uniformEnum(Quality.class),
+                (available, quality) -> available == 1 ? Quality.BEST.ordinal() : quality);
+
+        // 품질에 따라 네 정상 분포 가운데 하나만 뽑아 계산하고 0에서 100 사이로 잘라냅니다.
+        RandomVariable medicineEffect = model.clamp(model.choose(herbQuality,
+                model.normal(90, 10), model.normal(80, 20), model.normal(50, 30), model.normal(30, 40)), 0, 100);
+
+        Experiments<Double> herbAvailabilities =
+                model.observe(herbAvailability, "herb availabilities", "binomial distribution");
+        Experiments<Double> herbQualities =
+                model.observe(herbQuality, "herb qualities", "discrete uniform distribition");
+        Experiments<Double> medicineEffects =
+                model.observe(medicineEffect, "medicine effects", "normal distributions by quality");
+
+        model.run(10_000_000); // 실제 계산은 여기서 일어납니다!!!
+
+        herbAvailabilities.report();
+        System.out.println();
+        herbQualities.report();
+        System.out.println();
+        medicineEffects.report();
+    }
+
+    /**
+     * herbRatio와 좋은 약초의 약효 표준 편차를 바꿔 가며 약효 평균을 한꺼번에 구합니다.
+     * 설정마다 손으로 다시 돌리는 대신 ParameterSweep이 모든 설정을 작업 스레드들에 나누어 시행하고,
+     * 아직 평균이 불확실한 설정에 시행을 더 줍니다.
+     */
+    private static void potionTestWithParameterSweep() {
+        List<List<Double>> grid = ParameterSweep.grid(List.of(0.1, 0.2, 0.3, 0.4, 0.5), List.of(5.0, 10.0, 20.0),
+                List::of);
+        SweepResult<List<Double>> result = ParameterSweep.of(grid, parameters -> {
+            SimulationModel model = new SimulationModel();
+            RandomVariable herbQuality = model.combine(model.bernoulli(parameters.get(0)),
+                    model.uniformEnum(Quality.class),
+                    (available, quality) -> available == 1 ? Quality.BEST.ordinal() : quality);
+            RandomVariable medicineEffect = model.clamp(model.choose(herbQuality, model.normal(90, parameters.get(1)),
+                    model.normal(80, 20), model.normal(50, 30), model.normal(30, 40)), 0, 100);
+            InfiniteIterator<Double> effects = model.iterator(medicineEffect);
+            return effects::next;
+        }).run(10_000_000, 0.02); // 실제 계산은 여기서 일어납니다!!!
+
+        System.out.println("Potion effects by [herb ratio, best quality standard deviation]: ");
+        result.report();
+    }
+
     public static void main(String[] args) {
         MonteCarloTest.piDemo();
+        MonteCarloTest.piDemoWithPipelineTemplate();
         MonteCarloTest.potionTestWithInfiniteIterators();
         MonteCarloTest.potionTestWithExperiments();
+        MonteCarloTest.potionTestWithGroupBy();
+        MonteCarloTest.potionTestWithSimulationModel();
+        MonteCarloTest.potionTestWithParameterSweep();
     }
 
 }
@@ -0,0 +1,120 @@
+package com.tip.functional.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.tip.functional.ParameterSweep;
+import com.tip.functional.SweepResult;
+import com.tip.functional.SweepRun;
+import com.tip.functional.customexception.IllegalNullArgumentException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ParameterSweepTest {
+
+    private static DoubleSupplier bernoulli(double probability) {
+        return () -> ThreadLocalRandom.current().nextDouble() < probability ? 1 : 0;
+    }
+
+    @Test
+    @DisplayName("grid는 두 목록의 모든 조합을 첫째 목록을 바깥 반복으로 만듦")
+    void given_twoLists_when_grid_then_everyCombination() {
+        //when
+        List<String> grid = ParameterSweep.grid(List.of(1, 2), List.of("a", "b", "c"), (n, s) -> n + s);
+
+        //then
+        assertEquals(List.of("1a", "1b", "1c", "2a", "2b", "2c"), grid);
+    }
+
+    @Test
+    @DisplayName("run은 예산을 모두 쓰고 설정마다 Experiments에 시행 값을 기록함")
+    void given_budget_when_run_then_useWholeBudgetAndRecordEveryTrial() {
+        //given
+        List<Double> probabilities = List.of(0.1, 0.5, 0.9);
+
+        //when
+        SweepResult<Double> result = ParameterSweep.of(probabilities, ParameterSweepTest::bernoulli)
+                .run(1_000_000, 0, 1000);
+
+        //then
+        assertEquals(1_000_000, result.trialsUsed());
+        long total = 0;
+        for (int i = 0; i < probabilities.size(); i++) {
+            SweepRun<Double> row = result.row(i);
+            assertEquals(probabilities.get(i), row.parameters());
+            assertEquals(row.count(), row.experiments().snapshot().count());
+            assertEquals(row.parameters(), row.mean(), 0.01);
+            total += row.count();
+        }
+        assertEquals(1_000_000, total);
+    }
+
+    @Test
+    @DisplayName("불확실한 설정에 시행을 더 주고 목표 표준 오차에 이르면 예산을 남기고 멈춤")
+    void given_targetStandardError_when_run_then_prioritizeUncertainAndStopEarly() {
+        //given
+        ParameterSweep<Double> sweep = ParameterSweep.of(List.of(0.01, 0.5), ParameterSweepTest::bernoulli);
+
+        //when
+        SweepResult<Double> result = sweep.run(10_000_000, 0.002, 1000);
+
+        //then
+        SweepRun<Double> rare = result.row(0);
+        SweepRun<Double> even = result.row(1);
+        assertTrue(even.count() > 10 * rare.count());
+        assertTrue(rare.standardError() <= 0.002 && even.standardError() <= 0.002);
+        assertTrue(result.trialsUsed() < 10_000_000);
+        assertEquals(result.trialsUsed(), rare.count() + even.count());
+    }
+
+    @Test
+    @DisplayName("목표 표준 오차가 0이면 분산이 0인 설정도 예산을 모두 씀")
+    void given_zeroTargetAndConstantTrials_when_run_then_useWholeBudget() {
+        //given
+        ParameterSweep<Double> sweep = ParameterSweep.of(List.of(1.0, 2.0), p -> () -> p);
+
+        //when
+        SweepResult<Double> result = sweep.run(100_000, 0, 1000);
+
+        //then
+        assertEquals(100_000, result.trialsUsed());
+        assertEquals(100_000, result.row(0).count() + result.row(1).count());
+    }
+
+    @Test
+    @DisplayName("첫 묶음들에서 사건이 나오지 않아도 표준 오차 0만으로 멈추지 않음")
+    void given_rareEventNotYetSeen_when_run_then_keepSampling() {
+        //given
+        ParameterSweep<Integer> sweep = ParameterSweep.of(List.of(1000), quietTrials -> {
+            long[] calls = {0};
+            return () -> calls[0]++ < quietTrials ? 0 : calls[0] % 2;
+        });
+
+        //when
+        SweepResult<Integer> result = sweep.run(1_000_000, 0.001, 100);
+
+        //then
+        SweepRun<Integer> run = result.row(0);
+        assertTrue(run.count() > 1000);
+        assertTrue(run.mean() > 0);
+        assertTrue(run.standardError() <= 0.001);
+    }
+
+    @Test
+    @DisplayName("잘못된 인자는 예외를 던짐")
+    void given_invalidArguments_when_sweep_then_throw() {
+        ParameterSweep<Double> sweep = ParameterSweep.of(List.of(0.5), ParameterSweepTest::bernoulli);
+
+        assertThrows(IllegalNullArgumentException.class, () -> ParameterSweep.of(null, ParameterSweepTest::bernoulli));
+        assertThrows(IllegalArgumentException.class, () -> ParameterSweep.of(List.<Double>of(),
+                ParameterSweepTest::bernoulli));
+        assertThrows(IllegalArgumentException.class, () -> sweep.run(-1));
+        assertThrows(IllegalArgumentException.class, () -> sweep.run(10, -0.1));
+        assertThrows(IllegalArgumentException.class, () -> sweep.run(10, 0, 0));
+        assertThrows(IllegalNullArgumentException.class, () -> ParameterSweep.of(List.of(0.5), p -> null).run(10));
+    }
+}
@@ -0,0 +1,123 @@
+package com.tip.functional.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.tip.functional.Iterators;
+import com.tip.functional.Pipeline;
+import com.tip.functional.PipelineTemplate;
+import com.tip.functional.Pipelines;
+import com.tip.functional.ResettableIterator;
+import com.tip.functional.customexception.IllegalNullArgumentException;
+import com.tip.functional.customexception.IteratorMaxSizeNegativeException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class PipelineTest {
+
+    @Test
+    @DisplayName("reset은 iterate의 씨앗, limit의 계수, filter의 미리 읽은 값을 모두 처음 상태로 되돌림")
+    void given_consumedChain_when_reset_then_replayFromStart() {
+        //given
+        ResettableIterator<Long> evens = Pipelines.limit(
+                Pipelines.filter(Pipelines.iterate(1L, n -> n + 1), n -> n % 2 == 0), 3);
+        List<Long> first = Iterators.toList(evens);
+
+        //when
+        evens.reset();
+        evens.hasNext();
+        evens.reset();
+        List<Long> second = Iterators.toList(evens);
+
+        //then
+        assertEquals(List.of(2L, 4L, 6L), first);
+        assertEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("틀은 매개변수를 다시 묶어 원본, 씨앗, 최대 크기를 바꾸고 닫은 인스턴스를 다시 씀")
+    void given_template_when_acquireWithNewParameter_then_reuseInstanceWithRebinding() {
+        //given
+        PipelineTemplate<List<Integer>, Integer> doubled = PipelineTemplate.of(values ->
+                Pipelines.limit(Pipelines.zip(Integer::sum, Pipelines.source(() -> values.get().iterator()),
+                        Pipelines.iterateFrom(() -> values.get().get(0), n -> n)), () -> values.get().size() - 1));
+
+        //when
+        Pipeline<List<Integer>, Integer> first = doubled.acquire(List.of(1, 2, 3));
+        List<Integer> firstValues = Iterators.toList(first);
+        first.close();
+        Pipeline<List<Integer>, Integer> second = doubled.acquire(List.of(10, 20, 30, 40));
+        List<Integer> secondValues = Iterators.toList(second);
+
+        //then
+        assertSame(first, second);
+        assertEquals(List.of(2, 3), firstValues);
+        assertEquals(List.of(20, 30, 40), secondValues);
+        assertEquals(0, doubled.pooled());
+        second.close();
+        second.close();
+        assertEquals(1, doubled.pooled());
+        assertThrows(IllegalStateException.class, second::next);
+    }
+
+    @Test
+    @DisplayName("함께 쓰는 인스턴스는 서로 다르고 스레드마다 풀이 따로 있음")
+    void given_nestedOrOtherThread_when_acquire_then_distinctInstances() throws InterruptedException {
+        //given
+        PipelineTemplate<Long, Long> counter = PipelineTemplate.of(
+                start -> Pipelines.limit(Pipelines.iterateFrom(start::get, n -> n + 1), 2));
+        Pipeline<Long, Long> released = counter.acquire(0L);
+        released.close();
+        AtomicReference<Pipeline<Long, Long>> fromOtherThread = new AtomicReference<>();
+
+        //when
+        Pipeline<Long, Long> outer = counter.acquire(0L);
+        Pipeline<Long, Long> inner = counter.acquire(100L);
+        Thread other = new Thread(() -> fromOtherThread.set(counter.acquire(7L)));
+        other.start();
+        other.join();
+
+        //then
+        assertSame(released, outer);
+        assertNotSame(outer, inner);
+        assertNotSame(released, fromOtherThread.get());
+        assertEquals(List.of(0L, 1L), Iterators.toList(outer));
+        assertEquals(List.of(100L, 101L), Iterators.toList(inner));
+    }
+
+    @Test
+    @DisplayName("새 매개변수로 되돌리다 실패한 인스턴스도 풀로 돌아감")
+    void given_invalidParameter_when_acquirePooled_then_keepInstanceInPool() {
+        //given
+        PipelineTemplate<Long, Integer> ones = PipelineTemplate.of(
+                size -> Pipelines.limit(Pipelines.generate(() -> 1), size::get));
+        Pipeline<Long, Integer> pooled = ones.acquire(2L);
+        pooled.close();
+
+        //when
+        assertThrows(IteratorMaxSizeNegativeException.class, () -> ones.acquire(-1L));
+
+        //then
+        assertEquals(1, ones.pooled());
+        try (Pipeline<Long, Integer> reused = ones.acquire(3L)) {
+            assertSame(pooled, reused);
+            assertEquals(List.of(1, 1, 1), Iterators.toList(reused));
+        }
+    }
+
+    @Test
+    @DisplayName("잘못된 인자는 예외를 던짐")
+    void given_invalidArguments_when_pipeline_then_throw() {
+        assertThrows(IllegalNullArgumentException.class, () -> PipelineTemplate.of(null));
+        assertThrows(IllegalNullArgumentException.class, () -> Pipelines.generate(null));
+        assertThrows(IteratorMaxSizeNegativeException.class,
+                () -> Pipelines.limit(Pipelines.iterate(0, n -> n), -1));
+        PipelineTemplate<Long, Integer> negative = PipelineTemplate.of(
+                size -> Pipelines.limit(Pipelines.generate(() -> 1), size::get));
+        assertThrows(IteratorMaxSizeNegativeException.class, () -> negative.acquire(-1L));
+    }
+}
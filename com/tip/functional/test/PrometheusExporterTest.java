@@ -0,0 +1,67 @@
+package com.tip.functional.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.tip.functional.Experiments;
+import com.tip.functional.Iterators;
+import com.tip.functional.Meter;
+import com.tip.functional.PrometheusExporter;
+import com.tip.functional.Range;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class PrometheusExporterTest {
+
+    @Test
+    @DisplayName("등록한 Experiments와 Meter를 Prometheus 텍스트 형식으로 내보냄")
+    void given_registeredMetrics_when_rendered_then_returnPrometheusText() {
+        //given
+        Experiments<Long> experiments = Experiments.concurrent(new Range(1, 101).iterator(), "range", "uniform", 200);
+        Meter meter = new Meter();
+        PrometheusExporter exporter = new PrometheusExporter()
+                .register("herb \"best\"", experiments)
+                .register("range", meter);
+
+        //when
+        Iterators.count(Iterators.meter(Iterators.limit(experiments, 100), meter));
+        String text = exporter.render();
+
+        //then
+        assertTrue(text.contains("# TYPE experiment summary\n"));
+        assertTrue(text.contains("experiment_count{experiment=\"herb \\\"best\\\"\"} 100\n"));
+        assertTrue(text.contains("experiment_sum{experiment=\"herb \\\"best\\\"\"} 5050.0\n"));
+        assertTrue(text.contains("experiment{experiment=\"herb \\\"best\\\"\",quantile=\"0.5\"} 50.0\n"));
+        assertTrue(text.contains("pipeline_elements_total{pipeline=\"range\"} 100\n"));
+    }
+
+    @Test
+    @DisplayName("localhost의 /metrics 엔드포인트로 지표를 가져옴")
+    void given_startedExporter_when_scraped_then_returnMetrics() throws IOException {
+        //given
+        Meter meter = new Meter();
+        Iterators.get(Iterators.meter(Iterators.iterate(0, x -> x + 1), meter), 41);
+
+        try (PrometheusExporter exporter = new PrometheusExporter().register("numbers", meter)) {
+            int port = exporter.start(0);
+
+            //when
+            HttpURLConnection connection =
+                    (HttpURLConnection) new URL("http://localhost:" + port + "/metrics").openConnection();
+            String body;
+            try (InputStream in = connection.getInputStream()) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+
+            //then
+            assertEquals(200, connection.getResponseCode());
+            assertTrue(connection.getContentType().startsWith("text/plain; version=0.0.4"));
+            assertTrue(body.contains("pipeline_elements_total{pipeline=\"numbers\"} 42\n"));
+        }
+    }
+}
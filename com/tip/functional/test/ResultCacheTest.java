@@ -0,0 +1,145 @@
+package com.tip.functional.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.tip.functional.CachedResult;
+import com.tip.functional.ResultCache;
+import com.tip.functional.customexception.IllegalNullArgumentException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ResultCacheTest {
+    private static final String CONFIGURATION = "potion herbRatio=0.2 best=normal(90,10) other=normal(50,30)";
+
+    @TempDir
+    Path temporary;
+
+    private final AtomicLong evaluations = new AtomicLong();
+    private final ToDoubleFunction<SplittableRandom> potion = random -> {
+        evaluations.incrementAndGet();
+        return random.nextDouble() < 0.2 ? 90 + 10 * random.nextGaussian() : 50 + 30 * random.nextGaussian();
+    };
+
+    // 한 테스트에서 여러 캐시를 쓰므로 캐시마다 임시 디렉터리 안에 따로 디렉터리를 둡니다.
+    private ResultCache newCache(long maxBytes) throws IOException {
+        return new ResultCache(Files.createTempDirectory(temporary, "result-cache"), maxBytes);
+    }
+
+    @Test
+    @DisplayName("같은 설정과 seed로 다시 시행하면 계산하지 않고 저장한 결과를 돌려줌")
+    void given_cachedRun_when_runAgain_then_returnWithoutComputing() throws IOException {
+        //given
+        CachedResult first = new ResultCache(temporary, 1 << 20).run(CONFIGURATION, 42, 100_000, potion);
+        evaluations.set(0);
+
+        //when
+        CachedResult second = new ResultCache(temporary, 1 << 20).run(CONFIGURATION, 42, 100_000, potion);
+
+        //then
+        assertEquals(100_000, first.computedTrials());
+        assertEquals(0, second.computedTrials());
+        assertEquals(0, evaluations.get());
+        assertEquals(100_000, second.count());
+        assertEquals(first.sum(), second.sum());
+        assertEquals(first.variance(), second.variance());
+        assertEquals(58, second.mean(), 1);
+    }
+
+    @Test
+    @DisplayName("더 많은 시행을 요청하면 모자란 구간만 이어서 계산하고 처음부터 계산한 결과와 같음")
+    void given_shorterCachedRun_when_runLonger_then_extendIncrementally() throws IOException {
+        //given
+        ResultCache cache = newCache(1 << 20);
+        cache.run(CONFIGURATION, 7, 10_000, potion);
+        evaluations.set(0);
+
+        //when
+        CachedResult extended = cache.run(CONFIGURATION, 7, 50_000, potion);
+        CachedResult fresh = newCache(1 << 20).run(CONFIGURATION, 7, 50_000, potion);
+
+        //then
+        long reused = 2L * ResultCache.BLOCK_TRIALS;
+        assertEquals(50_000 - reused, extended.computedTrials());
+        assertEquals(50_000 - reused, evaluations.get() - 50_000);
+        assertEquals(fresh.count(), extended.count());
+        assertEquals(fresh.sum(), extended.sum());
+        assertEquals(fresh.variance(), extended.variance());
+    }
+
+    @Test
+    @DisplayName("더 적은 시행을 요청하면 마지막 구간만 다시 계산하고 저장한 긴 결과는 남겨 둠")
+    void given_longerCachedRun_when_runShorter_then_recomputeAtMostOneBlock() throws IOException {
+        //given
+        ResultCache cache = newCache(1 << 20);
+        cache.run(CONFIGURATION, 7, 50_000, potion);
+
+        //when
+        CachedResult shorter = cache.run(CONFIGURATION, 7, 10_000, potion);
+        CachedResult longer = cache.run(CONFIGURATION, 7, 50_000, potion);
+
+        //then
+        assertTrue(shorter.computedTrials() <= ResultCache.BLOCK_TRIALS);
+        assertEquals(newCache(1 << 20).run(CONFIGURATION, 7, 10_000, potion).sum(), shorter.sum());
+        assertEquals(0, longer.computedTrials());
+    }
+
+    @Test
+    @DisplayName("크기 상한을 넘으면 가장 오래 쓰지 않은 결과부터 지움")
+    void given_sizeLimit_when_overflow_then_evictLeastRecentlyUsed() throws IOException {
+        //given
+        ResultCache probe = newCache(1 << 20);
+        probe.run("a", 1, 10_000, potion);
+        long entryBytes = probe.sizeInBytes();
+        ResultCache cache = newCache(2 * entryBytes);
+        cache.run("a", 1, 10_000, potion);
+        cache.run("b", 1, 10_000, potion);
+        cache.run("a", 1, 10_000, potion);
+
+        //when
+        cache.run("c", 1, 10_000, potion);
+
+        //then
+        assertEquals(2, cache.size());
+        assertTrue(cache.sizeInBytes() <= 2 * entryBytes);
+        assertEquals(0, cache.run("a", 1, 10_000, potion).computedTrials());
+        assertEquals(10_000, cache.run("b", 1, 10_000, potion).computedTrials());
+    }
+
+    @Test
+    @DisplayName("seed나 설정이 다르면 다른 결과로 취급함")
+    void given_differentSeedOrConfiguration_when_run_then_compute() throws IOException {
+        ResultCache cache = newCache(1 << 20);
+        CachedResult first = cache.run(CONFIGURATION, 1, 10_000, potion);
+
+        CachedResult otherSeed = cache.run(CONFIGURATION, 2, 10_000, potion);
+        CachedResult otherConfiguration = cache.run(CONFIGURATION + " ", 1, 10_000, potion);
+
+        assertEquals(10_000, otherSeed.computedTrials());
+        assertEquals(10_000, otherConfiguration.computedTrials());
+        assertTrue(first.sum() != otherSeed.sum());
+        assertEquals(first.sum(), otherConfiguration.sum());
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.sizeInBytes());
+    }
+
+    @Test
+    @DisplayName("잘못된 인자는 예외를 던짐")
+    void given_invalidArguments_when_run_then_throw() throws IOException {
+        ResultCache cache = newCache(1 << 20);
+
+        assertThrows(IllegalArgumentException.class, () -> newCache(0));
+        assertThrows(IllegalNullArgumentException.class, () -> cache.run(null, 1, 10, potion));
+        assertThrows(IllegalNullArgumentException.class, () -> cache.run(CONFIGURATION, 1, 10, null));
+        assertThrows(IllegalArgumentException.class, () -> cache.run(CONFIGURATION, 1, -1, potion));
+    }
+}
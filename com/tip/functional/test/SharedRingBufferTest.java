@@ -0,0 +1,129 @@
+package com.tip.functional.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.tip.Mathx;
+import com.tip.functional.Iterators;
+import com.tip.functional.Range;
+import com.tip.functional.SharedRingBuffer;
+import com.tip.functional.customexception.IllegalNullArgumentException;
+import com.tip.functional.customexception.UnsupportedInfiniteIteratorException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SharedRingBufferTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("writeShared로 보낸 값은 readShared로 순서대로 모두 받고 보낸 쪽이 끝나면 끝남")
+    void given_producer_when_readShared_then_receiveEveryValueInOrder() throws Exception {
+        //given
+        Path path = directory.resolve("values");
+        AtomicLong written = new AtomicLong();
+        Thread producer = new Thread(
+                () -> written.set(Iterators.writeShared(new Range(0, 1_000_000).iterator(), path, 1000)));
+        producer.start();
+
+        //when
+        PrimitiveIterator.OfDouble values = Iterators.readShared(path);
+        long count = 0;
+        boolean ordered = true;
+        while (values.hasNext()) {
+            ordered &= values.nextDouble() == count;
+            count++;
+        }
+        producer.join();
+
+        //then
+        assertTrue(ordered);
+        assertEquals(1_000_000, count);
+        assertEquals(1_000_000, written.get());
+        assertThrows(NoSuchElementException.class, values::nextDouble);
+    }
+
+    @Test
+    @DisplayName("칸 수는 2의 거듭제곱으로 올리고 가득 차면 offer가 false를 돌려줌")
+    void given_fullBuffer_when_offer_then_returnFalseUntilRead() throws IOException {
+        //given
+        Path path = directory.resolve("values");
+        SharedRingBuffer.Writer writer = SharedRingBuffer.create(path, 3);
+        SharedRingBuffer.Reader reader = SharedRingBuffer.open(path);
+
+        //when
+        for (int i = 0; i < writer.capacity(); i++) {
+            assertTrue(writer.offer(i));
+        }
+
+        //then
+        assertEquals(4, writer.capacity());
+        assertFalse(writer.offer(4));
+        assertEquals(0, reader.nextDouble());
+        assertTrue(writer.offer(4));
+        writer.close();
+        double sum = 0;
+        while (reader.hasNext()) {
+            sum += reader.nextDouble();
+        }
+        assertEquals(1 + 2 + 3 + 4, sum);
+        assertEquals(5, reader.count());
+    }
+
+    @Test
+    @DisplayName("보내던 Iterator가 예외를 던지면 읽는 쪽은 받은 값을 다 읽은 뒤 예외를 던짐")
+    void given_failingProducer_when_readShared_then_throwAfterReceivedValues() {
+        //given
+        Path path = directory.resolve("values");
+        Iterator<Integer> failing = new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                if (next == 3) {
+                    throw new ArithmeticException("시행 실패");
+                }
+                return next++;
+            }
+        };
+
+        //when
+        assertThrows(ArithmeticException.class, () -> Iterators.writeShared(failing, path, 16));
+        PrimitiveIterator.OfDouble values = Iterators.readShared(path);
+
+        //then
+        assertEquals(0, values.nextDouble());
+        assertEquals(1, values.nextDouble());
+        assertEquals(2, values.nextDouble());
+        assertThrows(IllegalStateException.class, values::hasNext);
+    }
+
+    @Test
+    @DisplayName("잘못된 인자나 없는 파일은 예외를 던짐")
+    void given_invalidArguments_when_shared_then_throw() throws IOException {
+        Path notRing = Files.write(directory.resolve("text"), new byte[512]);
+
+        assertThrows(IllegalNullArgumentException.class, () -> Iterators.readShared(null));
+        assertThrows(UnsupportedInfiniteIteratorException.class,
+                () -> Iterators.writeShared(Mathx.randDoubles(), directory.resolve("values"), 16));
+        assertThrows(IllegalArgumentException.class, () -> SharedRingBuffer.create(directory.resolve("values"), 0));
+        assertThrows(UncheckedIOException.class, () -> SharedRingBuffer.open(directory.resolve("missing"), 10));
+        assertThrows(UncheckedIOException.class, () -> SharedRingBuffer.open(notRing, 10));
+    }
+}
@@ -0,0 +1,107 @@
+package com.tip.functional.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.tip.functional.Experiments;
+import com.tip.functional.RandomVariable;
+import com.tip.functional.SimulationModel;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class SimulationModelTest {
+
+    @Test
+    @DisplayName("run은 관찰하는 확률 변수마다 시행 횟수만큼 값을 기록함")
+    void given_observedVariables_when_run_then_recordEveryTrial() {
+        //given
+        SimulationModel model = new SimulationModel();
+        RandomVariable coin = model.bernoulli(0.25);
+        RandomVariable die = model.uniformInt(1, 6);
+        Experiments<Double> coins = model.observe(coin, "coin", "bernoulli");
+        Experiments<Double> dice = model.observe(model.combine(die, model.constant(10), (a, b) -> a * b), "dice",
+                "discrete uniform");
+
+        //when
+        model.run(200_000);
+
+        //then
+        assertEquals(200_000, coins.snapshot().count());
+        assertEquals(200_000, dice.snapshot().count());
+        assertEquals(0.25, coins.snapshot().mean(), 0.01);
+        assertEquals(35, dice.snapshot().mean(), 0.2);
+    }
+
+    @Test
+    @DisplayName("uniformInt는 int 끝값까지 뽑음")
+    void given_intExtremes_when_uniformInt_then_drawBoundInclusive() {
+        //given
+        SimulationModel model = new SimulationModel();
+        Experiments<Double> maxima = model.observe(model.uniformInt(Integer.MAX_VALUE, Integer.MAX_VALUE), "max",
+                "discrete uniform");
+        Experiments<Double> extremes = model.observe(model.uniformInt(Integer.MAX_VALUE - 1, Integer.MAX_VALUE),
+                "extremes", "discrete uniform");
+
+        //when
+        model.run(10_000);
+
+        //then
+        assertEquals(Integer.MAX_VALUE, maxima.snapshot().mean());
+        assertEquals(Integer.MAX_VALUE - 0.5, extremes.snapshot().mean(), 0.03);
+    }
+
+    @Test
+    @DisplayName("choose는 뽑힌 선택지만 계산하고 같은 시행에서 공유한 노드는 한 번만 계산함")
+    void given_choose_when_run_then_evaluateOnlySelectedChoice() {
+        //given
+        SimulationModel model = new SimulationModel();
+        AtomicLong evaluations = new AtomicLong();
+        RandomVariable selector = model.uniformInt(0, 1);
+        RandomVariable counted = model.map(model.constant(1), value -> {
+            evaluations.incrementAndGet();
+            return value;
+        });
+        RandomVariable chosen = model.choose(selector, model.constant(0), counted);
+        Experiments<Double> chosenValues = model.observe(chosen, "chosen", "bernoulli");
+        Experiments<Double> selectors = model.observe(selector, "selector", "bernoulli");
+
+        //when
+        model.run(100_000);
+
+        //then
+        assertEquals(chosenValues.snapshot().sum(), evaluations.get());
+        assertEquals(selectors.snapshot().sum(), chosenValues.snapshot().sum());
+        assertTrue(evaluations.get() > 40_000 && evaluations.get() < 60_000);
+    }
+
+    @Test
+    @DisplayName("clamp는 값을 주어진 범위로 자르고 iterator는 시행을 하나씩 계산함")
+    void given_clamp_when_iterated_then_valuesStayInRange() {
+        //given
+        SimulationModel model = new SimulationModel();
+        RandomVariable effect = model.clamp(model.normal(50, 100), 0, 100);
+
+        //when
+        var values = model.iterator(effect);
+
+        //then
+        for (int i = 0; i < 10_000; i++) {
+            double value = values.next();
+            assertTrue(value >= 0 && value <= 100);
+        }
+    }
+
+    @Test
+    @DisplayName("다른 모델의 확률 변수나 잘못된 인자는 예외를 던짐")
+    void given_invalidArguments_when_declared_then_throw() {
+        SimulationModel model = new SimulationModel();
+        RandomVariable foreign = new SimulationModel().constant(1);
+
+        assertThrows(IllegalArgumentException.class, () -> model.map(foreign, value -> value));
+        assertThrows(IllegalArgumentException.class, () -> model.bernoulli(1.5));
+        assertThrows(IllegalArgumentException.class, () -> model.uniformInt(3, 2));
+        assertThrows(IllegalArgumentException.class, () -> model.run(-1));
+    }
+}
@@ -0,0 +1,71 @@
+package com.tip.functional.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.tip.Mathx;
+import com.tip.functional.MonteCarloEstimate;
+import com.tip.functional.VarianceReduction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class VarianceReductionTest {
+
+    @Test
+    @DisplayName("대조 변량은 단조 함수의 평균을 더 작은 분산으로 어림잡음")
+    void given_monotoneFunction_when_antithetic_then_reduceVariance() {
+        //given
+        //when
+        MonteCarloEstimate exponential = VarianceReduction.antithetic(Math::exp, 100_000);
+        MonteCarloEstimate normal = VarianceReduction.antitheticNormal(z -> Math.max(0, z), 100_000);
+
+        //then
+        assertEquals(Math.E - 1, exponential.mean(), 4 * exponential.standardError());
+        assertEquals(200_000, exponential.evaluations());
+        assertTrue(exponential.varianceReduction() > 10);
+        assertEquals(1 / Math.sqrt(2 * Math.PI), normal.mean(), 0.01);
+        assertTrue(normal.varianceReduction() > 1.5);
+    }
+
+    @Test
+    @DisplayName("조절 변량은 상관된 값의 알려진 평균으로 어림값을 보정함")
+    void given_correlatedControl_when_controlVariate_then_reduceVariance() {
+        //given
+        var uniforms = Mathx.randDoubles();
+
+        //when
+        MonteCarloEstimate estimate = VarianceReduction.controlVariate(uniforms, 100_000, Math::exp, u -> u, 0.5);
+
+        //then
+        assertEquals(Math.E - 1, estimate.mean(), 4 * estimate.standardError());
+        assertTrue(estimate.varianceReduction() > 30);
+        assertEquals(100_000, estimate.evaluations());
+    }
+
+    @Test
+    @DisplayName("층화 추출은 층 사이의 편차를 분산에서 뺌")
+    void given_strata_when_stratified_then_removeBetweenStrataVariance() {
+        //given
+        double[] means = {90, 80, 50, 30};
+
+        //when
+        MonteCarloEstimate estimate = VarianceReduction.stratified(4, 10_000,
+                stratum -> Mathx.randDoubleNormallyDistributed(means[stratum], 10));
+
+        //then
+        assertEquals(62.5, estimate.mean(), 4 * estimate.standardError());
+        assertEquals(40_000, estimate.evaluations());
+        // 층 내부 분산 100, 층 사이 분산 568.75
+        assertEquals(6.6875, estimate.varianceReduction(), 0.5);
+    }
+
+    @Test
+    @DisplayName("표본이 너무 적으면 예외를 던짐")
+    void given_tooFewSamples_when_estimated_then_throw() {
+        assertThrows(IllegalArgumentException.class, () -> VarianceReduction.antithetic(u -> u, 1));
+        assertThrows(IllegalArgumentException.class, () -> VarianceReduction.stratified(0, 10, k -> k));
+        assertThrows(IllegalArgumentException.class,
+                () -> VarianceReduction.controlVariate(Mathx.randDoubles(), 1, u -> u, u -> u, 0.5));
+    }
+}